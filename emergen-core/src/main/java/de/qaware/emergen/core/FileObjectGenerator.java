@@ -71,6 +71,15 @@ public interface FileObjectGenerator {
      */
     void initialize(final String template);
 
+    /**
+     * Prepare the initialized generator for its first generate call, e.g. by parsing the template
+     * upfront. This may be called from a background thread and does nothing by default.
+     *
+     * @throws IOException in case of an error loading the template
+     */
+    default void prepare() throws IOException {
+    }
+
     /**
      * Checks of the given template is supported by the concrete generator.
      *
@@ -23,8 +23,6 @@
  */
 package de.qaware.emergen.core;
 
-import java.util.ServiceLoader;
-
 /**
  * The interface definition for a FileObjectGeneratorFactory. Defines methods
  * to get template specific FileObjectGenerator instances.
@@ -40,18 +38,19 @@ public interface FileObjectGeneratorFactory {
      * @throws IllegalArgumentException of the template is not supported
      */
     static FileObjectGenerator getInstance(final String template) {
-        ServiceLoader<FileObjectGenerator> generators = ServiceLoader.load(FileObjectGenerator.class, FileObjectGenerator.class.getClassLoader());
-        generators.reload();
-
-        for (FileObjectGenerator generator : generators) {
-            if (generator.supports(template)) {
-                generator.initialize(template);
-                return generator;
-            }
-        }
-
-        throw new IllegalArgumentException("Unsupported template " + template);
+        return FileObjectGenerators.create(template);
     }
 
-
+    /**
+     * Prepare the generators for the given templates on a shared background daemon thread, so that the template
+     * engine initialization and template parsing run in parallel to the compiler instead of on the first
+     * processing round. Processors call this from their init method and get their generators from the returned
+     * instance. Errors are ignored here, they are reported again by its getInstance and the generate calls.
+     *
+     * @param templates the template names
+     * @return the generators of the calling processor
+     */
+    static FileObjectGenerators preload(final String... templates) {
+        return new FileObjectGenerators(templates);
+    }
 }
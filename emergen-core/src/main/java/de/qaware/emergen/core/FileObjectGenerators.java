@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.core;
+
+import java.io.IOException;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The FileObjectGenerator instances of a processor, prepared in the background. Processors create their instance
+ * with {@link FileObjectGeneratorFactory#preload(String...)} in their init method and keep it, so the prepared
+ * generators belong to one compilation and are released together with the processor, whether they are used or
+ * not. All processors share a single daemon thread for preloading, which terminates when idle.
+ *
+ * @author lreimer
+ */
+public final class FileObjectGenerators {
+
+    private static final Executor PRELOADER = createPreloader();
+
+    private final ConcurrentMap<String, CompletableFuture<FileObjectGenerator>> prepared = new ConcurrentHashMap<>();
+    private final CompletableFuture<Void> preparation;
+
+    /**
+     * Prepare a generator for each given template on the preload thread.
+     *
+     * @param templates the template names
+     */
+    FileObjectGenerators(final String... templates) {
+        // the template resources are loaded with the class loader of the calling compilation
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        for (String template : templates) {
+            prepared.put(template, CompletableFuture.supplyAsync(() -> prepare(template, contextClassLoader), PRELOADER));
+        }
+        this.preparation = CompletableFuture.allOf(prepared.values().toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Get the FileObjectGenerator for the given template name. The prepared generator of a preloaded template
+     * is returned only once, waiting for its preparation if necessary, later calls create a new generator.
+     *
+     * @param template the template
+     * @return a suitable file object generator
+     * @throws IllegalArgumentException of the template is not supported
+     */
+    public FileObjectGenerator getInstance(final String template) {
+        FileObjectGenerator generator = take(template);
+        return (generator != null) ? generator : create(template);
+    }
+
+    /**
+     * Returns a future that completes once all templates have been prepared.
+     *
+     * @return the preparation future
+     */
+    public Future<?> whenPrepared() {
+        return preparation;
+    }
+
+    /**
+     * Create and initialize a new generator for the given template name.
+     *
+     * @param template the template
+     * @return a suitable file object generator
+     * @throws IllegalArgumentException of the template is not supported
+     */
+    static FileObjectGenerator create(final String template) {
+        ServiceLoader<FileObjectGenerator> generators = ServiceLoader.load(FileObjectGenerator.class, FileObjectGenerator.class.getClassLoader());
+        generators.reload();
+
+        for (FileObjectGenerator generator : generators) {
+            if (generator.supports(template)) {
+                generator.initialize(template);
+                return generator;
+            }
+        }
+
+        throw new IllegalArgumentException("Unsupported template " + template);
+    }
+
+    private FileObjectGenerator take(final String template) {
+        CompletableFuture<FileObjectGenerator> future = prepared.remove(template);
+        if (future == null) {
+            return null;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static FileObjectGenerator prepare(final String template, final ClassLoader contextClassLoader) {
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(contextClassLoader);
+        try {
+            FileObjectGenerator generator = create(template);
+            generator.prepare();
+            return generator;
+        } catch (IOException | RuntimeException e) {
+            // ignore, creating the generator again on first use reports the error
+            return null;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    private static Executor createPreloader() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "emergen-template-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.core;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The derived information of a single type: names, transitive super types and the members grouped by
+ * their kind. All information is computed once on first access. Instances are obtained from the
+ * {@link TypeModelCache}.
+ *
+ * @author lreimer
+ */
+public final class TypeModel {
+
+    private final TypeModelCache cache;
+    private final TypeElement element;
+    private final String qualifiedName;
+    private final String packageName;
+    private final Map<Class<? extends Annotation>, Map<Element, ? extends Annotation>> annotatedMembers = new HashMap<>();
+
+    private Map<ElementKind, List<Element>> members;
+    private List<String> superclassNames;
+    private Set<String> interfaceNames;
+    private Set<String> allInterfaceNames;
+    private Map<String, ExecutableElement> getters;
+    private Map<String, ExecutableElement> setters;
+
+    TypeModel(final TypeModelCache cache, final TypeElement element, final Elements elements) {
+        this.cache = cache;
+        this.element = element;
+        this.qualifiedName = element.getQualifiedName().toString();
+        this.packageName = elements.getPackageOf(element).getQualifiedName().toString();
+    }
+
+    public TypeElement getElement() {
+        return element;
+    }
+
+    public String getQualifiedName() {
+        return qualifiedName;
+    }
+
+    public String getSimpleName() {
+        return element.getSimpleName().toString();
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    /**
+     * Returns the qualified names of all super classes, the direct super class first.
+     *
+     * @return the super class names
+     */
+    public List<String> getSuperclassNames() {
+        if (superclassNames == null) {
+            List<String> names = new ArrayList<>();
+            TypeModel superclass = getSuperclass();
+            if (superclass != null) {
+                names.add(superclass.getQualifiedName());
+                names.addAll(superclass.getSuperclassNames());
+            }
+            superclassNames = Collections.unmodifiableList(names);
+        }
+        return superclassNames;
+    }
+
+    /**
+     * Returns the qualified names of the interfaces directly implemented or extended by this type.
+     *
+     * @return the direct interface names
+     */
+    public Set<String> getInterfaceNames() {
+        if (interfaceNames == null) {
+            Set<String> names = new LinkedHashSet<>();
+            for (TypeModel interfaceModel : getInterfaces()) {
+                names.add(interfaceModel.getQualifiedName());
+            }
+            interfaceNames = Collections.unmodifiableSet(names);
+        }
+        return interfaceNames;
+    }
+
+    /**
+     * Returns the qualified names of all interfaces of this type, including the super interfaces
+     * and the interfaces of all super classes.
+     *
+     * @return all interface names
+     */
+    public Set<String> getAllInterfaceNames() {
+        if (allInterfaceNames == null) {
+            Set<String> names = new LinkedHashSet<>();
+            for (TypeModel interfaceModel : getInterfaces()) {
+                names.add(interfaceModel.getQualifiedName());
+                names.addAll(interfaceModel.getAllInterfaceNames());
+            }
+            TypeModel superclass = getSuperclass();
+            if (superclass != null) {
+                names.addAll(superclass.getAllInterfaceNames());
+            }
+            allInterfaceNames = Collections.unmodifiableSet(names);
+        }
+        return allInterfaceNames;
+    }
+
+    /**
+     * Checks if this type is the given type or one of its sub types.
+     *
+     * @param qualifiedName the qualified name of the super type
+     * @return true if this type is assignable to the given type
+     */
+    public boolean isSubtypeOf(final String qualifiedName) {
+        return this.qualifiedName.equals(qualifiedName)
+                || getSuperclassNames().contains(qualifiedName)
+                || getAllInterfaceNames().contains(qualifiedName);
+    }
+
+    /**
+     * Returns the enclosed elements of the given kind in declaration order.
+     *
+     * @param kind the element kind
+     * @return the members of the given kind
+     */
+    public List<Element> getMembers(final ElementKind kind) {
+        if (members == null) {
+            Map<ElementKind, List<Element>> grouped = new EnumMap<>(ElementKind.class);
+            for (Element member : element.getEnclosedElements()) {
+                grouped.computeIfAbsent(member.getKind(), k -> new ArrayList<>()).add(member);
+            }
+            members = grouped;
+        }
+        return members.getOrDefault(kind, Collections.emptyList());
+    }
+
+    /**
+     * Returns all non static fields in declaration order.
+     *
+     * @return the instance fields
+     */
+    public List<VariableElement> getInstanceFields() {
+        List<VariableElement> fields = new ArrayList<>();
+        for (Element field : getMembers(ElementKind.FIELD)) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.add((VariableElement) field);
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * Returns the public getter methods of this type and its super classes by property name. Getters
+     * are methods without parameters named getX, or isX for a boolean result.
+     *
+     * @return the getters by property name
+     */
+    public Map<String, ExecutableElement> getGetters() {
+        if (getters == null) {
+            getters = Collections.unmodifiableMap(getAccessors("get", 0));
+        }
+        return getters;
+    }
+
+    /**
+     * Returns the public setter methods of this type and its super classes by property name. Setters
+     * are methods with a single parameter named setX.
+     *
+     * @return the setters by property name
+     */
+    public Map<String, ExecutableElement> getSetters() {
+        if (setters == null) {
+            setters = Collections.unmodifiableMap(getAccessors("set", 1));
+        }
+        return setters;
+    }
+
+    /**
+     * Returns all enclosed elements annotated with the given annotation in declaration order.
+     *
+     * @param annotationType the annotation type
+     * @param <A>            the annotation type
+     * @return the annotated members with their annotation
+     */
+    @SuppressWarnings("unchecked")
+    public <A extends Annotation> Map<Element, A> getAnnotatedMembers(final Class<A> annotationType) {
+        return (Map<Element, A>) annotatedMembers.computeIfAbsent(annotationType, type -> {
+            Map<Element, A> annotated = new LinkedHashMap<>();
+            for (Element member : element.getEnclosedElements()) {
+                A annotation = member.getAnnotation(annotationType);
+                if (annotation != null) {
+                    annotated.put(member, annotation);
+                }
+            }
+            return Collections.unmodifiableMap(annotated);
+        });
+    }
+
+    private Map<String, ExecutableElement> getAccessors(final String prefix, final int parameters) {
+        Map<String, ExecutableElement> accessors = new LinkedHashMap<>();
+        if (Object.class.getName().equals(qualifiedName)) {
+            // getClass() is no property
+            return accessors;
+        }
+        TypeModel superclass = getSuperclass();
+        if (superclass != null) {
+            accessors.putAll("get".equals(prefix) ? superclass.getGetters() : superclass.getSetters());
+        }
+        for (Element member : getMembers(ElementKind.METHOD)) {
+            ExecutableElement method = (ExecutableElement) member;
+            if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)
+                    || method.getParameters().size() != parameters) {
+                continue;
+            }
+            String name = method.getSimpleName().toString();
+            String propertyName = null;
+            if (name.startsWith(prefix) && name.length() > prefix.length()) {
+                propertyName = name.substring(prefix.length());
+            } else if ("get".equals(prefix) && name.startsWith("is") && name.length() > 2
+                    && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+                propertyName = name.substring(2);
+            }
+            if (propertyName != null && ("set".equals(prefix) || method.getReturnType().getKind() != TypeKind.VOID)) {
+                accessors.put(Character.toLowerCase(propertyName.charAt(0)) + propertyName.substring(1), method);
+            }
+        }
+        return accessors;
+    }
+
+    private TypeModel getSuperclass() {
+        return cache.get(element.getSuperclass());
+    }
+
+    private List<TypeModel> getInterfaces() {
+        List<TypeModel> interfaces = new ArrayList<>();
+        for (TypeMirror interfaceMirror : element.getInterfaces()) {
+            TypeModel interfaceModel = cache.get(interfaceMirror);
+            if (interfaceModel != null) {
+                interfaces.add(interfaceModel);
+            }
+        }
+        return interfaces;
+    }
+}
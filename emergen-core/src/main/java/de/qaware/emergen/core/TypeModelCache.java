@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.core;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A per round cache of derived type information, shared by all processors of a compilation. Each type is
+ * inspected at most once per round, no matter how many processors, models or templates use it. The cache is
+ * invalidated as soon as a new round starts, since the elements of a previous round must not be used anymore.
+ * <p>
+ * The caches are registered weakly by processing environment. The processors hold the only strong references,
+ * so a cache and all elements it references are released together with the processors at the end of the
+ * compilation, even though the cached elements reference the processing environment themselves.
+ *
+ * @author lreimer
+ */
+public final class TypeModelCache {
+
+    private static final Map<ProcessingEnvironment, Reference<TypeModelCache>> CACHES = new WeakHashMap<>();
+
+    private final Map<String, TypeModel> models = new HashMap<>();
+    private ProcessingEnvironment processingEnv;
+    private RoundEnvironment roundEnv;
+
+    private TypeModelCache() {
+    }
+
+    /**
+     * Get the cache shared by all processors of the compilation with the given processing environment.
+     * Processors call this from their init method and keep the returned instance.
+     *
+     * @param processingEnv the processing environment
+     * @return the shared cache
+     */
+    public static synchronized TypeModelCache getInstance(final ProcessingEnvironment processingEnv) {
+        Reference<TypeModelCache> reference = CACHES.get(processingEnv);
+        TypeModelCache cache = (reference != null) ? reference.get() : null;
+        if (cache == null) {
+            cache = new TypeModelCache();
+            CACHES.put(processingEnv, new WeakReference<>(cache));
+        }
+        return cache;
+    }
+
+    /**
+     * Prepare this cache for the given processing environment and round. The cached models are cleared
+     * whenever the round changes.
+     *
+     * @param processingEnv the processing environment
+     * @param roundEnv      the current round environment
+     * @return this cache, ready for the current round
+     */
+    public TypeModelCache forRound(final ProcessingEnvironment processingEnv, final RoundEnvironment roundEnv) {
+        if (this.roundEnv != roundEnv || this.processingEnv != processingEnv) {
+            models.clear();
+            this.processingEnv = processingEnv;
+            this.roundEnv = roundEnv;
+        }
+        return this;
+    }
+
+    /**
+     * Get the TypeModel for the given type element. The model is created on first access in this round.
+     *
+     * @param typeElement the type element
+     * @return the type model
+     */
+    public TypeModel get(final TypeElement typeElement) {
+        String qualifiedName = typeElement.getQualifiedName().toString();
+        TypeModel model = models.get(qualifiedName);
+        if (model == null) {
+            model = new TypeModel(this, typeElement, processingEnv.getElementUtils());
+            models.put(qualifiedName, model);
+        }
+        return model;
+    }
+
+    /**
+     * Get the TypeModel for the given type mirror.
+     *
+     * @param typeMirror the type mirror
+     * @return the type model, or null if the type mirror is not a declared type
+     */
+    public TypeModel get(final TypeMirror typeMirror) {
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return get((TypeElement) ((DeclaredType) typeMirror).asElement());
+    }
+
+    /**
+     * Returns the number of type models created in this round.
+     *
+     * @return the number of cached models
+     */
+    public int size() {
+        return models.size();
+    }
+}
@@ -26,6 +26,8 @@ package de.qaware.emergen.core
 import spock.lang.Specification
 import spock.lang.Title
 
+import java.util.concurrent.TimeUnit
+
 @Title("Test specification for the FileObjectGenerator factory implementation")
 class FileObjectGeneratorFactorySpec extends Specification {
     def "Get testable FileObjectGenerator instance"() {
@@ -40,4 +42,39 @@ class FileObjectGeneratorFactorySpec extends Specification {
         then:
         thrown(IllegalArgumentException)
     }
+
+    def "Preload templates in the background"() {
+        given:
+        def prepared = TestFileObjectGenerator.PREPARED.get()
+
+        when:
+        def generators = FileObjectGeneratorFactory.preload("helloworld.test", "unknown.template")
+        generators.whenPrepared().get(10, TimeUnit.SECONDS)
+        def generator = generators.getInstance("helloworld.test")
+
+        then: "the prepared generator is used and not prepared again"
+        generator.prepared
+        TestFileObjectGenerator.PREPARED.get() == prepared + 1
+
+        and: "the prepared generator is handed out only once"
+        !generators.getInstance("helloworld.test").prepared
+        TestFileObjectGenerator.PREPARED.get() == prepared + 1
+
+        when: "an unsupported template is used"
+        generators.getInstance("unknown.template")
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Preloaded generators are only handed out by their preload"() {
+        given:
+        def generators = FileObjectGeneratorFactory.preload("helloworld.test")
+        generators.whenPrepared().get(10, TimeUnit.SECONDS)
+
+        expect:
+        !FileObjectGeneratorFactory.getInstance("helloworld.test").prepared
+        !FileObjectGeneratorFactory.preload().getInstance("helloworld.test").prepared
+        generators.getInstance("helloworld.test").prepared
+    }
 }
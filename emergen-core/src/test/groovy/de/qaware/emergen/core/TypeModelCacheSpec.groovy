@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.core
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.annotation.processing.AbstractProcessor
+import javax.annotation.processing.ProcessingEnvironment
+import javax.annotation.processing.RoundEnvironment
+import javax.annotation.processing.SupportedAnnotationTypes
+import javax.lang.model.SourceVersion
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.TypeElement
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title("Test specification for the TypeModelCache and TypeModel")
+class TypeModelCacheSpec extends Specification {
+
+    static String SOURCE = """
+    package test;
+
+    import java.io.Serializable;
+
+    @Deprecated
+    public class Child extends Parent implements Comparable<Child> {
+        private static final long serialVersionUID = 1L;
+        @Deprecated
+        private String name;
+        private int age;
+
+        public int compareTo(Child other) {
+            return 0;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isAdult() {
+            return age >= 18;
+        }
+    }
+
+    class Parent implements Serializable, Runnable {
+        public void run() {
+        }
+
+        public long getId() {
+            return 0L;
+        }
+    }
+    """
+
+    def "Inspect type models shared by all processors per round"() {
+        given:
+        def first = new RecordingProcessor()
+        def second = new RecordingProcessor()
+
+        when:
+        def compilation = javac()
+                .withProcessors(first, second)
+                .compile(JavaFileObjects.forSourceString("test.Child", SOURCE))
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        first.models.size() == 1
+        second.models.size() == 1
+        first.models[0].is(second.models[0])
+        first.typeModelCache.is(second.typeModelCache)
+
+        def model = first.models[0]
+        model.qualifiedName == 'test.Child'
+        model.simpleName == 'Child'
+        model.packageName == 'test'
+        model.superclassNames == ['test.Parent', 'java.lang.Object']
+        model.interfaceNames == ['java.lang.Comparable'] as Set
+        model.allInterfaceNames.containsAll(['java.lang.Comparable', 'java.io.Serializable', 'java.lang.Runnable'])
+        model.isSubtypeOf('java.lang.Runnable')
+        !model.isSubtypeOf('java.util.List')
+        model.getMembers(ElementKind.FIELD)*.simpleName*.toString() == ['serialVersionUID', 'name', 'age']
+        model.instanceFields*.simpleName*.toString() == ['name', 'age']
+        model.getAnnotatedMembers(Deprecated).keySet()*.simpleName*.toString() == ['name']
+        model.getMembers(ElementKind.ENUM_CONSTANT).isEmpty()
+        model.getters.keySet() as List == ['id', 'name', 'adult']
+        model.setters.keySet() as List == ['name']
+    }
+
+    def "Separate compilations use separate caches"() {
+        given:
+        def first = new RecordingProcessor()
+        def second = new RecordingProcessor()
+
+        when:
+        javac().withProcessors(first).compile(JavaFileObjects.forSourceString("test.Child", SOURCE))
+        javac().withProcessors(second).compile(JavaFileObjects.forSourceString("test.Child", SOURCE))
+
+        then:
+        !first.typeModelCache.is(second.typeModelCache)
+        !first.models[0].is(second.models[0])
+    }
+
+    @SupportedAnnotationTypes("java.lang.Deprecated")
+    static class RecordingProcessor extends AbstractProcessor {
+        def typeModelCache
+        def models = []
+
+        @Override
+        synchronized void init(ProcessingEnvironment processingEnv) {
+            super.init(processingEnv)
+            typeModelCache = TypeModelCache.getInstance(processingEnv)
+        }
+
+        @Override
+        boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+            def cache = typeModelCache.forRound(processingEnv, roundEnv)
+            if (!roundEnv.processingOver()) {
+                def element = processingEnv.elementUtils.getTypeElement("test.Child")
+                models << cache.get(element)
+                assert cache.get(element.asType()).is(models[-1])
+                assert typeModelCache.forRound(processingEnv, roundEnv).size() == 1
+            } else {
+                assert cache.size() == 0
+            }
+            false
+        }
+
+        @Override
+        SourceVersion getSupportedSourceVersion() {
+            SourceVersion.latestSupported()
+        }
+    }
+}
@@ -28,11 +28,27 @@ import java.io.Writer;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A testable implementation of a {@link FileObjectGenerator}.
  */
 public class TestFileObjectGenerator extends AbstractFileObjectGenerator {
+
+    static final AtomicInteger PREPARED = new AtomicInteger();
+
+    private boolean prepared;
+
+    @Override
+    public void prepare() {
+        prepared = true;
+        PREPARED.incrementAndGet();
+    }
+
+    boolean isPrepared() {
+        return prepared;
+    }
+
     @Override
     protected Set<String> getSupportedSuffixes() {
         return Collections.singleton(".test");
@@ -43,17 +43,25 @@ import java.util.Set;
  */
 public class FreemarkerFileObjectGenerator extends AbstractFileObjectGenerator {
 
-    private Configuration configuration;
+    /**
+     * Lazy holder for the shared configuration, it caches the parsed templates for all generators.
+     */
+    private static final class ConfigurationHolder {
+        private static final Configuration CONFIGURATION = createConfiguration();
 
-    @Override
-    public void initialize(String template) {
-        super.initialize(template);
+        private static Configuration createConfiguration() {
+            Configuration configuration = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
+            configuration.setClassForTemplateLoading(FreemarkerFileObjectGenerator.class, "/");
+            configuration.setObjectWrapper(new DefaultObjectWrapper(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS));
+            configuration.setAutoFlush(true);
+            configuration.setWhitespaceStripping(true);
+            return configuration;
+        }
+    }
 
-        configuration = new Configuration(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS);
-        configuration.setClassForTemplateLoading(getClass(), "/");
-        configuration.setObjectWrapper(new DefaultObjectWrapper(Configuration.DEFAULT_INCOMPATIBLE_IMPROVEMENTS));
-        configuration.setAutoFlush(true);
-        configuration.setWhitespaceStripping(true);
+    @Override
+    public void prepare() throws IOException {
+        ConfigurationHolder.CONFIGURATION.getTemplate(getTemplate());
     }
 
     @Override
@@ -72,7 +80,7 @@ public class FreemarkerFileObjectGenerator extends AbstractFileObjectGenerator {
      */
     protected void generate(final Map<String, Object> context, final Writer writer, boolean autoClose) throws IOException {
         try {
-            Template template = configuration.getTemplate(getTemplate());
+            Template template = ConfigurationHolder.CONFIGURATION.getTemplate(getTemplate());
             template.process(context, writer);
         } catch (TemplateException e) {
             throw new IOException("Unable to get and process template.", e);
@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.runtime;
+
+/**
+ * A typed accessor table to read and write the bean properties of a type by ordinal or by name,
+ * without introspection and reflection. Implementations are generated at compile time for each
+ * class annotated with AccessorSupport. The primitive getters and setters avoid boxing, their
+ * default implementations reject the property.
+ *
+ * @param <T> the type of the accessed instances
+ * @author lreimer
+ */
+public interface PropertyAccessor<T> {
+
+    /**
+     * Returns the accessed type.
+     *
+     * @return the type
+     */
+    Class<T> getType();
+
+    /**
+     * Returns the number of properties, the ordinals range from 0 to size - 1.
+     *
+     * @return the number of properties
+     */
+    int size();
+
+    /**
+     * Returns the ordinal of the named property.
+     *
+     * @param name the property name
+     * @return the ordinal, or -1 if there is no such property
+     */
+    int ordinal(String name);
+
+    String getName(int ordinal);
+
+    Class<?> getPropertyType(int ordinal);
+
+    boolean isReadable(int ordinal);
+
+    boolean isWritable(int ordinal);
+
+    /**
+     * Read the property with the given ordinal, primitive values are boxed.
+     *
+     * @param instance the instance
+     * @param ordinal  the property ordinal
+     * @return the property value
+     * @throws IllegalArgumentException if the property is not readable
+     */
+    Object get(T instance, int ordinal);
+
+    /**
+     * Write the property with the given ordinal, primitive values are unboxed.
+     *
+     * @param instance the instance
+     * @param ordinal  the property ordinal
+     * @param value    the property value
+     * @throws IllegalArgumentException if the property is not writable
+     * @throws ClassCastException       if the value does not match the property type
+     */
+    void set(T instance, int ordinal, Object value);
+
+    /**
+     * Read the named property, primitive values are boxed.
+     *
+     * @param instance the instance
+     * @param name     the property name
+     * @return the property value
+     * @throws IllegalArgumentException if there is no such readable property
+     */
+    default Object get(T instance, String name) {
+        return get(instance, checkedOrdinal(name));
+    }
+
+    /**
+     * Write the named property, primitive values are unboxed.
+     *
+     * @param instance the instance
+     * @param name     the property name
+     * @param value    the property value
+     * @throws IllegalArgumentException if there is no such writable property
+     */
+    default void set(T instance, String name, Object value) {
+        set(instance, checkedOrdinal(name), value);
+    }
+
+    default int getInt(T instance, int ordinal) {
+        throw unsupported(ordinal, "int");
+    }
+
+    default void setInt(T instance, int ordinal, int value) {
+        throw unsupported(ordinal, "int");
+    }
+
+    default long getLong(T instance, int ordinal) {
+        throw unsupported(ordinal, "long");
+    }
+
+    default void setLong(T instance, int ordinal, long value) {
+        throw unsupported(ordinal, "long");
+    }
+
+    default double getDouble(T instance, int ordinal) {
+        throw unsupported(ordinal, "double");
+    }
+
+    default void setDouble(T instance, int ordinal, double value) {
+        throw unsupported(ordinal, "double");
+    }
+
+    default boolean getBoolean(T instance, int ordinal) {
+        throw unsupported(ordinal, "boolean");
+    }
+
+    default void setBoolean(T instance, int ordinal, boolean value) {
+        throw unsupported(ordinal, "boolean");
+    }
+
+    /**
+     * Returns the ordinal of the named property.
+     *
+     * @param name the property name
+     * @return the ordinal
+     * @throws IllegalArgumentException if there is no such property
+     */
+    default int checkedOrdinal(String name) {
+        int ordinal = ordinal(name);
+        if (ordinal < 0) {
+            throw new IllegalArgumentException("No property " + name + " in " + getType().getName());
+        }
+        return ordinal;
+    }
+
+    /**
+     * Create the exception for properties that can not be accessed as requested.
+     *
+     * @param ordinal the property ordinal
+     * @param access  the requested access
+     * @return the exception
+     */
+    default IllegalArgumentException unsupported(int ordinal, String access) {
+        String name = (ordinal >= 0 && ordinal < size()) ? getName(ordinal) : String.valueOf(ordinal);
+        return new IllegalArgumentException("Property " + name + " of " + getType().getName() + " does not support " + access + " access");
+    }
+}
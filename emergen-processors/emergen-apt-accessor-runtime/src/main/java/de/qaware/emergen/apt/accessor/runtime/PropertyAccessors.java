@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.runtime;
+
+import java.util.ServiceLoader;
+
+/**
+ * The registry of the generated property accessors. The accessors are registered as services by the
+ * annotation processor, and looked up once per type using the ServiceLoader of the type's class loader.
+ *
+ * @author lreimer
+ */
+public final class PropertyAccessors {
+
+    private static final ClassValue<PropertyAccessor<?>> ACCESSORS = new ClassValue<PropertyAccessor<?>>() {
+        @Override
+        protected PropertyAccessor<?> computeValue(final Class<?> type) {
+            for (PropertyAccessor<?> accessor : ServiceLoader.load(PropertyAccessor.class, type.getClassLoader())) {
+                if (accessor.getType() == type) {
+                    return accessor;
+                }
+            }
+            return null;
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * Returns the generated property accessor for the given type.
+     *
+     * @param type the accessed type
+     * @param <T>  the accessed type
+     * @return the property accessor
+     * @throws IllegalArgumentException if there is no accessor for the type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PropertyAccessor<T> of(final Class<T> type) {
+        PropertyAccessor<?> accessor = ACCESSORS.get(type);
+        if (accessor == null) {
+            throw new IllegalArgumentException("No property accessor generated for " + type.getName());
+        }
+        return (PropertyAccessor<T>) accessor;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the PropertyAccessor runtime interface')
+class PropertyAccessorSpec extends Specification {
+
+    static class Person {
+        String name
+    }
+
+    static class PersonAccessor implements PropertyAccessor<Person> {
+        Class<Person> getType() { Person }
+
+        int size() { 1 }
+
+        int ordinal(String name) { name == 'name' ? 0 : -1 }
+
+        String getName(int ordinal) { 'name' }
+
+        Class<?> getPropertyType(int ordinal) { String }
+
+        boolean isReadable(int ordinal) { true }
+
+        boolean isWritable(int ordinal) { true }
+
+        Object get(Person instance, int ordinal) { instance.name }
+
+        void set(Person instance, int ordinal, Object value) { instance.name = (String) value }
+    }
+
+    def "Access properties by name"() {
+        given:
+        def accessor = new PersonAccessor()
+        def person = new Person()
+
+        when:
+        accessor.set(person, 'name', 'Mario')
+
+        then:
+        accessor.get(person, 'name') == 'Mario'
+    }
+
+    def "Reject unknown properties and unsupported primitive access"() {
+        given:
+        def accessor = new PersonAccessor()
+
+        when:
+        access.call(accessor)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains(message)
+
+        where:
+        access                                                          || message
+        { PersonAccessor a -> a.get(new Person(), 'unknown') }          || 'No property unknown'
+        { PersonAccessor a -> a.getInt(new Person(), 0) }               || 'Property name of de.qaware.emergen.apt.accessor.runtime.PropertyAccessorSpec$Person does not support int access'
+        { PersonAccessor a -> a.setBoolean(new Person(), 0, true) }     || 'does not support boolean access'
+    }
+
+    def "Reject types without generated accessor"() {
+        when:
+        PropertyAccessors.of(Person)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.jmh;
+
+import de.qaware.emergen.apt.accessor.runtime.PropertyAccessor;
+import de.qaware.emergen.apt.accessor.runtime.PropertyAccessors;
+import org.openjdk.jmh.annotations.*;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated property accessor with cached reflective bean property access.
+ * Run with <code>-prof gc</code> to compare the normalized allocation rates as well.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    private final PropertyAccessor<BenchmarkBean> accessor = PropertyAccessors.of(BenchmarkBean.class);
+    private final Map<String, PropertyDescriptor> descriptors = new HashMap<>();
+    private final BenchmarkBean bean = new BenchmarkBean();
+    private int count;
+
+    @Setup
+    public void setUp() throws IntrospectionException {
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(BenchmarkBean.class).getPropertyDescriptors()) {
+            descriptors.put(descriptor.getName(), descriptor);
+        }
+    }
+
+    @Benchmark
+    public Object readGenerated() {
+        return accessor.get(bean, "name");
+    }
+
+    @Benchmark
+    public Object readReflective() throws InvocationTargetException, IllegalAccessException {
+        return descriptors.get("name").getReadMethod().invoke(bean);
+    }
+
+    @Benchmark
+    public int readIntGenerated() {
+        return accessor.getInt(bean, accessor.ordinal("count"));
+    }
+
+    @Benchmark
+    public int readIntReflective() throws InvocationTargetException, IllegalAccessException {
+        return (Integer) descriptors.get("count").getReadMethod().invoke(bean);
+    }
+
+    @Benchmark
+    public void writeGenerated() {
+        accessor.set(bean, "count", ++count);
+    }
+
+    @Benchmark
+    public void writeReflective() throws InvocationTargetException, IllegalAccessException {
+        Method writeMethod = descriptors.get("count").getWriteMethod();
+        writeMethod.invoke(bean, ++count);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.internal;
+
+import de.qaware.emergen.core.TypeModel;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated accessor table of a type. Used during generation.
+ *
+ * @author lreimer
+ */
+public class AccessorModel {
+    private static final String ACCESSOR_SUFFIX = "Accessor";
+    private static final List<String> PRIMITIVE_KINDS = Arrays.asList("Int", "Long", "Double", "Boolean");
+
+    private final String pojoName;
+    private final String packageName;
+    private final List<AccessorPropertyModel> properties = new ArrayList<>();
+
+    /**
+     * Initialize the accessor model with the bean properties of the given type.
+     *
+     * @param typeModel the type model of the annotated class
+     * @param types     the type utilities
+     */
+    AccessorModel(final TypeModel typeModel, final Types types) {
+        this.pojoName = typeModel.getSimpleName();
+        this.packageName = typeModel.getPackageName();
+
+        Map<String, ExecutableElement> getters = typeModel.getGetters();
+        Map<String, ExecutableElement> setters = typeModel.getSetters();
+        for (Map.Entry<String, ExecutableElement> getter : getters.entrySet()) {
+            ExecutableElement setter = setters.get(getter.getKey());
+            // like the Introspector, a setter of a different type does not belong to the property
+            boolean writable = setter != null
+                    && types.isSameType(setter.getParameters().get(0).asType(), getter.getValue().getReturnType());
+            properties.add(new AccessorPropertyModel(getter.getKey(), getter.getValue().getReturnType(), types,
+                    getter.getValue().getSimpleName().toString(), writable ? setter.getSimpleName().toString() : null));
+        }
+        for (Map.Entry<String, ExecutableElement> setter : setters.entrySet()) {
+            if (!getters.containsKey(setter.getKey())) {
+                properties.add(new AccessorPropertyModel(setter.getKey(), setter.getValue().getParameters().get(0).asType(), types,
+                        null, setter.getValue().getSimpleName().toString()));
+            }
+        }
+        for (int i = 0; i < properties.size(); i++) {
+            properties.get(i).setOrdinal(i);
+        }
+    }
+
+    public String getPojoName() {
+        return pojoName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getAccessorName() {
+        return pojoName.concat(ACCESSOR_SUFFIX);
+    }
+
+    /**
+     * The properties in ordinal order.
+     *
+     * @return list of properties
+     */
+    public List<AccessorPropertyModel> getProperties() {
+        return properties;
+    }
+
+    public List<AccessorPropertyModel> getReadableProperties() {
+        return properties.stream().filter(AccessorPropertyModel::isReadable).collect(Collectors.toList());
+    }
+
+    public List<AccessorPropertyModel> getWritableProperties() {
+        return properties.stream().filter(AccessorPropertyModel::isWritable).collect(Collectors.toList());
+    }
+
+    /**
+     * The primitive kinds with specialized getters and setters, e.g. Int.
+     *
+     * @return the primitive kinds
+     */
+    public List<String> getPrimitiveKinds() {
+        return PRIMITIVE_KINDS;
+    }
+
+    /**
+     * Returns the properties of the given primitive kind, these are accessed without boxing.
+     *
+     * @param kind the primitive kind, e.g. Int
+     * @return list of properties
+     */
+    public List<AccessorPropertyModel> getPrimitiveProperties(final String kind) {
+        return properties.stream().filter(p -> p.isKind(kind)).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the fully qualified name of the accessor.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalAccessorName() {
+        return packageName.isEmpty() ? getAccessorName() : packageName + "." + getAccessorName();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.internal;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.Locale;
+
+/**
+ * The data model bean to represent a single bean property of an accessor table. Used during generation.
+ *
+ * @author lreimer
+ */
+public class AccessorPropertyModel {
+
+    private final String name;
+    private final TypeMirror type;
+    private final String erasedType;
+    private final String getterName;
+    private final String setterName;
+    private int ordinal;
+
+    /**
+     * Initialize the model bean.
+     *
+     * @param name       the property name
+     * @param type       the property type
+     * @param types      the type utilities
+     * @param getterName the getter name, or null for write only properties
+     * @param setterName the setter name, or null for read only properties
+     */
+    AccessorPropertyModel(final String name, final TypeMirror type, final Types types, final String getterName, final String setterName) {
+        this.name = name;
+        this.type = type;
+        this.erasedType = types.erasure(type).toString();
+        this.getterName = getterName;
+        this.setterName = setterName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    void setOrdinal(final int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * The name of the generated ordinal constant, e.g. FIRST_NAME.
+     *
+     * @return the ordinal constant name
+     */
+    public String getOrdinalName() {
+        return StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(name), '_').toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * The erased type, used for the class literal and casts.
+     *
+     * @return the erased type name
+     */
+    public String getErasedType() {
+        return erasedType;
+    }
+
+    /**
+     * The type to cast boxed values to, the wrapper type for primitives.
+     *
+     * @return the cast type name
+     */
+    public String getCastType() {
+        switch (type.getKind()) {
+            case INT:
+                return "Integer";
+            case CHAR:
+                return "Character";
+            default:
+                return type.getKind().isPrimitive() ? StringUtils.capitalize(erasedType) : erasedType;
+        }
+    }
+
+    /**
+     * The primitive type of the specialized getter and setter of this property, e.g. Int.
+     *
+     * @param kind the primitive type kind of the specialized accessor
+     * @return true if this property has the given primitive type
+     */
+    public boolean isKind(final String kind) {
+        return type.getKind() == TypeKind.valueOf(kind.toUpperCase(Locale.ENGLISH));
+    }
+
+    public String getGetterName() {
+        return getterName;
+    }
+
+    public String getSetterName() {
+        return setterName;
+    }
+
+    public boolean isReadable() {
+        return getterName != null;
+    }
+
+    public boolean isWritable() {
+        return setterName != null;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.internal;
+
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate property accessor tables for classes
+ * annotated with the AccessorSupport annotation. The generated accessors are registered in
+ * a service loader file once processing is over.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.accessor.AccessorSupport"})
+public class AccessorSupportProcessor extends AbstractProcessor {
+
+    private static final String ACCESSOR_TEMPLATE = "Accessor.vm";
+    private static final String SERVICE_FILE = "META-INF/services/de.qaware.emergen.apt.accessor.runtime.PropertyAccessor";
+    private static final String LINE_SEPARATOR = "line.separator";
+
+    private final List<String> accessors = new ArrayList<>();
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(ACCESSOR_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() && !accessors.isEmpty()) {
+            writeServiceFile();
+        }
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        FileObjectGenerator generator = generators.getInstance(ACCESSOR_TEMPLATE);
+
+        Messager messager = processingEnv.getMessager();
+        Filer filer = processingEnv.getFiler();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                if (element.getKind() != ElementKind.CLASS || !((TypeElement) element).getTypeParameters().isEmpty()) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "AccessorSupport is only supported on non generic classes", element);
+                    continue;
+                }
+
+                TypeModel typeModel = cache.get((TypeElement) element);
+                messager.printMessage(Diagnostic.Kind.NOTE, "Generating accessor support for " + element.getSimpleName().toString());
+
+                AccessorModel accessorModel = new AccessorModel(typeModel, processingEnv.getTypeUtils());
+                Map<String, Object> context = new HashMap<>();
+                context.put("accessor", accessorModel);
+
+                try {
+                    JavaFileObject javaFileObject = filer.createSourceFile(accessorModel.getCanonicalAccessorName(), element);
+                    try (Writer writer = javaFileObject.openWriter()) {
+                        generator.generate(context, writer);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                accessors.add(accessorModel.getCanonicalAccessorName());
+            }
+        }
+
+        return true;
+    }
+
+    private void writeServiceFile() {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.OTHER, "Writing service file " + SERVICE_FILE);
+
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+            for (String accessor : accessors) {
+                writer.write(accessor);
+                writer.write(System.getProperty(LINE_SEPARATOR));
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage());
+            throw new IllegalArgumentException("Error writing service file.", e);
+        }
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
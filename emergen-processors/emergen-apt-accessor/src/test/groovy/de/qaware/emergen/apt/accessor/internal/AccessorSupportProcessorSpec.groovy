@@ -0,0 +1,158 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.accessor.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.accessor.Person
+import de.qaware.emergen.apt.accessor.PersonAccessor
+import de.qaware.emergen.apt.accessor.runtime.PropertyAccessors
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+import javax.tools.StandardLocation
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the accessor support annotation processor')
+class AccessorSupportProcessorSpec extends Specification {
+
+    static String INTERFACE_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.accessor.AccessorSupport
+    public interface InterfacePojo {
+    }
+    """
+
+    static String GENERIC_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.accessor.AccessorSupport
+    public class GenericPojo<T> {
+        public T getValue() { return null; }
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new AccessorSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Person"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new AccessorSupportProcessor())
+                .compile(JavaFileObjects.forResource("Person.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.accessor.PersonAccessor").get().getCharContent(true).toString()
+        source.contains('public static final int SALARY = 3;')
+        source.contains('case "name":')
+        source.contains('instance.setTags((java.util.List) value);')
+        source.contains('public double getDouble(final Person instance, final int ordinal)')
+        !source.contains('java.lang.reflect')
+        def services = compilation.generatedFile(StandardLocation.CLASS_OUTPUT,
+                'META-INF/services/de.qaware.emergen.apt.accessor.runtime.PropertyAccessor').get().getCharContent(true).toString()
+        services.trim() == 'de.qaware.emergen.apt.accessor.PersonAccessor'
+    }
+
+    def "Annotation processing fails for unsupported types"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new AccessorSupportProcessor())
+                .compile(JavaFileObjects.forSourceString(name, source))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('only supported on non generic classes')
+
+        where:
+        name                 | source
+        'test.InterfacePojo' | INTERFACE_POJO
+        'test.GenericPojo'   | GENERIC_POJO
+    }
+
+    def "Generated PersonAccessor reads and writes properties"() {
+        given:
+        def accessor = new PersonAccessor()
+        def person = new Person(4711L)
+
+        when:
+        accessor.set(person, 'name', 'Mario')
+        accessor.set(person, PersonAccessor.AGE, 42)
+        accessor.setDouble(person, PersonAccessor.SALARY, 1000.5d)
+        accessor.setBoolean(person, PersonAccessor.ACTIVE, true)
+        accessor.set(person, 'tags', ['apt'])
+        accessor.set(person, 'password', 'secret')
+
+        then:
+        accessor.size() == 7
+        accessor.getName(PersonAccessor.ID) == 'id'
+        accessor.getPropertyType(PersonAccessor.ID) == long
+        accessor.getPropertyType(PersonAccessor.TAGS) == List
+        accessor.get(person, 'id') == 4711L
+        accessor.getLong(person, PersonAccessor.ID) == 4711L
+        accessor.get(person, PersonAccessor.NAME) == 'Mario'
+        accessor.getInt(person, PersonAccessor.AGE) == 42
+        accessor.get(person, 'salary') == 1000.5d
+        accessor.getBoolean(person, PersonAccessor.ACTIVE)
+        accessor.get(person, 'tags') == ['apt']
+        person.checkPassword('secret')
+    }
+
+    def "Generated PersonAccessor rejects unsupported access"() {
+        given:
+        def accessor = new PersonAccessor()
+
+        when:
+        access(accessor, new Person())
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains(message)
+
+        where:
+        access                                                   || message
+        { a, p -> a.get(p, 'unknown') }                          || 'No property unknown'
+        { a, p -> a.set(p, PersonAccessor.ID, 1L) }              || 'Property id of de.qaware.emergen.apt.accessor.Person does not support write access'
+        { a, p -> a.get(p, PersonAccessor.PASSWORD) }            || 'Property password of de.qaware.emergen.apt.accessor.Person does not support read access'
+        { a, p -> a.getInt(p, PersonAccessor.NAME) }             || 'Property name of de.qaware.emergen.apt.accessor.Person does not support int access'
+    }
+
+    def "Generated PersonAccessor is found by the service loader"() {
+        given:
+        def accessor = PropertyAccessors.of(Person)
+
+        expect:
+        PropertyAccessors.of(Person) instanceof PersonAccessor
+        PropertyAccessors.of(Person).is(PropertyAccessors.of(Person))
+        !accessor.isWritable(PersonAccessor.ID)
+        !accessor.isReadable(PersonAccessor.PASSWORD)
+        accessor.ordinal('age') == PersonAccessor.AGE
+        accessor.ordinal('unknown') == -1
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the generated binary codec and flyweight on a memory mapped file, the score is
+ * in records per second. The flyweight benchmark scans all records without creating instances.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(BinaryCodecBenchmark.RECORDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryCodecBenchmark {
+
+    static final int RECORDS = 100_000;
+
+    private final EventRecord record = new EventRecord();
+    private final EventRecordFlyweight flyweight = new EventRecordFlyweight();
+    private Path file;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("events", ".bin");
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) RECORDS * EventRecordBinaryCodec.SIZE);
+        encode();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int encode() {
+        buffer.clear();
+        for (int i = 0; i < RECORDS; i++) {
+            record.timestamp = i;
+            record.sequence = i;
+            record.type = i & 7;
+            record.value = i;
+            record.valid = (i & 1) == 0;
+            EventRecordBinaryCodec.encode(record, buffer);
+        }
+        return buffer.position();
+    }
+
+    @Benchmark
+    public void decode(final Blackhole blackhole) {
+        buffer.clear();
+        for (int i = 0; i < RECORDS; i++) {
+            blackhole.consume(EventRecordBinaryCodec.decode(buffer));
+        }
+    }
+
+    @Benchmark
+    public double flyweight() {
+        double sum = 0;
+        for (int i = 0; i < RECORDS; i++) {
+            flyweight.wrapRecord(buffer, i);
+            if (flyweight.isValid()) {
+                sum += flyweight.getValue();
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to mark classes with primitive fields for binary support. Two classes are generated
+ * in the same package: a BinaryCodec to encode and decode instances as fixed size records, and a
+ * Flyweight to read the fields of a record directly from a ByteBuffer, e.g. a memory mapped file,
+ * without creating an instance per record.
+ * <p>
+ * The record contains the primitive instance fields, ordered by descending size so that all fields
+ * are naturally aligned within the record. Fields are read via their getter or direct field access,
+ * and written according to the {@link de.qaware.emergen.apt.builder.BuilderProperty} rules.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE})
+public @interface BinarySupport {
+}
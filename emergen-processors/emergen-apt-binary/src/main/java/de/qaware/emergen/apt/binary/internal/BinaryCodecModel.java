@@ -0,0 +1,170 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary.internal;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+import de.qaware.emergen.core.TypeModel;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated binary codec and flyweight of a type. Used during generation.
+ *
+ * @author lreimer
+ */
+public class BinaryCodecModel {
+    private static final String CODEC_SUFFIX = "BinaryCodec";
+    private static final String FLYWEIGHT_SUFFIX = "Flyweight";
+
+    private final String pojoName;
+    private final String packageName;
+    private final List<BinaryPropertyModel> properties = new ArrayList<>();
+    private final int size;
+
+    /**
+     * Initialize the codec model and compute the record layout of the given type.
+     *
+     * @param typeModel the type model of the annotated class
+     * @throws IllegalArgumentException if a field is not primitive, or can not be read or written
+     */
+    BinaryCodecModel(final TypeModel typeModel) {
+        this.pojoName = typeModel.getSimpleName();
+        this.packageName = typeModel.getPackageName();
+
+        for (VariableElement field : typeModel.getInstanceFields()) {
+            BuilderProperty annotation = field.getAnnotation(BuilderProperty.class);
+            if ((annotation != null && !annotation.include()) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            if (!BinaryPropertyModel.isSupported(field.asType().getKind())) {
+                throw new IllegalArgumentException("Unsupported binary type " + field.asType() + " of property " + name
+                        + ", only primitive fields are supported");
+            }
+
+            BuilderProperty.AccessStrategy accessStrategy = (annotation == null)
+                    ? BuilderProperty.AccessStrategy.SETTER : annotation.propertyAccess();
+            if (accessStrategy == BuilderProperty.AccessStrategy.SETTER && !typeModel.getSetters().containsKey(name)) {
+                throw new IllegalArgumentException("Property " + name + " has no setter, use @BuilderProperty to select the access strategy");
+            }
+
+            properties.add(new BinaryPropertyModel(name, field.asType().getKind(), getGetterExpression(typeModel, field, accessStrategy),
+                    accessStrategy, annotation == null ? 0 : annotation.constructorPos()));
+        }
+
+        // largest fields first, so every field is naturally aligned within the record
+        properties.sort(Comparator.comparing(BinaryPropertyModel::getSize).reversed());
+        int offset = 0;
+        for (BinaryPropertyModel property : properties) {
+            property.setOffset(offset);
+            offset += property.getSize();
+        }
+        this.size = offset;
+    }
+
+    /**
+     * Returns the expression to read the property from the instance named value.
+     */
+    private static String getGetterExpression(final TypeModel typeModel, final VariableElement field,
+                                              final BuilderProperty.AccessStrategy accessStrategy) {
+        String name = field.getSimpleName().toString();
+        ExecutableElement getter = typeModel.getGetters().get(name);
+        if (accessStrategy == BuilderProperty.AccessStrategy.DIRECT || (getter == null && !field.getModifiers().contains(Modifier.PRIVATE))) {
+            return "value." + name;
+        } else if (getter != null) {
+            return "value." + getter.getSimpleName() + "()";
+        }
+        throw new IllegalArgumentException("Property " + name + " has no getter and is not accessible");
+    }
+
+    public String getPojoName() {
+        return pojoName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getCodecName() {
+        return pojoName.concat(CODEC_SUFFIX);
+    }
+
+    public String getFlyweightName() {
+        return pojoName.concat(FLYWEIGHT_SUFFIX);
+    }
+
+    /**
+     * The fields of the record in layout order.
+     *
+     * @return list of properties
+     */
+    public List<BinaryPropertyModel> getProperties() {
+        return properties;
+    }
+
+    /**
+     * The size of a single record in bytes.
+     *
+     * @return the record size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Get a view on the properties that are assigned after construction.
+     *
+     * @return list of assigned properties
+     */
+    public List<BinaryPropertyModel> getAssignedProperties() {
+        return properties.stream()
+                .filter(p -> !p.isConstructorAccessor())
+                .collect(Collectors.toList());
+    }
+
+    public String getConstructorSignature() {
+        return properties.stream()
+                .filter(BinaryPropertyModel::isConstructorAccessor)
+                .sorted(Comparator.comparing(BinaryPropertyModel::getConstructorPos))
+                .map(BinaryPropertyModel::getLocalName)
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the fully qualified name of the given generated class.
+     *
+     * @param simpleName the simple class name
+     * @return the canonical name
+     */
+    public String getCanonicalName(final String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary.internal;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.type.TypeKind;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The data model bean to represent a single field of a binary record. Used during generation.
+ *
+ * @author lreimer
+ */
+public class BinaryPropertyModel {
+
+    private static final Map<TypeKind, Integer> SIZES = new EnumMap<>(TypeKind.class);
+
+    static {
+        SIZES.put(TypeKind.BOOLEAN, Byte.BYTES);
+        SIZES.put(TypeKind.BYTE, Byte.BYTES);
+        SIZES.put(TypeKind.SHORT, Short.BYTES);
+        SIZES.put(TypeKind.CHAR, Character.BYTES);
+        SIZES.put(TypeKind.INT, Integer.BYTES);
+        SIZES.put(TypeKind.FLOAT, Float.BYTES);
+        SIZES.put(TypeKind.LONG, Long.BYTES);
+        SIZES.put(TypeKind.DOUBLE, Double.BYTES);
+    }
+
+    private final String name;
+    private final TypeKind kind;
+    private final String getterExpression;
+    private final BuilderProperty.AccessStrategy accessStrategy;
+    private final int constructorPos;
+    private int offset;
+
+    /**
+     * Initialize the model bean.
+     *
+     * @param name             the property name
+     * @param kind             the primitive type kind
+     * @param getterExpression the expression to read the property from the value instance
+     * @param accessStrategy   the strategy to write the property
+     * @param constructorPos   the constructor argument position, only used for CONSTRUCTOR access
+     */
+    BinaryPropertyModel(final String name, final TypeKind kind, final String getterExpression,
+                        final BuilderProperty.AccessStrategy accessStrategy, final int constructorPos) {
+        this.name = name;
+        this.kind = kind;
+        this.getterExpression = getterExpression;
+        this.accessStrategy = accessStrategy;
+        this.constructorPos = constructorPos;
+    }
+
+    /**
+     * Check if the given type kind can be stored in a binary record.
+     *
+     * @param kind the type kind
+     * @return true for primitive types
+     */
+    static boolean isSupported(final TypeKind kind) {
+        return SIZES.containsKey(kind);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return kind.name().toLowerCase(Locale.ENGLISH);
+    }
+
+    public boolean isBoolean() {
+        return kind == TypeKind.BOOLEAN;
+    }
+
+    /**
+     * The number of bytes of this field in the binary record.
+     *
+     * @return the size in bytes
+     */
+    public int getSize() {
+        return SIZES.get(kind);
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    void setOffset(final int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * The name of the generated offset constant, e.g. CREATED_AT_OFFSET.
+     *
+     * @return the offset constant name
+     */
+    public String getOffsetName() {
+        return StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(name), '_').toUpperCase(Locale.ENGLISH) + "_OFFSET";
+    }
+
+    /**
+     * The suffix of the ByteBuffer get and put methods for this field, e.g. Long. Bytes and
+     * booleans use the plain get and put methods.
+     *
+     * @return the buffer method suffix
+     */
+    public String getBufferMethod() {
+        return (kind == TypeKind.BYTE || kind == TypeKind.BOOLEAN) ? "" : StringUtils.capitalize(getType());
+    }
+
+    public String getGetterExpression() {
+        return getterExpression;
+    }
+
+    /**
+     * The getter name of the generated flyweight, following the JavaBeans conventions.
+     *
+     * @return the flyweight getter name
+     */
+    public String getFlyweightGetterName() {
+        return (isBoolean() ? "is" : "get").concat(StringUtils.capitalize(name));
+    }
+
+    public String getSetterName() {
+        return "set".concat(StringUtils.capitalize(name));
+    }
+
+    public int getConstructorPos() {
+        return constructorPos;
+    }
+
+    public String getLocalName() {
+        return name.concat("Value");
+    }
+
+    public boolean isDirectAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.DIRECT;
+    }
+
+    public boolean isConstructorAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.CONSTRUCTOR;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary.internal;
+
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate binary codecs and flyweights for classes
+ * annotated with the BinarySupport annotation.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.binary.BinarySupport"})
+public class BinarySupportProcessor extends AbstractProcessor {
+
+    private static final String BINARY_CODEC_TEMPLATE = "BinaryCodec.vm";
+    private static final String FLYWEIGHT_TEMPLATE = "Flyweight.vm";
+
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(BINARY_CODEC_TEMPLATE, FLYWEIGHT_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        FileObjectGenerator codecGenerator = generators.getInstance(BINARY_CODEC_TEMPLATE);
+        FileObjectGenerator flyweightGenerator = generators.getInstance(FLYWEIGHT_TEMPLATE);
+
+        Messager messager = processingEnv.getMessager();
+        Filer filer = processingEnv.getFiler();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "BinarySupport is only supported on concrete classes", element);
+                    continue;
+                }
+
+                TypeModel typeModel = cache.get((TypeElement) element);
+                messager.printMessage(Diagnostic.Kind.NOTE, "Generating binary support for " + element.getSimpleName().toString());
+
+                BinaryCodecModel codecModel;
+                try {
+                    codecModel = new BinaryCodecModel(typeModel);
+                } catch (IllegalArgumentException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), element);
+                    continue;
+                }
+
+                Map<String, Object> context = new HashMap<>();
+                context.put("codec", codecModel);
+
+                try {
+                    generate(codecGenerator, context, filer.createSourceFile(codecModel.getCanonicalName(codecModel.getCodecName()), element));
+                    generate(flyweightGenerator, context, filer.createSourceFile(codecModel.getCanonicalName(codecModel.getFlyweightName()), element));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static void generate(final FileObjectGenerator generator, final Map<String, Object> context,
+                                 final JavaFileObject javaFileObject) throws IOException {
+        try (Writer writer = javaFileObject.openWriter()) {
+            generator.generate(context, writer);
+        }
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.binary.Trade
+import de.qaware.emergen.apt.binary.TradeBinaryCodec
+import de.qaware.emergen.apt.binary.TradeFlyweight
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.StandardOpenOption
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the binary support annotation processor')
+class BinarySupportProcessorSpec extends Specification {
+
+    static String UNSUPPORTED_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.binary.BinarySupport
+    public class UnsupportedPojo {
+        public String name;
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new BinarySupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Trade"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BinarySupportProcessor())
+                .compile(JavaFileObjects.forResource("Trade.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile("de.qaware.emergen.apt.binary.TradeBinaryCodec").isPresent()
+        def flyweight = compilation.generatedSourceFile("de.qaware.emergen.apt.binary.TradeFlyweight").get().getCharContent(true).toString()
+        flyweight.contains('public static final int TIMESTAMP_OFFSET = 0;')
+        flyweight.contains('public static final int PRICE_OFFSET = 8;')
+        flyweight.contains('public static final int BUY_OFFSET = 28;')
+        !flyweight.contains('comment')
+    }
+
+    def "Annotation processing fails for non primitive fields"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BinarySupportProcessor())
+                .compile(JavaFileObjects.forSourceString("test.UnsupportedPojo", UNSUPPORTED_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Unsupported binary type java.lang.String of property name')
+    }
+
+    def "Generated TradeBinaryCodec encodes and decodes records"() {
+        given:
+        def buffer = ByteBuffer.allocate(TradeBinaryCodec.SIZE * 2).order(ByteOrder.LITTLE_ENDIAN)
+
+        when:
+        TradeBinaryCodec.encode(trade(1), buffer)
+        TradeBinaryCodec.encode(trade(2), buffer)
+        buffer.flip()
+        def first = TradeBinaryCodec.decode(buffer)
+        def second = TradeBinaryCodec.decode(buffer)
+
+        then:
+        TradeBinaryCodec.SIZE == 30
+        !buffer.hasRemaining()
+        first.timestamp == 1000L
+        !first.buy
+        second.timestamp == 2000L
+        second.buy
+        second.quantity == 20
+        second.price == 2.5d
+        second.venue == 2 as short
+        second.side == 'S' as char
+        second.flags == -2 as byte
+        second.fee == 0.2f
+    }
+
+    def "Generated TradeFlyweight reads records from a memory mapped file"() {
+        given:
+        def file = Files.createTempFile('trades', '.bin')
+        def records = 1000
+
+        when:
+        FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE).withCloseable { channel ->
+            def mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) records * TradeBinaryCodec.SIZE)
+            (1..records).each { TradeBinaryCodec.encode(trade(it), mapped) }
+            mapped.force()
+        }
+
+        def flyweight = new TradeFlyweight()
+        def quantities = 0L
+        def buys = 0
+        def last = null
+        FileChannel.open(file, StandardOpenOption.READ).withCloseable { channel ->
+            def mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())
+            for (int i = 0; i < TradeFlyweight.count(mapped); i++) {
+                flyweight.wrapRecord(mapped, i)
+                quantities += flyweight.quantity
+                buys += flyweight.buy ? 1 : 0
+            }
+            last = flyweight.toPojo()
+        }
+
+        then:
+        Files.size(file) == 30000L
+        quantities == (1..records).sum() * 10L
+        buys == records / 2
+        flyweight.offset == 999 * TradeBinaryCodec.SIZE
+        last.timestamp == 1000000L
+        last.side == 'S' as char
+
+        cleanup:
+        Files.deleteIfExists(file)
+    }
+
+    static Trade trade(int i) {
+        def trade = new Trade(i * 1000L)
+        trade.buy = i % 2 == 0
+        trade.quantity = i * 10
+        trade.price = i + 0.5d
+        trade.venue = i as short
+        trade.side = i % 2 == 0 ? 'S' as char : 'B' as char
+        trade.flags = -i as byte
+        trade.fee = i / 10f
+        trade
+    }
+}
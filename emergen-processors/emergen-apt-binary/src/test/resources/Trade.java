@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.binary;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+
+@BinarySupport
+public class Trade {
+
+    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.CONSTRUCTOR)
+    private final long timestamp;
+
+    private boolean buy;
+
+    private int quantity;
+
+    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+    public double price;
+
+    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+    public short venue;
+
+    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+    public char side;
+
+    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+    public byte flags;
+
+    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+    public float fee;
+
+    @BuilderProperty(include = false)
+    private String comment;
+
+    public Trade(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    public void setBuy(boolean buy) {
+        this.buy = buy;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+}
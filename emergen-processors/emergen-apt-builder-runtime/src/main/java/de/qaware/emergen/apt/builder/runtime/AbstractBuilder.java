@@ -0,0 +1,105 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder.runtime;
+
+/**
+ * The optional base class of generated builders. It contains the using(), but() and build()
+ * scaffolding once instead of duplicating it in every generated builder class, which reduces the
+ * bytecode size and the metaspace footprint of applications with many builders. Enable it with
+ * the builder.runtime annotation processor option.
+ *
+ * @param <T> the type of the built instances
+ * @param <B> the type of the concrete builder
+ * @author lreimer
+ */
+public abstract class AbstractBuilder<T, B extends AbstractBuilder<T, B>> implements Cloneable {
+
+    private T instance = null;
+
+    /**
+     * Returns a copy of this builder instance.
+     *
+     * @return the builder instance
+     */
+    @SuppressWarnings("unchecked")
+    public B but() {
+        try {
+            AbstractBuilder<T, B> copy = (AbstractBuilder<T, B>) super.clone();
+            copy.copyContainers();
+            return (B) copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Set the used instance for this builder to the specified value.
+     *
+     * @param instance the instance to use and initialize
+     * @return the builder instance
+     */
+    @SuppressWarnings("unchecked")
+    public B using(final T instance) {
+        this.instance = instance;
+        return (B) this;
+    }
+
+    /**
+     * Build and initialize the instance. Creates a new instance unless an instance has been
+     * set via using() or was built before.
+     *
+     * @return the instance
+     */
+    public T build() {
+        instance = initialize(instance);
+        return instance;
+    }
+
+    /**
+     * Returns the instance set via using() or built before.
+     *
+     * @return the instance, may be null
+     */
+    protected final T getInstance() {
+        return instance;
+    }
+
+    /**
+     * Called on the copy created by but(), so that builders can copy their mutable collection,
+     * map and array containers. The default implementation does nothing.
+     */
+    protected void copyContainers() {
+        // nothing to copy by default
+    }
+
+    /**
+     * Initialize the given instance with all properties. If the instance is null, a new instance
+     * is created including all constructor arguments. A single abstract method keeps the number of
+     * generated bridge methods per builder to a minimum.
+     *
+     * @param instance the instance to initialize, may be null
+     * @return the initialized instance
+     */
+    protected abstract T initialize(T instance);
+}
@@ -0,0 +1,92 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the AbstractBuilder runtime base class')
+class AbstractBuilderSpec extends Specification {
+
+    static class Person {
+        String name
+        List<String> tags
+    }
+
+    static class PersonBuilder extends AbstractBuilder<Person, PersonBuilder> {
+        String name
+        List<String> tags = []
+
+        PersonBuilder withName(String name) {
+            this.name = name
+            this
+        }
+
+        @Override
+        protected void copyContainers() {
+            tags = new ArrayList<>(tags)
+        }
+
+        @Override
+        protected Person initialize(Person existing) {
+            def instance = existing ?: new Person()
+            instance.name = name
+            instance.tags = tags
+            instance
+        }
+    }
+
+    def "Build new and existing instances"() {
+        given:
+        def existing = new Person()
+
+        when:
+        def builder = new PersonBuilder().withName('Mario')
+        def person = builder.build()
+        def used = new PersonBuilder().using(existing).withName('Leander').build()
+
+        then:
+        person.name == 'Mario'
+        builder.build().is(person)
+        used.is(existing)
+        used.name == 'Leander'
+    }
+
+    def "Copy builder with but"() {
+        given:
+        def builder = new PersonBuilder().withName('Mario')
+        builder.tags << 'a'
+
+        when:
+        def copy = builder.but()
+        copy.tags << 'b'
+
+        then:
+        copy instanceof PersonBuilder
+        !copy.is(builder)
+        copy.name == 'Mario'
+        builder.tags == ['a']
+        copy.tags == ['a', 'b']
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark comparing the class loading time and metaspace usage of many generated builders, with
+ * and without the AbstractBuilder runtime base class. Each invocation loads and initializes all
+ * builders in a fresh class loader. The metaspace used per load is measured outside of the timed
+ * invocation after a full GC and printed at the end of each fork, since JMH does not support
+ * auxiliary counters in single shot mode.
+ * The directories of the compiled builders are passed via the jmh.builders.plain and
+ * jmh.builders.runtime system properties by the gradle jmh task.
+ *
+ * @author lreimer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(3)
+public class BuilderClassLoadingBenchmark {
+
+    private static final String BUILDER_SUFFIX = "Builder.class";
+
+    @Param({"plain", "runtime"})
+    private String variant;
+
+    private URL[] urls;
+    private List<String> builderNames;
+    private ClassLoader loader;
+    private long metaspaceBefore;
+    private long metaspaceBytes;
+    private int loads;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path directory = Paths.get(System.getProperty("jmh.builders." + variant));
+        urls = new URL[]{directory.toUri().toURL()};
+        try (Stream<Path> files = Files.walk(directory)) {
+            builderNames = files.map(directory::relativize)
+                    .map(Path::toString)
+                    .filter(name -> name.endsWith(BUILDER_SUFFIX))
+                    .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.').replace('\\', '.'))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void measureBefore() {
+        metaspaceBefore = metaspaceUsed();
+    }
+
+    @TearDown(Level.Invocation)
+    public void measureAfter() {
+        metaspaceBytes += metaspaceUsed() - metaspaceBefore;
+        loads++;
+        loader = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void printMetaspace() {
+        System.out.printf("%nMetaspace used for %d %s builders: %d KB per load%n",
+                builderNames.size(), variant, metaspaceBytes / loads / 1024);
+    }
+
+    @Benchmark
+    public int loadBuilders() throws ReflectiveOperationException {
+        loader = new URLClassLoader(urls, getClass().getClassLoader());
+        for (String builderName : builderNames) {
+            Class<?> builderClass = Class.forName(builderName, true, loader);
+            builderClass.newInstance();
+        }
+        return builderNames.size();
+    }
+
+    private static long metaspaceUsed() {
+        // the classes of released loaders are only unloaded by a full GC
+        System.gc();
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> "Metaspace".equals(pool.getName()))
+                .mapToLong(pool -> pool.getUsage().getUsed())
+                .sum();
+    }
+}
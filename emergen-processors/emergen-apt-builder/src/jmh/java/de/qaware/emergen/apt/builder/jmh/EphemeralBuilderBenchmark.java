@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.qaware.emergen.apt.builder.jmh.DefaultPojoBuilder.aDefaultPojo;
+import static de.qaware.emergen.apt.builder.jmh.EphemeralPojoBuilder.aEphemeralPojo;
+
+/**
+ * Benchmark comparing default and ephemeral builders used in a single expression. Run with
+ * <code>-prof gc</code>: for the ephemeral builder the normalized allocation rate only contains
+ * the POJO itself, since the builder allocation is eliminated by escape analysis.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EphemeralBuilderBenchmark {
+
+    private String name = "benchmark";
+    private int count = 42;
+    private long timestamp = System.currentTimeMillis();
+
+    @Benchmark
+    public Object defaultBuilder() {
+        return aDefaultPojo().withName(name).withCount(count).withTimestamp(timestamp).build();
+    }
+
+    @Benchmark
+    public Object ephemeralBuilder() {
+        return aEphemeralPojo().withName(name).withCount(count).withTimestamp(timestamp).build();
+    }
+}
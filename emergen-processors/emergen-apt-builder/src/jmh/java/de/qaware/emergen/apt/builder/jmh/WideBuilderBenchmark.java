@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder.jmh;
+
+import de.qaware.emergen.apt.builder.jmh.chunked.WidePojo10Builder;
+import de.qaware.emergen.apt.builder.jmh.chunked.WidePojo100Builder;
+import de.qaware.emergen.apt.builder.jmh.chunked.WidePojo1000Builder;
+import de.qaware.emergen.apt.builder.jmh.chunked.WidePojo500Builder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the build() method of generated builders for POJOs with 10, 100, 500 and 1000
+ * properties. The linear builders assign all properties in one method, the chunked builders use
+ * helper methods with at most 32 assignments each. The builders are reused, so only the property
+ * assignments are measured. With setter access the linear build() method exceeds the 8000 bytes
+ * HotSpot huge method limit somewhere above 700 properties and is never JIT compiled.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WideBuilderBenchmark {
+
+    private de.qaware.emergen.apt.builder.jmh.linear.WidePojo10Builder linear10;
+    private de.qaware.emergen.apt.builder.jmh.linear.WidePojo100Builder linear100;
+    private de.qaware.emergen.apt.builder.jmh.linear.WidePojo500Builder linear500;
+    private WidePojo10Builder chunked10;
+    private WidePojo100Builder chunked100;
+    private de.qaware.emergen.apt.builder.jmh.linear.WidePojo1000Builder linear1000;
+    private WidePojo500Builder chunked500;
+    private WidePojo1000Builder chunked1000;
+
+    @Setup
+    public void setUp() {
+        linear10 = de.qaware.emergen.apt.builder.jmh.linear.WidePojo10Builder.aWidePojo10().withField0(1);
+        linear100 = de.qaware.emergen.apt.builder.jmh.linear.WidePojo100Builder.aWidePojo100().withField0(1);
+        linear500 = de.qaware.emergen.apt.builder.jmh.linear.WidePojo500Builder.aWidePojo500().withField0(1);
+        chunked10 = WidePojo10Builder.aWidePojo10().withField0(1);
+        chunked100 = WidePojo100Builder.aWidePojo100().withField0(1);
+        linear1000 = de.qaware.emergen.apt.builder.jmh.linear.WidePojo1000Builder.aWidePojo1000().withField0(1);
+        chunked500 = WidePojo500Builder.aWidePojo500().withField0(1);
+        chunked1000 = WidePojo1000Builder.aWidePojo1000().withField0(1);
+    }
+
+    @Benchmark
+    public Object linear10() {
+        return linear10.build();
+    }
+
+    @Benchmark
+    public Object linear100() {
+        return linear100.build();
+    }
+
+    @Benchmark
+    public Object linear500() {
+        return linear500.build();
+    }
+
+    @Benchmark
+    public Object linear1000() {
+        return linear1000.build();
+    }
+
+    @Benchmark
+    public Object chunked10() {
+        return chunked10.build();
+    }
+
+    @Benchmark
+    public Object chunked100() {
+        return chunked100.build();
+    }
+
+    @Benchmark
+    public Object chunked500() {
+        return chunked500.build();
+    }
+
+    @Benchmark
+    public Object chunked1000() {
+        return chunked1000.build();
+    }
+}
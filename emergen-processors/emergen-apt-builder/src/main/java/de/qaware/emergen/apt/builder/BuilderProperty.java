@@ -77,4 +77,13 @@ public @interface BuilderProperty {
      * @return if property will be included
      */
     boolean include() default true;
+
+    /**
+     * The expected number of elements of a collection, map or primitive array property. The builder
+     * allocates the container for this number of elements when the first element is added.
+     * Only applicable for properties with generated add, put and addAll methods.
+     *
+     * @return the expected number of elements, 0 for the default capacity
+     */
+    int initialCapacity() default 0;
 }
@@ -42,4 +42,41 @@ public @interface BuilderSupport {
      * @return the implementation package
      */
     String implementationPackage() default "";
+
+    /**
+     * Generate a minimal, final builder without the using() and but() methods. The build() method
+     * always creates a new instance, so that the JIT can eliminate the builder allocation when the
+     * builder is used in a single expression like <code>anExamplePojo().withX(x).build()</code>.
+     *
+     * @return if an ephemeral builder is generated
+     */
+    boolean ephemeral() default false;
+
+    /**
+     * Generate a canonicalizing build() method for immutable POJOs. Before a new instance is created
+     * the builder looks up an equal instance, keyed on all property values, in a bounded LRU intern
+     * table generated for the POJO type. The table statistics are available via the static
+     * internHits(), internMisses(), internEvictions() and internSize() methods of the builder.
+     * Collection and map properties of interned instances are copies, unmodifiable if the declared
+     * type allows it, so that later changes of the builder are not visible to them.
+     *
+     * @return if built instances are interned
+     */
+    boolean intern() default false;
+
+    /**
+     * The maximum number of interned instances, only used if intern is enabled.
+     *
+     * @return the intern table capacity
+     */
+    int internCapacity() default 1024;
+
+    /**
+     * Generate a reset() method and a static pooled() accessor that returns the reset builder of the
+     * current thread. Pooled builders can be used in hot code paths without allocating a builder per
+     * instance, but must not escape the current thread or be kept across pooled() calls.
+     *
+     * @return if pooled builders are supported
+     */
+    boolean pooled() default false;
 }
@@ -25,6 +25,8 @@ package de.qaware.emergen.apt.builder.internal;
 
 import de.qaware.emergen.apt.builder.BuilderProperty;
 import de.qaware.emergen.apt.builder.BuilderSupport;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.lang.model.element.Element;
@@ -33,6 +35,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -43,34 +46,61 @@ import java.util.stream.Collectors;
 public class BuilderModel {
     private static final String CANONICAL_FORMAT = "{0}.{1}";
     private static final String IMPLEMENTATION_NAME_SUFFIX = "Builder";
+    private static final int INTERN_STRIPES = 16;
 
     private final String implementationName;
     private final String entityName;
     private final String implementationPackage;
     private final List<BuilderPropertyModel> builderProperties;
+    private final int chunkSize;
+    private final boolean ephemeral;
+    private final boolean interned;
+    private final boolean pooled;
+    private final int internCapacity;
 
     /**
      * Initialize the builder model with the given references.
      *
-     * @param element                  the annotated element
+     * @param typeModels               the type models of the current round
+     * @param typeModel                the type model of the annotated element
      * @param builderSupportAnnotation the annotation itself
      * @param builderPropertyElements  the annotated builder property elements
+     * @param chunkSize                the maximum number of property assignments per method, 0 for no limit
      */
-    BuilderModel(final Element element, final BuilderSupport builderSupportAnnotation,
-                 final Map<Element, BuilderProperty> builderPropertyElements) {
-        entityName = element.getSimpleName().toString();
+    BuilderModel(final TypeModelCache typeModels, final TypeModel typeModel, final BuilderSupport builderSupportAnnotation,
+                 final Map<Element, BuilderProperty> builderPropertyElements, final int chunkSize) {
+        entityName = typeModel.getSimpleName();
         implementationName = entityName.concat(IMPLEMENTATION_NAME_SUFFIX);
         if (StringUtils.isEmpty(builderSupportAnnotation.implementationPackage())) {
-            String elementType = element.asType().toString();
-            implementationPackage = elementType.substring(0, elementType.lastIndexOf('.'));
+            implementationPackage = typeModel.getPackageName();
         } else {
             implementationPackage = builderSupportAnnotation.implementationPackage();
         }
 
+        this.chunkSize = chunkSize;
+        this.ephemeral = builderSupportAnnotation.ephemeral();
+        this.interned = builderSupportAnnotation.intern();
+        this.pooled = builderSupportAnnotation.pooled();
+        this.internCapacity = builderSupportAnnotation.internCapacity();
         builderProperties = new ArrayList<>();
         for (Map.Entry<Element, BuilderProperty> entry : builderPropertyElements.entrySet()) {
-            builderProperties.add(new BuilderPropertyModel(entry.getKey(), entry.getValue()));
+            builderProperties.add(new BuilderPropertyModel(entry.getKey(), entry.getValue(), typeModels));
         }
+        qualifyCollidingElementMethodNames();
+    }
+
+    /**
+     * A singular add or put method name may collide with a method of another property, e.g. addTag of
+     * the properties tag and tags. The singularized property then uses its full name, e.g. addToTags.
+     */
+    private void qualifyCollidingElementMethodNames() {
+        Map<String, Long> methodNames = builderProperties.stream()
+                .flatMap(p -> p.getBuilderMethodNames().stream())
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        builderProperties.stream()
+                .filter(BuilderPropertyModel::isSingularElementMethodName)
+                .filter(p -> methodNames.getOrDefault(p.getElementMethodName(), 0L) > 1)
+                .forEach(BuilderPropertyModel::useQualifiedElementMethodName);
     }
 
     /**
@@ -94,6 +124,51 @@ public class BuilderModel {
         return builderProperties;
     }
 
+    public boolean isEphemeral() {
+        return ephemeral;
+    }
+
+    public boolean isInterned() {
+        return interned;
+    }
+
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    public int getInternStripes() {
+        return INTERN_STRIPES;
+    }
+
+    /**
+     * Returns the shift that selects the stripe from the high bits of the multiplicatively mixed
+     * intern key hash.
+     *
+     * @return the stripe shift
+     */
+    public int getInternStripeShift() {
+        return Integer.SIZE - Integer.numberOfTrailingZeros(INTERN_STRIPES);
+    }
+
+    /**
+     * Returns the maximum number of interned instances per stripe of the intern table.
+     *
+     * @return the stripe capacity, at least 1
+     */
+    public int getInternStripeCapacity() {
+        return Math.max(1, (internCapacity + INTERN_STRIPES - 1) / INTERN_STRIPES);
+    }
+
+    /**
+     * Returns the comma separated property values passed to the intern key.
+     *
+     * @return the intern key arguments
+     */
+    public String getInternKeySignature() {
+        List<String> values = builderProperties.stream().map(BuilderPropertyModel::getValue).collect(Collectors.toList());
+        return String.join(", ", values);
+    }
+
     /**
      * Returns the fully qualified name for this Builder.
      *
@@ -116,7 +191,65 @@ public class BuilderModel {
     }
 
     public String getConstructorSignature() {
-        List<String> names = getConstructorArgs().stream().map(BuilderPropertyModel::getName).collect(Collectors.toList());
+        List<String> names = getConstructorArgs().stream().map(BuilderPropertyModel::getValue).collect(Collectors.toList());
         return String.join(", ", names);
     }
+
+    /**
+     * Get a view on the builder properties that are assigned after construction.
+     *
+     * @return list of assigned properties
+     */
+    public List<BuilderPropertyModel> getAssignedProperties() {
+        return builderProperties.stream()
+                .filter(p -> !p.isConstructorAccessor())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a view on the collection, map and primitive array properties whose containers are copied by but().
+     *
+     * @return list of container properties
+     */
+    public List<BuilderPropertyModel> getContainerProperties() {
+        return builderProperties.stream()
+                .filter(p -> p.isCollection() || p.isMap() || p.isPrimitiveArray())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a view on the collection and map properties an interning builder freezes on build(). The builder
+     * copies them again before the next element is added.
+     *
+     * @return list of frozen container properties, empty if the builder does not intern
+     */
+    public List<BuilderPropertyModel> getInternedContainerProperties() {
+        return builderProperties.stream()
+                .filter(p -> interned && (p.isCollection() || p.isMap()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks if the build() method is split into chunks. This is the case for models with more
+     * assigned properties than the chunk size.
+     *
+     * @return true if chunked, otherwise false
+     */
+    public boolean isChunked() {
+        return chunkSize > 0 && getAssignedProperties().size() > chunkSize;
+    }
+
+    /**
+     * Get the assigned properties split into chunks of the configured chunk size.
+     *
+     * @return list of property chunks
+     */
+    public List<List<BuilderPropertyModel>> getBuildChunks() {
+        List<BuilderPropertyModel> assignedProperties = getAssignedProperties();
+        List<List<BuilderPropertyModel>> chunks = new ArrayList<>();
+        for (int i = 0; i < assignedProperties.size(); i += chunkSize) {
+            chunks.add(assignedProperties.subList(i, Math.min(i + chunkSize, assignedProperties.size())));
+        }
+        return chunks;
+    }
 }
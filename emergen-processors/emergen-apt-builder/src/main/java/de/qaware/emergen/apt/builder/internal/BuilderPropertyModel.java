@@ -24,11 +24,22 @@
 package de.qaware.emergen.apt.builder.internal;
 
 import de.qaware.emergen.apt.builder.BuilderProperty;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * The data model bean to represent the BuilderProperty. Used during generation.
@@ -37,6 +48,47 @@ import javax.lang.model.type.TypeMirror;
  */
 public class BuilderPropertyModel {
 
+    private static final Map<String, String> IMPLEMENTATION_TYPES = new LinkedHashMap<>();
+    private static final Map<String, CapacityStrategy> CAPACITY_STRATEGIES = new LinkedHashMap<>();
+    private static final Map<String, String> UNMODIFIABLE_WRAPPERS = new LinkedHashMap<>();
+
+    static {
+        // the more specific interfaces first
+        IMPLEMENTATION_TYPES.put("java.util.SortedSet", "java.util.TreeSet");
+        IMPLEMENTATION_TYPES.put("java.util.Set", "java.util.LinkedHashSet");
+        IMPLEMENTATION_TYPES.put("java.util.Deque", "java.util.ArrayDeque");
+        IMPLEMENTATION_TYPES.put("java.util.Queue", "java.util.ArrayDeque");
+        IMPLEMENTATION_TYPES.put("java.util.Collection", "java.util.ArrayList");
+        IMPLEMENTATION_TYPES.put("java.util.concurrent.ConcurrentMap", "java.util.concurrent.ConcurrentHashMap");
+        IMPLEMENTATION_TYPES.put("java.util.SortedMap", "java.util.TreeMap");
+        IMPLEMENTATION_TYPES.put("java.util.Map", "java.util.LinkedHashMap");
+
+        CAPACITY_STRATEGIES.put("java.util.ArrayList", CapacityStrategy.SIZE);
+        CAPACITY_STRATEGIES.put("java.util.ArrayDeque", CapacityStrategy.SIZE);
+        CAPACITY_STRATEGIES.put("java.util.concurrent.ConcurrentHashMap", CapacityStrategy.SIZE);
+        CAPACITY_STRATEGIES.put("java.util.HashSet", CapacityStrategy.HASH);
+        CAPACITY_STRATEGIES.put("java.util.LinkedHashSet", CapacityStrategy.HASH);
+        CAPACITY_STRATEGIES.put("java.util.HashMap", CapacityStrategy.HASH);
+        CAPACITY_STRATEGIES.put("java.util.LinkedHashMap", CapacityStrategy.HASH);
+
+        // a Collection is backed by an ArrayList, the unmodifiable list keeps its value based equals
+        UNMODIFIABLE_WRAPPERS.put("java.util.Collection", "java.util.Collections.unmodifiableList");
+        UNMODIFIABLE_WRAPPERS.put("java.util.List", "java.util.Collections.unmodifiableList");
+        UNMODIFIABLE_WRAPPERS.put("java.util.Set", "java.util.Collections.unmodifiableSet");
+        UNMODIFIABLE_WRAPPERS.put("java.util.SortedSet", "java.util.Collections.unmodifiableSortedSet");
+        UNMODIFIABLE_WRAPPERS.put("java.util.NavigableSet", "java.util.Collections.unmodifiableNavigableSet");
+        UNMODIFIABLE_WRAPPERS.put("java.util.Map", "java.util.Collections.unmodifiableMap");
+        UNMODIFIABLE_WRAPPERS.put("java.util.SortedMap", "java.util.Collections.unmodifiableSortedMap");
+        UNMODIFIABLE_WRAPPERS.put("java.util.NavigableMap", "java.util.Collections.unmodifiableNavigableMap");
+    }
+
+    /**
+     * How the expected number of elements is passed to the constructor of a container type.
+     */
+    private enum CapacityStrategy {
+        SIZE, HASH
+    }
+
     private String name;
     private String type;
     private String defaultValue;
@@ -47,19 +99,42 @@ public class BuilderPropertyModel {
     private String setterName;
     private boolean constructorAccessor;
     private int constructorPos;
+    private boolean collection;
+    private boolean map;
+    private String wrapperType;
+    private boolean array;
+    private boolean primitiveArray;
+    private String elementType;
+    private String keyType;
+    private String valueType;
+    private String implementationType;
+    private String unmodifiableWrapper;
+    private String capacity = StringUtils.EMPTY;
+    private String elementMethodName;
 
     /**
      * Initialize the model bean with the property element and annotation.
      *
      * @param builderPropertyElement    the builder property element
      * @param builderPropertyAnnotation the builder property annotation
+     * @param typeModels                the type models of the current round
      */
-    BuilderPropertyModel(final Element builderPropertyElement, final BuilderProperty builderPropertyAnnotation) {
+    BuilderPropertyModel(final Element builderPropertyElement, final BuilderProperty builderPropertyAnnotation,
+                         final TypeModelCache typeModels) {
         this.name = builderPropertyElement.getSimpleName().toString();
 
         TypeMirror typeMirror = builderPropertyElement.asType();
         this.type = typeMirror.toString();
 
+        if (typeMirror.getKind().isPrimitive()) {
+            this.wrapperType = StringUtils.capitalize(type);
+            if ("int".equals(type)) {
+                this.wrapperType = "Integer";
+            } else if ("char".equals(type)) {
+                this.wrapperType = "Character";
+            }
+        }
+
         this.methodName = getPrefix(builderPropertyAnnotation).concat(StringUtils.capitalize(name));
 
         String annotationDefaultValue = getDefaultValue(builderPropertyAnnotation);
@@ -102,6 +177,83 @@ public class BuilderPropertyModel {
             this.constructorAccessor = false;
             this.setterName = null;
         }
+
+        initializeContainer(typeMirror, getInitialCapacity(builderPropertyAnnotation), typeModels);
+        this.elementMethodName = (map ? "put" : "add").concat(StringUtils.capitalize(singular(name)));
+    }
+
+    /**
+     * Detect collection, map and primitive array properties and determine the element types and
+     * the container implementation used by the generated add, put and addAll methods.
+     */
+    private void initializeContainer(final TypeMirror typeMirror, final int initialCapacity, final TypeModelCache typeModels) {
+        if (typeMirror.getKind() == TypeKind.ARRAY) {
+            this.array = true;
+            TypeMirror componentType = ((ArrayType) typeMirror).getComponentType();
+            if (componentType.getKind().isPrimitive()) {
+                this.primitiveArray = true;
+                this.elementType = componentType.toString();
+                this.capacity = (initialCapacity > 0) ? String.valueOf(initialCapacity) : "8";
+            }
+            return;
+        }
+
+        TypeModel typeModel = typeModels.get(typeMirror);
+        if (typeModel == null) {
+            return;
+        }
+
+        List<? extends TypeMirror> typeArguments = ((DeclaredType) typeMirror).getTypeArguments();
+        for (TypeMirror typeArgument : typeArguments) {
+            if (typeArgument.getKind() != TypeKind.DECLARED && typeArgument.getKind() != TypeKind.ARRAY) {
+                // raw types, wildcards and type variables are not supported
+                return;
+            }
+        }
+
+        if (typeModel.isSubtypeOf("java.util.Collection") && typeArguments.size() == 1) {
+            this.elementType = typeArguments.get(0).toString();
+        } else if (typeModel.isSubtypeOf("java.util.Map") && typeArguments.size() == 2) {
+            this.keyType = typeArguments.get(0).toString();
+            this.valueType = typeArguments.get(1).toString();
+        } else {
+            return;
+        }
+
+        this.implementationType = getImplementationType(typeModel);
+        if (implementationType != null) {
+            this.collection = (elementType != null);
+            this.map = (keyType != null);
+            this.capacity = getCapacity(implementationType, initialCapacity);
+            this.unmodifiableWrapper = UNMODIFIABLE_WRAPPERS.get(typeModel.getQualifiedName());
+        }
+    }
+
+    private static String getImplementationType(final TypeModel typeModel) {
+        boolean instantiable = typeModel.getElement().getKind().isClass()
+                && !typeModel.getElement().getModifiers().contains(Modifier.ABSTRACT);
+        if (instantiable) {
+            return typeModel.getQualifiedName();
+        }
+
+        for (Map.Entry<String, String> entry : IMPLEMENTATION_TYPES.entrySet()) {
+            if (typeModel.getQualifiedName().equals(entry.getKey()) || typeModel.getAllInterfaceNames().contains(entry.getKey())) {
+                return typeModel.getElement().getKind().isInterface() ? entry.getValue() : null;
+            }
+        }
+        return null;
+    }
+
+    private static String getCapacity(final String implementationType, final int initialCapacity) {
+        CapacityStrategy strategy = CAPACITY_STRATEGIES.get(implementationType);
+        if (initialCapacity <= 0 || strategy == null) {
+            return StringUtils.EMPTY;
+        } else if (strategy == CapacityStrategy.HASH) {
+            // the default load factor of 0.75 requires a larger table to avoid rehashing
+            return String.valueOf((int) (initialCapacity / 0.75f) + 1);
+        } else {
+            return String.valueOf(initialCapacity);
+        }
     }
 
     public String getName() {
@@ -144,6 +296,195 @@ public class BuilderPropertyModel {
         return constructorPos;
     }
 
+    public boolean isCollection() {
+        return collection;
+    }
+
+    public boolean isMap() {
+        return map;
+    }
+
+    /**
+     * Returns the value expression used to reset the property of a pooled builder.
+     *
+     * @return the default value, or the Java default of the property type
+     */
+    public String getResetValue() {
+        if (withDefaultValue) {
+            return defaultValue;
+        } else if ("boolean".equals(type)) {
+            return "false";
+        } else if (wrapperType != null) {
+            return "(" + type + ") 0";
+        } else {
+            return "null";
+        }
+    }
+
+    /**
+     * Returns the simple name of the java.lang wrapper type of a primitive property.
+     *
+     * @return the wrapper type, or null for reference types
+     */
+    public String getWrapperType() {
+        return wrapperType;
+    }
+
+    public boolean isArray() {
+        return array;
+    }
+
+    public boolean isPrimitiveArray() {
+        return primitiveArray;
+    }
+
+    public String getElementType() {
+        return elementType;
+    }
+
+    public String getKeyType() {
+        return keyType;
+    }
+
+    public String getValueType() {
+        return valueType;
+    }
+
+    public String getImplementationType() {
+        return implementationType;
+    }
+
+    /**
+     * Returns the constructor argument for the container implementation, or an empty string
+     * for the default capacity. For primitive arrays the initial array length.
+     *
+     * @return the capacity constructor argument
+     */
+    public String getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the name of the generated method to add a single element or entry, e.g. addName
+     * for a property names, addAddress for addresses or addEntry for entries.
+     *
+     * @return the add or put method name
+     */
+    public String getElementMethodName() {
+        return elementMethodName;
+    }
+
+    /**
+     * Checks if the add or put method name uses the singular form of the property name.
+     *
+     * @return true if the property name was singularized, otherwise false
+     */
+    boolean isSingularElementMethodName() {
+        return !elementMethodName.endsWith(StringUtils.capitalize(name));
+    }
+
+    /**
+     * Use the full property name for the add or put method, e.g. addToTags instead of addTag, if the
+     * singular form collides with another builder method.
+     */
+    void useQualifiedElementMethodName() {
+        this.elementMethodName = (map ? "putInto" : "addTo").concat(StringUtils.capitalize(name));
+    }
+
+    /**
+     * Returns the names of all generated builder methods of this property.
+     *
+     * @return the method names
+     */
+    List<String> getBuilderMethodNames() {
+        if (collection || map || primitiveArray) {
+            return Arrays.asList(methodName, elementMethodName, getAllMethodName());
+        }
+        return Collections.singletonList(methodName);
+    }
+
+    private static String singular(final String name) {
+        if (name.length() > 3 && name.endsWith("ies")) {
+            return name.substring(0, name.length() - 3).concat("y");
+        } else if (StringUtils.endsWithAny(name, "sses", "shes", "ches", "xes", "zzes")) {
+            return name.substring(0, name.length() - 2);
+        } else if (name.length() > 1 && name.endsWith("s") && !StringUtils.endsWithAny(name, "ss", "us", "is")) {
+            return name.substring(0, name.length() - 1);
+        }
+        return name;
+    }
+
+    /**
+     * Returns the name of the generated method to add several elements or entries, e.g. addAllNames
+     * for a property names.
+     *
+     * @return the addAll or putAll method name
+     */
+    public String getAllMethodName() {
+        return (map ? "putAll" : "addAll").concat(StringUtils.capitalize(name));
+    }
+
+    /**
+     * Returns the name of the builder field holding the number of elements of a primitive array property.
+     *
+     * @return the size field name
+     */
+    public String getSizeName() {
+        return name.concat("Size");
+    }
+
+    /**
+     * Returns the name of the private builder method that grows a primitive array property.
+     *
+     * @return the grow method name
+     */
+    public String getGrowMethodName() {
+        return "grow".concat(StringUtils.capitalize(name));
+    }
+
+    /**
+     * Returns the expression for the property value passed to the instance. Primitive arrays assembled
+     * by the builder are trimmed to their actual size.
+     *
+     * @return the value expression
+     */
+    public String getValue() {
+        if (primitiveArray) {
+            return MessageFormat.format("({1} < 0 || {0}.length == {1}) ? {0} : java.util.Arrays.copyOf({0}, {1})",
+                    name, getSizeName());
+        }
+        return name;
+    }
+
+    /**
+     * Returns the expression for the copy of a collection or map property that an interning builder passes
+     * to the intern key and the instance. The copy is unmodifiable if the declared type allows it.
+     *
+     * @return the frozen value expression
+     */
+    public String getFrozenValue() {
+        String copy = MessageFormat.format("new {0}<>({1})", implementationType, name);
+        if (unmodifiableWrapper != null) {
+            copy = MessageFormat.format("{0}({1})", unmodifiableWrapper, copy);
+        }
+        return MessageFormat.format("({0} == null) ? null : {1}", name, copy);
+    }
+
+    /**
+     * Returns the expression for the value held by the intern key. Arrays and modifiable containers are
+     * copied, so that changes to a built instance can not corrupt the intern table.
+     *
+     * @return the intern key value expression
+     */
+    public String getInternKeyValue() {
+        if (array) {
+            return MessageFormat.format("({0} == null) ? null : {0}.clone()", name);
+        } else if ((collection || map) && unmodifiableWrapper == null) {
+            return MessageFormat.format("({0} == null) ? null : new {1}<>({0})", name, implementationType);
+        }
+        return name;
+    }
+
     private String getDefaultValue(final BuilderProperty annotation) {
         if (annotation != null) {
             return annotation.defaultValue();
@@ -156,6 +497,18 @@ public class BuilderPropertyModel {
         }
     }
 
+    private int getInitialCapacity(final BuilderProperty annotation) {
+        if (annotation != null) {
+            return annotation.initialCapacity();
+        } else {
+            try {
+                return (Integer) BuilderProperty.class.getMethod("initialCapacity").getDefaultValue();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+
     private String getPrefix(final BuilderProperty annotation) {
         if (annotation != null) {
             return annotation.prefix();
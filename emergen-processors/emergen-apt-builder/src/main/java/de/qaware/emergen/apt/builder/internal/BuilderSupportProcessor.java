@@ -27,6 +27,9 @@ import de.qaware.emergen.apt.builder.BuilderProperty;
 import de.qaware.emergen.apt.builder.BuilderSupport;
 import de.qaware.emergen.core.FileObjectGenerator;
 import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
@@ -37,8 +40,12 @@ import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import javax.tools.JavaFileObject;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -49,45 +56,121 @@ import java.util.Set;
  * @author lreimer
  */
 @SupportedAnnotationTypes({"de.qaware.emergen.apt.builder.BuilderSupport"})
+@SupportedOptions({BuilderSupportProcessor.BUILDER_CHUNK_SIZE, BuilderSupportProcessor.BUILDER_LEAN,
+        BuilderSupportProcessor.BUILDER_RUNTIME})
 public class BuilderSupportProcessor extends AbstractProcessor {
 
+    /**
+     * The maximum number of property assignments in a single method of the generated builder. The build()
+     * method of wider models is split into chunked helper methods, so that each method stays below the
+     * JIT compilation and inlining limits. Set to 0 to disable chunking.
+     */
+    public static final String BUILDER_CHUNK_SIZE = "builder.chunkSize";
+
+    /**
+     * Generate compact builders to reduce the compile time of the generated sources. Lean builders have
+     * the same methods, but contain no comments and share one intern table implementation per package.
+     */
+    public static final String BUILDER_LEAN = "builder.lean";
+
+    /**
+     * Generate builders that extend the AbstractBuilder of the emergen-apt-builder-runtime artifact instead of
+     * containing their own using(), but() and build() scaffolding. The runtime artifact must be on the classpath.
+     * Ephemeral builders never use the runtime base.
+     */
+    public static final String BUILDER_RUNTIME = "builder.runtime";
+
     private static final String BUILDER_IMPLEMENTATION_TEMPLATE = "Builder.vm";
+    private static final String INTERN_TABLE_TEMPLATE = "EmerGenInternTable.vm";
+    private static final String INTERN_TABLE_NAME = "EmerGenInternTable";
+    private static final int DEFAULT_CHUNK_SIZE = 32;
+
+    private int chunkSize;
+    private boolean lean;
+    private boolean runtime;
+    private final Set<String> internTablePackages = new HashSet<>();
+    private int generatedBuilders;
+    private long generatedBytes;
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(BUILDER_IMPLEMENTATION_TEMPLATE, INTERN_TABLE_TEMPLATE);
+
+        chunkSize = parseChunkSize(processingEnv.getOptions().get(BUILDER_CHUNK_SIZE));
+        lean = Boolean.parseBoolean(processingEnv.getOptions().get(BUILDER_LEAN));
+        runtime = Boolean.parseBoolean(processingEnv.getOptions().get(BUILDER_RUNTIME));
+    }
+
+    private int parseChunkSize(final String option) {
+        if (option == null) {
+            return DEFAULT_CHUNK_SIZE;
+        }
+
+        try {
+            int value = Integer.parseInt(option.trim());
+            if (value >= 0) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Invalid " + BUILDER_CHUNK_SIZE + " option, expected 0 to disable chunking or a positive number: " + option);
+        return DEFAULT_CHUNK_SIZE;
+    }
 
     @Override
     public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() && generatedBuilders > 0) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, String.format(
+                    "Generated %d %sbuilders with %d bytes of source code", generatedBuilders, lean ? "lean " : "", generatedBytes));
+        }
         if (annotations.isEmpty()) {
             return false;
         }
 
         Map<String, Object> context = new HashMap<>();
 
-        FileObjectGenerator generator = FileObjectGeneratorFactory.getInstance(BUILDER_IMPLEMENTATION_TEMPLATE);
+        FileObjectGenerator generator = generators.getInstance(BUILDER_IMPLEMENTATION_TEMPLATE);
 
         Messager messager = processingEnv.getMessager();
         Filer filer = processingEnv.getFiler();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
 
         for (TypeElement typeElement : annotations) {
             for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
                 context.put("date", LocalDate.now().toString());
+                TypeModel typeModel = cache.get((TypeElement) element);
 
                 BuilderSupport builderSupportAnnotation = element.getAnnotation(BuilderSupport.class);
                 messager.printMessage(Diagnostic.Kind.NOTE, "Generating Builder support for " + element.getSimpleName().toString());
 
-                Map<Element, BuilderProperty> builderProperties = getBuilderProperties(element);
+                Map<Element, BuilderProperty> builderProperties = getBuilderProperties(typeModel);
                 if (builderProperties.isEmpty()) {
                     // nothing to generate
                     messager.printMessage(Diagnostic.Kind.WARNING, "No builder properties defined for " + element.getSimpleName().toString());
                 }
 
-                BuilderModel builderModel = new BuilderModel(element, builderSupportAnnotation, builderProperties);
+                BuilderModel builderModel = new BuilderModel(cache, typeModel, builderSupportAnnotation, builderProperties, chunkSize);
                 context.put("builder", builderModel);
 
                 PojoModel pojoModel = element.accept(new PojoModelElementVisitor(), new PojoModel());
                 context.put("pojo", pojoModel);
 
+                context.put("lean", lean);
+                context.put("runtime", runtime && !builderModel.isEphemeral());
+
                 try {
                     JavaFileObject interfaceFileObject = filer.createSourceFile(builderModel.getCanonicalImplementationName(), element);
-                    generator.generate(context, interfaceFileObject);
+                    generate(generator, context, interfaceFileObject);
+                    generatedBuilders++;
+                    if (lean && builderModel.isInterned() && internTablePackages.add(builderModel.getImplementationPackage())) {
+                        generateInternTable(builderModel.getImplementationPackage(), element);
+                    }
                 } catch (IOException e) {
                     throw new IllegalStateException(e);
                 }
@@ -100,6 +183,30 @@ public class BuilderSupportProcessor extends AbstractProcessor {
         return true;
     }
 
+    /**
+     * Generate the file content into memory first to keep track of the generated source size.
+     */
+    private void generate(final FileObjectGenerator generator, final Map<String, Object> context,
+                          final JavaFileObject javaFileObject) throws IOException {
+        StringWriter source = new StringWriter();
+        generator.generate(context, source);
+        try (Writer writer = javaFileObject.openWriter()) {
+            writer.write(source.toString());
+        }
+        generatedBytes += source.getBuffer().length();
+    }
+
+    /**
+     * Generate the package private intern table class shared by the lean interning builders of a package.
+     */
+    private void generateInternTable(final String packageName, final Element element) throws IOException {
+        Map<String, Object> context = new HashMap<>();
+        context.put("package", packageName);
+
+        JavaFileObject internTableFileObject = processingEnv.getFiler().createSourceFile(packageName + "." + INTERN_TABLE_NAME, element);
+        generate(generators.getInstance(INTERN_TABLE_TEMPLATE), context, internTableFileObject);
+    }
+
     /**
      * We support the latest source version of the current execution environment. This is the alternative
      * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
@@ -112,20 +219,21 @@ public class BuilderSupportProcessor extends AbstractProcessor {
     }
 
     /**
-     * Get the list of builder properties for the given element.
+     * Get the builder properties for the given type in declaration order.
      *
-     * @param element the element
-     * @return the list of BuilderProperty annotations
+     * @param typeModel the type model
+     * @return the map of property elements and their BuilderProperty annotations
      */
-    private Map<Element, BuilderProperty> getBuilderProperties(final Element element) {
-        Map<Element, BuilderProperty> builderProperties = new HashMap<>();
-        for (Element child : element.getEnclosedElements()) {
-            BuilderProperty builderProperty = child.getAnnotation(BuilderProperty.class);
+    private Map<Element, BuilderProperty> getBuilderProperties(final TypeModel typeModel) {
+        Map<Element, BuilderProperty> annotatedFields = typeModel.getAnnotatedMembers(BuilderProperty.class);
+        Map<Element, BuilderProperty> builderProperties = new LinkedHashMap<>();
+        for (Element child : typeModel.getMembers(ElementKind.FIELD)) {
+            BuilderProperty builderProperty = annotatedFields.get(child);
             if (builderProperty != null) {
                 if (builderProperty.include()) {
                     builderProperties.put(child, builderProperty);
                 }
-            } else if (child.getKind() == ElementKind.FIELD && !child.getModifiers().contains(Modifier.STATIC)) {
+            } else if (!child.getModifiers().contains(Modifier.STATIC)) {
                 builderProperties.put(child, null);
             }
         }
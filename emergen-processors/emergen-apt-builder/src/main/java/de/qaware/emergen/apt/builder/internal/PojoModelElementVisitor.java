@@ -86,11 +86,6 @@ public class PojoModelElementVisitor implements ElementVisitor<PojoModel, PojoMo
     public PojoModel visitType(TypeElement e, PojoModel pojoModel) {
         pojoModel.setSimpleName(e.getSimpleName().toString());
         pojoModel.setQualifiedName(e.getQualifiedName().toString());
-
-        for (Element child : e.getEnclosedElements()) {
-            child.accept(this, pojoModel);
-        }
-
         return pojoModel;
     }
 
@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the generated CollectionPojoBuilder adders')
+class CollectionPojoBuilderSpec extends Specification {
+
+    def "Adders fill the containers"() {
+        when:
+        def pojo = CollectionPojoBuilder.aCollectionPojo()
+                .addTag('a').addToTags('b').addAllTags(['c', 'd'])
+                .addAddress('home').addAllAddresses(['work', 'home'])
+                .addStatus('new')
+                .putEntry('one', 1).putAllEntries([two: 2])
+                .addValue(1).addAllValues(2, 3)
+                .build()
+
+        then:
+        pojo.tag == ['a']
+        pojo.tags == ['b', 'c', 'd']
+        pojo.addresses == ['home', 'work'] as Set
+        pojo.status == ['new']
+        pojo.entries == [one: 1, two: 2]
+        pojo.values == [1, 2, 3] as int[]
+    }
+
+    def "Adders append to containers passed to the builder"() {
+        given:
+        def tags = ['a']
+
+        when:
+        def pojo = CollectionPojoBuilder.aCollectionPojo().withTags(tags).addToTags('b')
+                .withValues([1, 2] as int[]).addValue(3).build()
+
+        then:
+        pojo.tags == ['a', 'b']
+        pojo.values == [1, 2, 3] as int[]
+    }
+
+    def "But copies the containers"() {
+        given:
+        def builder = CollectionPojoBuilder.aCollectionPojo().addTag('a').putEntry('one', 1).addValue(1)
+
+        when:
+        def copy = builder.but().addTag('b').putEntry('two', 2).addValue(2)
+        def original = builder.build()
+
+        then:
+        original.tag == ['a']
+        original.entries == [one: 1]
+        original.values == [1] as int[]
+        copy.build().tag == ['a', 'b']
+    }
+}
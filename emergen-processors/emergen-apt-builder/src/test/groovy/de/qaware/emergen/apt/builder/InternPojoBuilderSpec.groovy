@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the generated interning InternPojoBuilder')
+class InternPojoBuilderSpec extends Specification {
+
+    def "Equal builds return the interned instance"() {
+        given:
+        def hits = InternPojoBuilder.internHits()
+        def misses = InternPojoBuilder.internMisses()
+
+        when:
+        def first = InternPojoBuilder.aInternPojo().withName('first').withAnswer(42).build()
+        def second = InternPojoBuilder.aInternPojo().withName('first').withAnswer(42).build()
+        def other = InternPojoBuilder.aInternPojo().withName('first').withAnswer(4711).build()
+
+        then:
+        second.is(first)
+        !other.is(first)
+        InternPojoBuilder.internHits() == hits + 1
+        InternPojoBuilder.internMisses() == misses + 2
+    }
+
+    def "Distinct keys fill the intern table and evict the least recently used"() {
+        given:
+        def evictions = InternPojoBuilder.internEvictions()
+
+        when:
+        1000.times { InternPojoBuilder.aInternPojo().withName("name-$it").withAnswer(it).build() }
+
+        then: 'the keys are spread over all stripes'
+        InternPojoBuilder.internSize() >= 30
+        InternPojoBuilder.internSize() <= 32
+        InternPojoBuilder.internEvictions() - evictions >= 1000 - 32
+    }
+
+    def "Interned instances do not share containers with the builder"() {
+        given:
+        def builder = InternPojoBuilder.aInternPojo().withName('tagged').addTag('a').addValue(1L)
+
+        when:
+        def first = builder.build()
+        builder.addTag('b').addValue(2L)
+        def second = builder.build()
+
+        then:
+        first.tags == ['a']
+        first.values == [1L] as long[]
+        second.tags == ['a', 'b']
+        second.values == [1L, 2L] as long[]
+        InternPojoBuilder.aInternPojo().withName('tagged').addTag('a').addValue(1L).build().is(first)
+        InternPojoBuilder.aInternPojo().withName('tagged').addTag('a').addTag('b').addAllValues(1L, 2L).build().is(second)
+    }
+
+    def "Interned containers are unmodifiable"() {
+        given:
+        def interned = InternPojoBuilder.aInternPojo().withName('frozen').addTag('a').build()
+
+        when:
+        interned.tags.add('b')
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "Changing an interned array does not corrupt the intern table"() {
+        given:
+        def interned = InternPojoBuilder.aInternPojo().withName('array').withValues([1L, 2L] as long[]).build()
+
+        when:
+        interned.values[0] = 9L
+
+        then:
+        InternPojoBuilder.aInternPojo().withName('array').withValues([1L, 2L] as long[]).build().is(interned)
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.builder
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the generated pooled PooledPojoBuilder')
+class PooledPojoBuilderSpec extends Specification {
+
+    def "Pooled builder is reused per thread"() {
+        expect:
+        PooledPojoBuilder.pooled().is(PooledPojoBuilder.pooled())
+    }
+
+    def "Pooled builder state is cleared between uses"() {
+        given:
+        def first = PooledPojoBuilder.pooled()
+                .withName('first').withAnswer(4711).withActive(true)
+                .addTag('a').addAllValues(1L, 2L, 3L)
+                .build()
+
+        when:
+        def second = PooledPojoBuilder.pooled().build()
+
+        then:
+        !second.is(first)
+        second.name == null
+        second.answer == 42
+        !second.active
+        second.tags == null
+        second.values == null
+
+        and: 'the first instance is unchanged'
+        first.name == 'first'
+        first.answer == 4711
+        first.active
+        first.tags == ['a']
+        first.values == [1L, 2L, 3L] as long[]
+    }
+
+    def "Reset clears instance set via using"() {
+        given:
+        def existing = new PooledPojo()
+        PooledPojoBuilder.pooled().using(existing).withName('existing').build()
+
+        when:
+        def created = PooledPojoBuilder.pooled().withName('created').build()
+
+        then:
+        !created.is(existing)
+        existing.name == 'existing'
+        created.name == 'created'
+    }
+
+    def "Pooled builders are thread confined"() {
+        given:
+        def builder = PooledPojoBuilder.pooled()
+        def other = null
+
+        when:
+        def thread = Thread.start { other = PooledPojoBuilder.pooled() }
+        thread.join()
+
+        then:
+        other != null
+        !other.is(builder)
+    }
+}
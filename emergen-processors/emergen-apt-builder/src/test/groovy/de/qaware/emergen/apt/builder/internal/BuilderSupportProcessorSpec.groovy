@@ -29,6 +29,7 @@ import spock.lang.Specification
 import spock.lang.Title
 
 import javax.lang.model.SourceVersion
+import javax.tools.StandardLocation
 
 import static com.google.testing.compile.Compiler.javac
 
@@ -80,4 +81,271 @@ class BuilderSupportProcessorSpec extends Specification {
         compilation.status() == Compilation.Status.SUCCESS
         compilation.generatedSourceFile("de.qaware.emergen.apt.builder.ComplexPojoBuilder").isPresent()
     }
+
+    def "Annotation processing WidePojo with chunked build method"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .withOptions(options)
+                .compile(JavaFileObjects.forSourceString("test.WidePojo", widePojo(100)))
+
+        when:
+        def builder = compilation.generatedSourceFile("test.WidePojoBuilder").get().getCharContent(true).toString()
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        builder.contains("private void assign3(final WidePojo instance) {") == chunked
+        builder.contains("assign4") == false
+        builder.count("instance.setField") == 100
+
+        where:
+        options                      || chunked
+        []                           || true
+        ["-Abuilder.chunkSize=0"]    || false
+        ["-Abuilder.chunkSize=100"]  || false
+    }
+
+    def "Annotation processing WidePojo with invalid chunk size"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .withOptions("-Abuilder.chunkSize=${chunkSize}")
+                .compile(JavaFileObjects.forSourceString("test.WidePojo", widePojo(10)))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().any { it.getMessage(null).startsWith("Invalid builder.chunkSize option") }
+
+        where:
+        chunkSize << ["-1", "many"]
+    }
+
+    def "Annotation processing EphemeralPojo"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .compile(JavaFileObjects.forSourceString("test.EphemeralPojo", """
+                package test;
+
+                @de.qaware.emergen.apt.builder.BuilderSupport(ephemeral = true)
+                public class EphemeralPojo {
+                    private String hello;
+                    @de.qaware.emergen.apt.builder.BuilderProperty(propertyAccess = de.qaware.emergen.apt.builder.BuilderProperty.AccessStrategy.DIRECT)
+                    public int counter;
+
+                    public void setHello(String hello) {
+                        this.hello = hello;
+                    }
+                }
+                """))
+
+        when:
+        def builder = compilation.generatedSourceFile("test.EphemeralPojoBuilder").get().getCharContent(true).toString()
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        builder.contains("public final class EphemeralPojoBuilder {")
+        builder.contains("EphemeralPojo instance = new EphemeralPojo();")
+        !builder.contains("Cloneable")
+        !builder.contains(" but()")
+        !builder.contains(" using(")
+        builder.indexOf("String hello") < builder.indexOf("int counter")
+    }
+
+    def "Annotation processing CollectionPojo with adders"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .compile(JavaFileObjects.forSourceString("test.CollectionPojo", """
+                package test;
+
+                import de.qaware.emergen.apt.builder.BuilderProperty;
+                import de.qaware.emergen.apt.builder.BuilderSupport;
+
+                @BuilderSupport
+                public class CollectionPojo {
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT, initialCapacity = 16)
+                    public java.util.List<String> names;
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT, initialCapacity = 12)
+                    public java.util.Map<String, Integer> scores;
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+                    public java.util.SortedSet<String> tags;
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+                    public int[] values;
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+                    public java.util.List<?> wildcards;
+                }
+                """), JavaFileObjects.forSourceString("test.CollectionPojoUser", """
+                package test;
+
+                public class CollectionPojoUser {
+                    public CollectionPojo create() {
+                        return CollectionPojoBuilder.aCollectionPojo()
+                                .addName("a").addAllNames(java.util.Arrays.asList("b", "c"))
+                                .putScore("a", 1).putAllScores(java.util.Collections.singletonMap("b", 2))
+                                .addTag("x")
+                                .addValue(1).addAllValues(2, 3)
+                                .build();
+                    }
+                }
+                """))
+
+        when:
+        def builder = compilation.generatedSourceFile("test.CollectionPojoBuilder").get().getCharContent(true).toString()
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        builder.contains("new java.util.ArrayList<>(16)")
+        builder.contains("new java.util.LinkedHashMap<>(17)")
+        builder.contains("new java.util.TreeSet<>()")
+        builder.contains("private int valuesSize = -1;")
+        builder.contains("java.util.Arrays.copyOf(values, valuesSize)")
+        !builder.contains("addWildcard")
+    }
+
+    def "Annotation processing InternPojo with interning build method"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .compile(JavaFileObjects.forSourceString("test.InternPojo", """
+                package test;
+
+                import de.qaware.emergen.apt.builder.BuilderProperty;
+                import de.qaware.emergen.apt.builder.BuilderSupport;
+
+                @BuilderSupport(intern = true, internCapacity = 100)
+                public class InternPojo {
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+                    public String name;
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+                    public double weight;
+                    @BuilderProperty(propertyAccess = BuilderProperty.AccessStrategy.DIRECT)
+                    public int[] codes;
+
+                    public static long statistics() {
+                        return InternPojoBuilder.internHits() + InternPojoBuilder.internMisses()
+                                + InternPojoBuilder.internEvictions() + InternPojoBuilder.internSize();
+                    }
+                }
+                """))
+
+        when:
+        def builder = compilation.generatedSourceFile("test.InternPojoBuilder").get().getCharContent(true).toString()
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        builder.contains("private static final int INTERN_STRIPE_CAPACITY = 7;")
+        builder.contains("private static final int INTERN_STRIPE_SHIFT = 28;")
+        builder.contains("INTERN_TABLE[(key.hash * INTERN_STRIPE_MIX) >>> INTERN_STRIPE_SHIFT]")
+        builder.contains("private static final class InternKey {")
+        builder.contains("&& Double.compare(weight, other.weight) == 0")
+        builder.contains("&& java.util.Objects.deepEquals(codes, other.codes)")
+        builder.contains("stripe.putIfAbsent(key, instance)")
+    }
+
+    def "Annotation processing InternPojo in lean mode"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .withOptions("-Abuilder.lean=true")
+                .compile(JavaFileObjects.forSourceString("test.InternPojo", """
+                package test;
+
+                @de.qaware.emergen.apt.builder.BuilderSupport(intern = true)
+                public class InternPojo {
+                    private String hello;
+
+                    public void setHello(String hello) {
+                        this.hello = hello;
+                    }
+                }
+                """))
+
+        when:
+        def builder = compilation.generatedSourceFile("test.InternPojoBuilder").get().getCharContent(true).toString()
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile("test.EmerGenInternTable").get().getCharContent(true).toString()
+                .contains("return stripes[(key.hashCode() * 0x9E3779B9) >>> stripeShift];")
+        compilation.notes().any { it.getMessage(null).startsWith("Generated 1 lean builders with ") }
+        builder.contains("new EmerGenInternTable<>(16, 64)")
+        !builder.contains("/**")
+        !builder.contains("//")
+        builder.contains("public InternPojoBuilder but()")
+    }
+
+    def "Lean intern table spreads keys over all stripes"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .withOptions("-Abuilder.lean=true")
+                .compile(JavaFileObjects.forSourceString("test.InternPojo", """
+                package test;
+
+                @de.qaware.emergen.apt.builder.BuilderSupport(intern = true, internCapacity = 32)
+                public class InternPojo {
+                    @de.qaware.emergen.apt.builder.BuilderProperty(propertyAccess = de.qaware.emergen.apt.builder.BuilderProperty.AccessStrategy.DIRECT)
+                    public String name;
+                }
+                """))
+        def builderClass = loadGenerated(compilation, "test.InternPojoBuilder")
+
+        when:
+        1000.times { builderClass.aInternPojo().withName("name-$it").build() }
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        builderClass.internSize() >= 30
+        builderClass.internSize() <= 32
+        builderClass.internEvictions() >= 1000 - 32
+    }
+
+    def "Annotation processing TestPojo with builder runtime base"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new BuilderSupportProcessor())
+                .withOptions("-Abuilder.runtime=true")
+                .compile(JavaFileObjects.forSourceString("test.TestPojo", TEST_POJO))
+
+        when:
+        def builder = compilation.generatedSourceFile("test.TestPojoBuilder").get().getCharContent(true).toString()
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        builder.contains("public class TestPojoBuilder extends AbstractBuilder<TestPojo, TestPojoBuilder> {")
+        builder.contains("protected TestPojo initialize(final TestPojo existing) {")
+        !builder.contains(" but()")
+        !builder.contains(" using(")
+        !builder.contains(" build()")
+    }
+
+    static Class<?> loadGenerated(Compilation compilation, String className) {
+        def classLoader = new ClassLoader(BuilderSupportProcessorSpec.classLoader) {
+            @Override
+            protected Class<?> findClass(String name) throws ClassNotFoundException {
+                def classFile = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, name.replace('.', '/') + '.class')
+                if (!classFile.isPresent()) {
+                    throw new ClassNotFoundException(name)
+                }
+                byte[] bytes = classFile.get().openInputStream().bytes
+                defineClass(name, bytes, 0, bytes.length)
+            }
+        }
+        classLoader.loadClass(className)
+    }
+
+    static String widePojo(int width) {
+        def fields = (0..<width).collect { "    private int field$it;" }.join("\n")
+        def setters = (0..<width).collect { "    public void setField$it(int value) { this.field$it = value; }" }.join("\n")
+        """
+        package test;
+
+        @de.qaware.emergen.apt.builder.BuilderSupport
+        public class WidePojo {
+        $fields
+        $setters
+        }
+        """
+    }
 }
@@ -53,7 +53,7 @@ class PojoModelSpec extends Specification {
         1 * element.kind >> ElementKind.CLASS
         1 * element.getSimpleName() >> new TestName(name: "Class")
         1 * element.getQualifiedName() >> new TestName(name: "package.Class")
-        1 * element.getEnclosedElements() >> Collections.emptyList()
+        0 * element.getEnclosedElements()
 
         model
         model.simpleName == 'Class'
@@ -0,0 +1,206 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.runtime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent, size bounded cache store with least recently used eviction and optional expiration after
+ * write. The entries are partitioned into segments by key hash, each segment is an access ordered map
+ * guarded by its own lock, so concurrent lookups of different keys rarely contend. The segment capacities
+ * add up to the maximum size. Hit, miss and eviction counts are kept in striped counters.
+ * <p>
+ * Null keys and values are not supported.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @author lreimer
+ */
+public final class CacheStore<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long expireAfterWriteNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Create a cache store without expiration.
+     *
+     * @param maximumSize the maximum number of entries
+     */
+    public CacheStore(final int maximumSize) {
+        this(maximumSize, 0L, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Create a cache store.
+     *
+     * @param maximumSize      the maximum number of entries
+     * @param expireAfterWrite the time after which entries expire, or 0 for no expiration
+     * @param unit             the unit of the expiration time
+     */
+    @SuppressWarnings("unchecked")
+    public CacheStore(final int maximumSize, final long expireAfterWrite, final TimeUnit unit) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive: " + maximumSize);
+        }
+        if (expireAfterWrite < 0) {
+            throw new IllegalArgumentException("Expiration must not be negative: " + expireAfterWrite);
+        }
+        // small stores use a single segment, for exact least recently used eviction
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(MAX_SEGMENTS, maximumSize / MIN_SEGMENT_CAPACITY)));
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment<>(capacity, evictions);
+        }
+        this.segmentMask = segmentCount - 1;
+        this.expireAfterWriteNanos = unit.toNanos(expireAfterWrite);
+    }
+
+    /**
+     * Returns the cached value of the key.
+     *
+     * @param key the key
+     * @return the value, or null if there is no value or it is expired
+     */
+    public V get(final K key) {
+        Segment<K, V> segment = segmentFor(key);
+        CacheEntry<V> entry;
+        synchronized (segment) {
+            entry = segment.get(key);
+            if (entry != null && expireAfterWriteNanos > 0 && System.nanoTime() - entry.writeNanos >= expireAfterWriteNanos) {
+                segment.remove(key);
+                evictions.increment();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Cache the value of the key, evicting the least recently used entry of its segment if full.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(final K key, final V value) {
+        CacheEntry<V> entry = new CacheEntry<>(value, expireAfterWriteNanos > 0 ? System.nanoTime() : 0L);
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    public void invalidate(final K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of entries, including expired ones not yet removed.
+     *
+     * @return the size
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private Segment<K, V> segmentFor(final K key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return segments[(h >>> 16) & segmentMask];
+    }
+
+    /**
+     * A cached value with its write time.
+     */
+    private static final class CacheEntry<V> {
+        private final V value;
+        private final long writeNanos;
+
+        private CacheEntry(final V value, final long writeNanos) {
+            this.value = value;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    /**
+     * An access ordered map removing its eldest entry when exceeding its capacity.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, CacheEntry<V>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final transient LongAdder evictions;
+
+        private Segment(final int capacity, final LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadLocalRandom
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+@Title('Test specification for the cache store')
+class CacheStoreSpec extends Specification {
+
+    def "Evict the least recently used entry"() {
+        given:
+        def store = new CacheStore<String, Integer>(2)
+
+        when:
+        store.put('a', 1)
+        store.put('b', 2)
+        store.get('a')
+        store.put('c', 3)
+
+        then:
+        store.get('a') == 1
+        store.get('b') == null
+        store.get('c') == 3
+        store.size() == 2
+        store.stats().hitCount == 3
+        store.stats().missCount == 1
+        store.stats().evictionCount == 1
+        store.stats().hitRate == 0.75d
+    }
+
+    def "Expire entries after write"() {
+        given:
+        def store = new CacheStore<String, Integer>(10, 50, TimeUnit.MILLISECONDS)
+
+        when:
+        store.put('a', 1)
+
+        then:
+        store.get('a') == 1
+
+        when:
+        Thread.sleep(100)
+
+        then:
+        store.get('a') == null
+        store.size() == 0
+        store.stats().evictionCount == 1
+    }
+
+    def "Invalidate entries"() {
+        given:
+        def store = new CacheStore<String, Integer>(100)
+        store.put('a', 1)
+        store.put('b', 2)
+
+        when:
+        store.invalidate('a')
+
+        then:
+        store.get('a') == null
+        store.size() == 1
+
+        when:
+        store.invalidateAll()
+
+        then:
+        store.size() == 0
+    }
+
+    def "Reject invalid configurations"() {
+        when:
+        new CacheStore<String, Integer>(size, ttl, TimeUnit.SECONDS)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        size | ttl
+        0    | 0L
+        10   | -1L
+    }
+
+    def "Stay bounded and consistent under concurrent access"() {
+        given:
+        def store = new CacheStore<Integer, Integer>(1000)
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+        def requests = new AtomicLong()
+        def wrong = new AtomicLong()
+
+        when:
+        8.times {
+            executor.submit {
+                start.await()
+                def random = ThreadLocalRandom.current()
+                50000.times {
+                    int key = random.nextInt(4000)
+                    def value = store.get(key)
+                    requests.incrementAndGet()
+                    if (value == null) {
+                        store.put(key, key * 2)
+                    } else if (value != key * 2) {
+                        wrong.incrementAndGet()
+                    }
+                }
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+        executor.awaitTermination(60, TimeUnit.SECONDS)
+
+        then:
+        wrong.get() == 0
+        store.size() <= 1000
+        store.stats().requestCount == requests.get()
+        store.stats().evictionCount > 0
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput benchmark comparing the generated caching decorator with a synchronized access ordered
+ * LinkedHashMap keyed by argument lists, and with the uncached service. Run with different
+ * <code>-t</code> values to compare the scalability under contention.
+ *
+ * @author lreimer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "CHF", "JPY", "SEK", "NOK", "DKK"};
+    private static final int MAXIMUM_SIZE = 4096;
+
+    private final ExchangeService uncached = CacheBenchmark::compute;
+    private final ExchangeService generated = new ExchangeServiceCachingDecorator(uncached);
+    private final ExchangeService synchronizedMap = synchronizedMap(uncached);
+
+    private static Double compute(final String currency, final int day) {
+        double rate = currency.hashCode();
+        for (int i = 0; i < 64; i++) {
+            rate = Math.sqrt(rate * 31 + day + i);
+        }
+        return rate;
+    }
+
+    private static ExchangeService synchronizedMap(final ExchangeService delegate) {
+        Map<Object, Double> cache = Collections.synchronizedMap(new LinkedHashMap<Object, Double>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Double> eldest) {
+                return size() > MAXIMUM_SIZE;
+            }
+        });
+        return (currency, day) -> {
+            Object key = Arrays.asList(currency, day);
+            Double value = cache.get(key);
+            if (value == null) {
+                value = delegate.rate(currency, day);
+                cache.put(key, value);
+            }
+            return value;
+        };
+    }
+
+    @Benchmark
+    public Double uncached() {
+        return invoke(uncached);
+    }
+
+    @Benchmark
+    public Double generated() {
+        return invoke(generated);
+    }
+
+    @Benchmark
+    public Double synchronizedMap() {
+        return invoke(synchronizedMap);
+    }
+
+    private static Double invoke(final ExchangeService service) {
+        int next = ThreadLocalRandom.current().nextInt(CURRENCIES.length * 512);
+        return service.rate(CURRENCIES[next & 7], next >>> 3);
+    }
+}
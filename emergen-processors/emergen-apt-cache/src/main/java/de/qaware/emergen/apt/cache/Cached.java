@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache;
+
+import java.lang.annotation.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An annotation to memoize the results of pure interface methods. For each interface with annotated methods
+ * a final CachingDecorator class implementing the interface is generated in the same package. The annotated
+ * methods look up their result in a size bounded least recently used cache store first, keyed by their
+ * arguments. Null results are not cached, invocations with a single null argument are delegated without
+ * caching. The methods must return a value and must not be generic.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.METHOD})
+public @interface Cached {
+    /**
+     * The maximum number of cached results.
+     *
+     * @return the maximum size
+     */
+    int maximumSize() default 1024;
+
+    /**
+     * The time after which cached results expire, 0 for no expiration.
+     *
+     * @return the expiration time
+     */
+    long expireAfterWrite() default 0;
+
+    /**
+     * The unit of the expiration time.
+     *
+     * @return the time unit
+     */
+    TimeUnit timeUnit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,216 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.internal;
+
+import de.qaware.emergen.apt.cache.Cached;
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated caching decorator of an interface. Used during generation.
+ *
+ * @author lreimer
+ */
+public class CacheDecoratorModel {
+    private static final String DECORATOR_SUFFIX = "CachingDecorator";
+    private static final String OBJECT = "java.lang.Object";
+
+    private final String packageName;
+    private final String interfaceName;
+    private final String decoratorName;
+    private final String typeParameters;
+    private final String typeArguments;
+    private final List<CacheMethodModel> methods = new ArrayList<>();
+
+    /**
+     * Initialize the decorator model with all abstract and default methods of the interface, including
+     * the inherited ones. The Cached annotated methods are cached, all others are delegated.
+     *
+     * @param typeModel the type model of the interface
+     * @param elements  the element utilities
+     * @param types     the type utilities
+     */
+    CacheDecoratorModel(final TypeModel typeModel, final Elements elements, final Types types) {
+        TypeElement element = typeModel.getElement();
+        this.packageName = typeModel.getPackageName();
+        this.interfaceName = typeModel.getQualifiedName();
+        String binaryName = elements.getBinaryName(element).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        this.decoratorName = simpleName.replace('$', '_').concat(DECORATOR_SUFFIX);
+        this.typeParameters = typeParameters(element.getTypeParameters());
+        this.typeArguments = element.getTypeParameters().isEmpty() ? "" : element.getTypeParameters().stream()
+                .map(p -> p.getSimpleName().toString()).collect(Collectors.joining(", ", "<", ">"));
+
+        DeclaredType declaredType = (DeclaredType) element.asType();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            if (method.getModifiers().contains(Modifier.STATIC)
+                    || method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            methods.add(method(method, methodType, types));
+        }
+
+        // overloaded cached methods get their index appended to the names
+        List<CacheMethodModel> cachedMethods = getCachedMethods();
+        Map<String, Long> overloads = cachedMethods.stream()
+                .collect(Collectors.groupingBy(CacheMethodModel::getMethodName, Collectors.counting()));
+        for (int i = 0; i < cachedMethods.size(); i++) {
+            CacheMethodModel method = cachedMethods.get(i);
+            boolean overloaded = overloads.get(method.getMethodName()) > 1;
+            String constantName = StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(method.getMethodName()), '_')
+                    .toUpperCase(Locale.ENGLISH);
+            method.setCache(i, overloaded ? constantName + "_" + i : constantName,
+                    overloaded ? method.getMethodName() + i : method.getMethodName(),
+                    method.getKeyFields().size() == 1 ? boxed(method.getKeyFields().get(0).getType()) : null,
+                    boxed(method.getReturnType()));
+        }
+    }
+
+    private static CacheMethodModel method(final ExecutableElement method, final ExecutableType methodType, final Types types) {
+        List<String> parameters = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        List<? extends VariableElement> parameterElements = method.getParameters();
+        for (int i = 0; i < parameterElements.size(); i++) {
+            String parameterName = parameterElements.get(i).getSimpleName().toString();
+            String parameterType = methodType.getParameterTypes().get(i).toString();
+            if (method.isVarArgs() && i == parameterElements.size() - 1) {
+                parameterType = parameterType.substring(0, parameterType.length() - 2).concat("...");
+            }
+            parameters.add("final " + parameterType + " " + parameterName);
+            arguments.add(parameterName);
+        }
+        String throwsClause = methodType.getThrownTypes().isEmpty() ? "" : methodType.getThrownTypes().stream()
+                .map(TypeMirror::toString).collect(Collectors.joining(", ", " throws ", ""));
+
+        CacheMethodModel methodModel = new CacheMethodModel(method.getSimpleName().toString(), typeParameters(method.getTypeParameters()),
+                methodType.getReturnType().toString(), String.join(", ", parameters), String.join(", ", arguments), throwsClause,
+                method.getAnnotation(Cached.class));
+        if (methodModel.isCached()) {
+            for (int i = 0; i < parameterElements.size(); i++) {
+                methodModel.addKeyField(new CacheKeyFieldModel(parameterElements.get(i).getSimpleName().toString(),
+                        methodType.getParameterTypes().get(i), types));
+            }
+        }
+        return methodModel;
+    }
+
+    private static String boxed(final String type) {
+        switch (type) {
+            case "boolean":
+            case "byte":
+            case "short":
+            case "long":
+            case "float":
+            case "double":
+                return "java.lang." + StringUtils.capitalize(type);
+            case "char":
+                return "java.lang.Character";
+            case "int":
+                return "java.lang.Integer";
+            default:
+                return type;
+        }
+    }
+
+    private static String typeParameters(final List<? extends TypeParameterElement> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return "";
+        }
+        return typeParameters.stream().map(p -> {
+            List<String> bounds = p.getBounds().stream().map(TypeMirror::toString)
+                    .filter(bound -> !OBJECT.equals(bound)).collect(Collectors.toList());
+            return bounds.isEmpty() ? p.getSimpleName().toString() : p.getSimpleName() + " extends " + String.join(" & ", bounds);
+        }).collect(Collectors.joining(", ", "<", ">"));
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    public String getDecoratorName() {
+        return decoratorName;
+    }
+
+    /**
+     * Returns the type parameter declaration of the interface, e.g. {@code <T extends Number>}.
+     *
+     * @return the type parameters, may be empty
+     */
+    public String getTypeParameters() {
+        return typeParameters;
+    }
+
+    /**
+     * Returns the type arguments to implement the interface, e.g. {@code <T>}.
+     *
+     * @return the type arguments, may be empty
+     */
+    public String getTypeArguments() {
+        return typeArguments;
+    }
+
+    public List<CacheMethodModel> getMethods() {
+        return methods;
+    }
+
+    public List<CacheMethodModel> getCachedMethods() {
+        return methods.stream().filter(CacheMethodModel::isCached).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns true if a cached method has no arguments, these share a constant key.
+     *
+     * @return true if the constant key is required
+     */
+    public boolean isNoArguments() {
+        return methods.stream().anyMatch(m -> m.isCached() && m.getKeyFields().isEmpty());
+    }
+
+    /**
+     * Returns the fully qualified name of the decorator.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalDecoratorName() {
+        return packageName.isEmpty() ? decoratorName : packageName + "." + decoratorName;
+    }
+}
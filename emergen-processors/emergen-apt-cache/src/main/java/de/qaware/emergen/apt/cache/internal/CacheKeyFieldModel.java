@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.internal;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+
+/**
+ * The data model bean to represent an argument of a cached method as field of its composite key.
+ * Used during generation.
+ *
+ * @author lreimer
+ */
+public class CacheKeyFieldModel {
+    private final String name;
+    private final String type;
+    private final TypeKind kind;
+
+    /**
+     * Initialize the key field model, the field type is the erasure of the parameter type.
+     *
+     * @param name  the parameter name
+     * @param type  the parameter type
+     * @param types the type utilities
+     */
+    CacheKeyFieldModel(final String name, final TypeMirror type, final Types types) {
+        this.name = name;
+        this.type = types.erasure(type).toString();
+        this.kind = type.getKind();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isPrimitive() {
+        return kind.isPrimitive();
+    }
+
+    /**
+     * Returns the expression for the value held by the key. Arrays are copied, so that changes of the
+     * argument after the invocation can not corrupt the cached key.
+     *
+     * @return the field value expression
+     */
+    public String getValue() {
+        if (kind == TypeKind.ARRAY) {
+            return "(" + name + " == null) ? null : " + name + ".clone()";
+        }
+        return name;
+    }
+
+    /**
+     * Returns the expression to compute the hash code of the field without boxing.
+     *
+     * @return the hash expression
+     */
+    public String getHashCode() {
+        if (kind.isPrimitive()) {
+            return wrapper() + ".hashCode(" + name + ")";
+        } else if (kind == TypeKind.ARRAY) {
+            return "java.util.Arrays.hashCode(" + name + ")";
+        }
+        return "java.util.Objects.hashCode(" + name + ")";
+    }
+
+    /**
+     * Returns the expression to compare the field with the field of the other key.
+     *
+     * @param other the other key
+     * @return the comparison expression
+     */
+    public String equal(final String other) {
+        String otherField = other + "." + name;
+        switch (kind) {
+            case FLOAT:
+                return "Float.floatToIntBits(" + name + ") == Float.floatToIntBits(" + otherField + ")";
+            case DOUBLE:
+                return "Double.doubleToLongBits(" + name + ") == Double.doubleToLongBits(" + otherField + ")";
+            case ARRAY:
+                return "java.util.Arrays.equals(" + name + ", " + otherField + ")";
+            case DECLARED:
+            case TYPEVAR:
+                return "java.util.Objects.equals(" + name + ", " + otherField + ")";
+            default:
+                return name + " == " + otherField;
+        }
+    }
+
+    private String wrapper() {
+        switch (kind) {
+            case CHAR:
+                return "Character";
+            case INT:
+                return "Integer";
+            default:
+                return StringUtils.capitalize(type);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.internal;
+
+import de.qaware.emergen.apt.cache.Cached;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data model bean to represent a decorated method, and its cache if the method is cached. The types
+ * and parameter lists are rendered as Java source. Used during generation.
+ *
+ * @author lreimer
+ */
+public class CacheMethodModel {
+    private final String methodName;
+    private final String typeParameters;
+    private final String returnType;
+    private final String parameters;
+    private final String arguments;
+    private final String throwsClause;
+    private final Cached cached;
+    private final List<CacheKeyFieldModel> keyFields = new ArrayList<>();
+
+    private int index;
+    private String constantName;
+    private String cacheName;
+    private String keyClassName;
+    private String keyType;
+    private String valueType;
+
+    /**
+     * Initialize the method model.
+     *
+     * @param methodName     the simple method name
+     * @param typeParameters the type parameter declaration, may be empty
+     * @param returnType     the return type
+     * @param parameters     the parameter declarations
+     * @param arguments      the argument list of the delegate call
+     * @param throwsClause   the throws clause, may be empty
+     * @param cached         the cache annotation, or null if the method is not cached
+     */
+    CacheMethodModel(final String methodName, final String typeParameters, final String returnType, final String parameters,
+                     final String arguments, final String throwsClause, final Cached cached) {
+        this.methodName = methodName;
+        this.typeParameters = typeParameters;
+        this.returnType = returnType;
+        this.parameters = parameters;
+        this.arguments = arguments;
+        this.throwsClause = throwsClause;
+        this.cached = cached;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getTypeParameters() {
+        return typeParameters;
+    }
+
+    public String getReturnType() {
+        return returnType;
+    }
+
+    public boolean isVoid() {
+        return "void".equals(returnType);
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public String getArguments() {
+        return arguments;
+    }
+
+    public String getThrowsClause() {
+        return throwsClause;
+    }
+
+    public boolean isCached() {
+        return cached != null;
+    }
+
+    public int getMaximumSize() {
+        return cached.maximumSize();
+    }
+
+    public long getExpireAfterWrite() {
+        return cached.expireAfterWrite();
+    }
+
+    public String getTimeUnit() {
+        return cached.timeUnit().name();
+    }
+
+    /**
+     * Returns the index of the cached method, used to query its statistics.
+     *
+     * @return the cache index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the name of the cache index constant, e.g. FIND_BY_ID.
+     *
+     * @return the constant name
+     */
+    public String getConstantName() {
+        return constantName;
+    }
+
+    /**
+     * Returns the name of the cache store field, e.g. findByIdCache.
+     *
+     * @return the field name
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * Returns the name of the generated composite key class, e.g. FindByIdKey.
+     *
+     * @return the key class name
+     */
+    public String getKeyClassName() {
+        return keyClassName;
+    }
+
+    /**
+     * Returns true if a composite key class is generated, that is for two or more arguments or for an array argument.
+     *
+     * @return true if there is a key class
+     */
+    public boolean isKeyClass() {
+        return keyFields.size() > 1 || (keyFields.size() == 1 && keyFields.get(0).getType().endsWith("[]"));
+    }
+
+    /**
+     * Returns true if the key is a single reference argument, which may be null. Such invocations bypass
+     * the cache store, which does not support null keys.
+     *
+     * @return true if the key may be null
+     */
+    public boolean isNullableKey() {
+        return keyFields.size() == 1 && !isKeyClass() && !keyFields.get(0).isPrimitive();
+    }
+
+    /**
+     * Returns the key type of the cache store, the boxed argument type for single arguments.
+     *
+     * @return the key type
+     */
+    public String getKeyType() {
+        if (keyFields.isEmpty()) {
+            return "Object";
+        }
+        return isKeyClass() ? keyClassName : keyType;
+    }
+
+    /**
+     * Returns the expression to create the key of an invocation.
+     *
+     * @return the key expression
+     */
+    public String getKeyExpression() {
+        if (keyFields.isEmpty()) {
+            return "NO_ARGUMENTS";
+        }
+        return isKeyClass() ? "new " + keyClassName + "(" + arguments + ")" : keyFields.get(0).getName();
+    }
+
+    public List<CacheKeyFieldModel> getKeyFields() {
+        return keyFields;
+    }
+
+    /**
+     * Returns the value type of the cache store, the boxed return type.
+     *
+     * @return the value type
+     */
+    public String getValueType() {
+        return valueType;
+    }
+
+    void addKeyField(final CacheKeyFieldModel keyField) {
+        keyFields.add(keyField);
+    }
+
+    void setCache(final int index, final String constantName, final String baseName, final String keyType, final String valueType) {
+        this.index = index;
+        this.constantName = constantName;
+        this.cacheName = baseName + "Cache";
+        this.keyClassName = StringUtils.capitalize(baseName) + "Key";
+        this.keyType = keyType;
+        this.valueType = valueType;
+    }
+}
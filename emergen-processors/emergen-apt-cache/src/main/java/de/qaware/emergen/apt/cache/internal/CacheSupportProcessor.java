@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.internal;
+
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate caching decorators for all interfaces
+ * with Cached annotated methods. The annotated methods are aggregated by their interface.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.cache.Cached"})
+public class CacheSupportProcessor extends AbstractProcessor {
+
+    private static final String DECORATOR_TEMPLATE = "CachingDecorator.vm";
+
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(DECORATOR_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        Messager messager = processingEnv.getMessager();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        // aggregate the cached methods by their interface
+        Set<TypeElement> interfaces = new LinkedHashSet<>();
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                ExecutableElement method = (ExecutableElement) element;
+                String error = validate(method);
+                if (error != null) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, error, method);
+                    continue;
+                }
+                interfaces.add((TypeElement) method.getEnclosingElement());
+            }
+        }
+
+        FileObjectGenerator generator = generators.getInstance(DECORATOR_TEMPLATE);
+        Filer filer = processingEnv.getFiler();
+        for (TypeElement anInterface : interfaces) {
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generating caching decorator for " + anInterface.getSimpleName().toString());
+
+            CacheDecoratorModel decoratorModel = new CacheDecoratorModel(cache.get(anInterface), processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+            Map<String, Object> context = new HashMap<>();
+            context.put("decorator", decoratorModel);
+
+            try {
+                JavaFileObject javaFileObject = filer.createSourceFile(decoratorModel.getCanonicalDecoratorName(), anInterface);
+                try (Writer writer = javaFileObject.openWriter()) {
+                    generator.generate(context, writer);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        return true;
+    }
+
+    private static String validate(final ExecutableElement method) {
+        Element enclosing = method.getEnclosingElement();
+        if (enclosing.getKind() != ElementKind.INTERFACE || enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+            return "Cached is only supported on methods of non private interfaces";
+        }
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            return "Cached methods must not be static";
+        }
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            return "Cached methods must return a value";
+        }
+        if (!method.getTypeParameters().isEmpty()) {
+            return "Cached methods must not be generic";
+        }
+        return null;
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
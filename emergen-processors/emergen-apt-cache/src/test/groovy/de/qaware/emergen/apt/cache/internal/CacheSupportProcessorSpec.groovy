@@ -0,0 +1,226 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.cache.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.cache.PriceService
+import de.qaware.emergen.apt.cache.PriceServiceCachingDecorator
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the cache support annotation processor')
+class CacheSupportProcessorSpec extends Specification {
+
+    static String CLASS_POJO = """
+    package test;
+
+    public class ClassPojo {
+        @de.qaware.emergen.apt.cache.Cached
+        public String find(String id) {
+            return id;
+        }
+    }
+    """
+
+    static String VOID_SERVICE = """
+    package test;
+
+    public interface VoidService {
+        @de.qaware.emergen.apt.cache.Cached
+        void save(String id);
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new CacheSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing PriceService"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new CacheSupportProcessor())
+                .compile(JavaFileObjects.forResource("PriceService.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.cache.PriceServiceCachingDecorator").get().getCharContent(true).toString()
+        source.contains('public final class PriceServiceCachingDecorator implements de.qaware.emergen.apt.cache.PriceService {')
+        source.contains('private final CacheStore<java.lang.String, java.lang.Double> priceCache = new CacheStore<>(2, 0L, TimeUnit.SECONDS);')
+        source.contains('private final CacheStore<TotalKey, java.lang.Long> totalCache = new CacheStore<>(1024, 0L, TimeUnit.SECONDS);')
+        source.contains('private final CacheStore<Object, java.lang.String> quoteCache = new CacheStore<>(1024, 50L, TimeUnit.MILLISECONDS);')
+        source.contains('private final CacheStore<java.lang.Long, java.lang.String> lookup4Cache')
+        source.contains('final TotalKey cacheKey = new TotalKey(item, quantity);')
+        source.contains('private static final class ChecksumKey {')
+        source.contains('java.util.Arrays.equals(data, other.data)')
+        source.contains('public void reset() {')
+        !source.contains('Object[]')
+    }
+
+    def "Annotation processing fails for classes"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new CacheSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.ClassPojo', CLASS_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Cached is only supported on methods of non private interfaces')
+    }
+
+    def "Annotation processing fails for void methods"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new CacheSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.VoidService', VOID_SERVICE))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Cached methods must return a value')
+    }
+
+    def "Generated decorator caches results by their arguments"() {
+        given:
+        def calls = new AtomicInteger()
+        def delegate = [price   : { String item -> calls.incrementAndGet(); item.length() * 1.5d },
+                        total   : { String item, int quantity -> calls.incrementAndGet(); (long) quantity * 10L },
+                        checksum: { byte[] data -> calls.incrementAndGet(); Arrays.hashCode(data) }] as PriceService
+        def decorator = new PriceServiceCachingDecorator(delegate)
+
+        when:
+        decorator.total('a', 1)
+        decorator.total('a', 1)
+        decorator.total('a', 2)
+        decorator.checksum([1, 2] as byte[])
+        decorator.checksum([1, 2] as byte[])
+
+        then:
+        calls.get() == 3
+        decorator.getStats(PriceServiceCachingDecorator.TOTAL).hitCount == 1
+        decorator.getStats(PriceServiceCachingDecorator.TOTAL).missCount == 2
+        decorator.getStats(PriceServiceCachingDecorator.CHECKSUM).hitCount == 1
+
+        when:
+        decorator.price('a')
+        decorator.price('bb')
+        decorator.price('ccc')
+        decorator.price('a')
+
+        then:
+        calls.get() == 7
+        decorator.getStats(PriceServiceCachingDecorator.PRICE).evictionCount == 2
+
+        when:
+        decorator.invalidateAll()
+        decorator.total('a', 1)
+
+        then:
+        calls.get() == 8
+    }
+
+    def "Generated decorator copies array arguments into the key"() {
+        given:
+        def calls = new AtomicInteger()
+        def decorator = new PriceServiceCachingDecorator([checksum: { byte[] data -> calls.incrementAndGet(); Arrays.hashCode(data) }] as PriceService)
+        def data = [1, 2] as byte[]
+
+        when:
+        def first = decorator.checksum(data)
+        data[0] = 9
+
+        then:
+        decorator.checksum(data) == Arrays.hashCode(data)
+        decorator.checksum([1, 2] as byte[]) == first
+        calls.get() == 2
+    }
+
+    def "Generated decorator delegates a null argument without caching"() {
+        given:
+        def calls = new AtomicInteger()
+        def decorator = new PriceServiceCachingDecorator([price: { String item -> calls.incrementAndGet(); item == null ? 0d : 1d }] as PriceService)
+
+        expect:
+        decorator.price(null) == 0d
+        decorator.price(null) == 0d
+        calls.get() == 2
+        decorator.getStats(PriceServiceCachingDecorator.PRICE).requestCount == 0
+    }
+
+    def "Generated decorator expires results after write"() {
+        given:
+        def calls = new AtomicInteger()
+        def decorator = new PriceServiceCachingDecorator([quote: { -> "quote-${calls.incrementAndGet()}".toString() }] as PriceService)
+
+        expect:
+        decorator.quote() == 'quote-1'
+        decorator.quote() == 'quote-1'
+
+        when:
+        Thread.sleep(100)
+
+        then:
+        decorator.quote() == 'quote-2'
+        decorator.getStats(PriceServiceCachingDecorator.QUOTE).hitCount == 1
+    }
+
+    def "Generated decorator is thread safe"() {
+        given:
+        def decorator = new PriceServiceCachingDecorator([lookup: { Object id -> "value-$id".toString() }] as PriceService)
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+        def failures = new AtomicInteger()
+
+        when:
+        8.times { t ->
+            executor.submit {
+                start.await()
+                10_000.times { i ->
+                    long id = (i * 7 + t) % 2048
+                    if (decorator.lookup(id) != "value-$id".toString()) {
+                        failures.incrementAndGet()
+                    }
+                }
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+
+        then:
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+        failures.get() == 0
+        def stats = decorator.getStats(PriceServiceCachingDecorator.LOOKUP_4)
+        stats.requestCount == 80_000
+        stats.hitCount > 0
+        stats.evictionCount > 0
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.collections.jmh;
+
+import de.qaware.emergen.apt.collections.PrimitiveCollectionSupport;
+import de.qaware.emergen.apt.collections.PrimitiveMap;
+import de.qaware.emergen.apt.collections.PrimitiveType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated primitive collections with the boxed JDK collections.
+ * Run with <code>-prof gc</code> to compare the normalized allocation rates as well.
+ *
+ * @author lreimer
+ */
+@PrimitiveCollectionSupport(
+        maps = {@PrimitiveMap(key = PrimitiveType.INT, value = PrimitiveType.OBJECT),
+                @PrimitiveMap(key = PrimitiveType.LONG, value = PrimitiveType.INT)},
+        lists = PrimitiveType.LONG)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionsBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final int[] keys = new int[SIZE];
+    private final IntObjectHashMap<String> generatedMap = new IntObjectHashMap<>();
+    private final Map<Integer, String> boxedMap = new HashMap<>();
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(4711);
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = random.nextInt();
+            generatedMap.put(keys[i], "value");
+            boxedMap.put(keys[i], "value");
+        }
+    }
+
+    @Benchmark
+    public int getGenerated() {
+        int found = 0;
+        for (int key : keys) {
+            if (generatedMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int getBoxed() {
+        int found = 0;
+        for (int key : keys) {
+            if (boxedMap.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int countGenerated() {
+        LongIntHashMap counts = new LongIntHashMap();
+        for (int key : keys) {
+            counts.addTo(key & 0xFFL, 1);
+        }
+        return counts.size();
+    }
+
+    @Benchmark
+    public int countBoxed() {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int key : keys) {
+            counts.merge(key & 0xFFL, 1, Integer::sum);
+        }
+        return counts.size();
+    }
+
+    @Benchmark
+    public long listGenerated() {
+        LongArrayList list = new LongArrayList();
+        for (int key : keys) {
+            list.add(key);
+        }
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long listBoxed() {
+        List<Long> list = new ArrayList<>();
+        for (int key : keys) {
+            list.add((long) key);
+        }
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.collections;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to declare the primitive specialized collections to generate in the package of the
+ * annotated type or package. For each map declaration an open addressing hash map named after its
+ * key and value type is generated, e.g. {@code IntObjectHashMap}, for each set type a hash set, e.g.
+ * {@code IntHashSet}, and for each list type a growable array list, e.g. {@code LongArrayList}.
+ * <p>
+ * The generated collections store their keys and values in primitive arrays and never box them.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE, ElementType.PACKAGE})
+public @interface PrimitiveCollectionSupport {
+    /**
+     * The key and value type combinations of the generated hash maps.
+     *
+     * @return the map declarations
+     */
+    PrimitiveMap[] maps() default {};
+
+    /**
+     * The element types of the generated hash sets.
+     *
+     * @return the set element types
+     */
+    PrimitiveType[] sets() default {};
+
+    /**
+     * The element types of the generated array lists.
+     *
+     * @return the list element types
+     */
+    PrimitiveType[] lists() default {};
+
+    /**
+     * The default load factor of the generated hash maps and sets, between 0 and 1 exclusive. It can
+     * also be set per instance using the constructor.
+     *
+     * @return the default load factor
+     */
+    float loadFactor() default 0.75f;
+}
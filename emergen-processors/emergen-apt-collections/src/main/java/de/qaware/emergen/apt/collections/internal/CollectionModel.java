@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.collections.internal;
+
+/**
+ * The data model bean to represent a generated primitive collection. Used during generation.
+ *
+ * @author lreimer
+ */
+public class CollectionModel {
+    private final String packageName;
+    private final String className;
+    private final ElementTypeModel key;
+    private final ElementTypeModel value;
+    private final String loadFactor;
+
+    /**
+     * Initialize the collection model.
+     *
+     * @param packageName the package of the generated collection
+     * @param className   the simple name of the generated collection
+     * @param key         the key or element type
+     * @param value       the value type of maps, or null
+     * @param loadFactor  the default load factor of hash based collections
+     */
+    CollectionModel(final String packageName, final String className, final ElementTypeModel key,
+                    final ElementTypeModel value, final float loadFactor) {
+        this.packageName = packageName;
+        this.className = className;
+        this.key = key;
+        this.value = value;
+        this.loadFactor = Float.toString(loadFactor).concat("f");
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public ElementTypeModel getKey() {
+        return key;
+    }
+
+    public ElementTypeModel getValue() {
+        return value;
+    }
+
+    public String getLoadFactor() {
+        return loadFactor;
+    }
+
+    /**
+     * Returns the fully qualified name of the generated collection.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalName() {
+        return packageName.isEmpty() ? className : packageName + "." + className;
+    }
+}
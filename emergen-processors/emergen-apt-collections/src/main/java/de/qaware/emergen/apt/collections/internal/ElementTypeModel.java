@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.collections.internal;
+
+import de.qaware.emergen.apt.collections.PrimitiveType;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Locale;
+
+/**
+ * The data model bean to represent a key, value or element type of a generated collection. Provides
+ * the type specific expressions for hashing and comparison. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ElementTypeModel {
+    private static final String GENERIC_TYPE = "V";
+
+    private final PrimitiveType type;
+
+    /**
+     * Initialize the model for the given element type.
+     *
+     * @param type the element type
+     */
+    ElementTypeModel(final PrimitiveType type) {
+        this.type = type;
+    }
+
+    public boolean isObject() {
+        return type == PrimitiveType.OBJECT;
+    }
+
+    /**
+     * Returns the type name to use in signatures, the type parameter for object values.
+     *
+     * @return the type name, e.g. int
+     */
+    public String getName() {
+        return isObject() ? GENERIC_TYPE : type.name().toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the type name to use in class names.
+     *
+     * @return the capitalized name, e.g. Int
+     */
+    public String getCapitalName() {
+        return StringUtils.capitalize(type.name().toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * Returns the component type of the backing array.
+     *
+     * @return the array component type
+     */
+    public String getArrayType() {
+        return isObject() ? "Object" : getName();
+    }
+
+    public String getWrapper() {
+        switch (type) {
+            case CHAR:
+                return "Character";
+            case INT:
+                return "Integer";
+            default:
+                return getCapitalName();
+        }
+    }
+
+    /**
+     * Returns the default value literal, returned for absent entries and used to mark free slots.
+     *
+     * @return the default value
+     */
+    public String getDefaultValue() {
+        switch (type) {
+            case BYTE:
+            case SHORT:
+            case CHAR:
+                return "(" + getName() + ") 0";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0.0f";
+            case DOUBLE:
+                return "0.0d";
+            case OBJECT:
+                return "null";
+            default:
+                return "0";
+        }
+    }
+
+    /**
+     * Returns the expression to compare two values. Floating point values are compared by their
+     * bits, consistent with the equals methods of their wrappers.
+     *
+     * @param left  the left operand
+     * @param right the right operand
+     * @return the comparison expression
+     */
+    public String equal(final String left, final String right) {
+        switch (type) {
+            case FLOAT:
+                return "Float.floatToIntBits(" + left + ") == Float.floatToIntBits(" + right + ")";
+            case DOUBLE:
+                return "Double.doubleToLongBits(" + left + ") == Double.doubleToLongBits(" + right + ")";
+            case OBJECT:
+                return "java.util.Objects.equals(" + left + ", " + right + ")";
+            default:
+                return left + " == " + right;
+        }
+    }
+
+    /**
+     * Returns the expression to test for the default value, which marks the free slots of hash tables.
+     *
+     * @param value the operand
+     * @return the test expression
+     */
+    public String isZero(final String value) {
+        switch (type) {
+            case FLOAT:
+                return "Float.floatToIntBits(" + value + ") == 0";
+            case DOUBLE:
+                return "Double.doubleToLongBits(" + value + ") == 0L";
+            case OBJECT:
+                return value + " == null";
+            default:
+                return value + " == 0";
+        }
+    }
+
+    /**
+     * Returns the expression to test for other values than the default value, which mark the used slots of hash tables.
+     *
+     * @param value the operand
+     * @return the test expression
+     */
+    public String notZero(final String value) {
+        switch (type) {
+            case FLOAT:
+                return "Float.floatToIntBits(" + value + ") != 0";
+            case DOUBLE:
+                return "Double.doubleToLongBits(" + value + ") != 0L";
+            case OBJECT:
+                return value + " != null";
+            default:
+                return value + " != 0";
+        }
+    }
+
+    /**
+     * Returns the expression to compute the unmixed hash code of a value without boxing.
+     *
+     * @param value the operand
+     * @return the hash expression
+     */
+    public String hash(final String value) {
+        return getWrapper() + ".hashCode(" + value + ")";
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.collections.internal;
+
+import de.qaware.emergen.apt.collections.PrimitiveCollectionSupport;
+import de.qaware.emergen.apt.collections.PrimitiveMap;
+import de.qaware.emergen.apt.collections.PrimitiveType;
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate the primitive specialized hash maps, hash sets
+ * and array lists declared by the PrimitiveCollectionSupport annotation.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.collections.PrimitiveCollectionSupport"})
+public class PrimitiveCollectionSupportProcessor extends AbstractProcessor {
+
+    private static final String MAP_TEMPLATE = "PrimitiveHashMap.vm";
+    private static final String SET_TEMPLATE = "PrimitiveHashSet.vm";
+    private static final String LIST_TEMPLATE = "PrimitiveArrayList.vm";
+
+    private final Set<String> generated = new HashSet<>();
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(MAP_TEMPLATE, SET_TEMPLATE, LIST_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        FileObjectGenerator mapGenerator = generators.getInstance(MAP_TEMPLATE);
+        FileObjectGenerator setGenerator = generators.getInstance(SET_TEMPLATE);
+        FileObjectGenerator listGenerator = generators.getInstance(LIST_TEMPLATE);
+
+        Messager messager = processingEnv.getMessager();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                PrimitiveCollectionSupport support = element.getAnnotation(PrimitiveCollectionSupport.class);
+                float loadFactor = support.loadFactor();
+                if (!(loadFactor > 0f && loadFactor < 1f)) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "The load factor must be between 0 and 1 exclusive", element);
+                    continue;
+                }
+
+                String packageName = (element instanceof TypeElement) ? cache.get((TypeElement) element).getPackageName()
+                        : ((PackageElement) element).getQualifiedName().toString();
+                messager.printMessage(Diagnostic.Kind.NOTE, "Generating primitive collections for " + element.getSimpleName().toString());
+
+                for (PrimitiveMap map : support.maps()) {
+                    if (map.key() == PrimitiveType.OBJECT) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "The map key type must be primitive", element);
+                        continue;
+                    }
+                    ElementTypeModel key = new ElementTypeModel(map.key());
+                    ElementTypeModel value = new ElementTypeModel(map.value());
+                    generate(mapGenerator, new CollectionModel(packageName, key.getCapitalName() + value.getCapitalName() + "HashMap",
+                            key, value, loadFactor), element);
+                }
+                for (PrimitiveType type : support.sets()) {
+                    if (type == PrimitiveType.OBJECT) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "The set element type must be primitive", element);
+                        continue;
+                    }
+                    ElementTypeModel key = new ElementTypeModel(type);
+                    generate(setGenerator, new CollectionModel(packageName, key.getCapitalName() + "HashSet", key, null, loadFactor), element);
+                }
+                for (PrimitiveType type : support.lists()) {
+                    if (type == PrimitiveType.OBJECT) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "The list element type must be primitive", element);
+                        continue;
+                    }
+                    ElementTypeModel key = new ElementTypeModel(type);
+                    generate(listGenerator, new CollectionModel(packageName, key.getCapitalName() + "ArrayList", key, null, loadFactor), element);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void generate(final FileObjectGenerator generator, final CollectionModel collectionModel, final Element element) {
+        if (!generated.add(collectionModel.getCanonicalName())) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Primitive collection " + collectionModel.getCanonicalName() + " is declared more than once", element);
+            return;
+        }
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("collection", collectionModel);
+        context.put("key", collectionModel.getKey());
+        context.put("value", collectionModel.getValue());
+
+        try {
+            JavaFileObject javaFileObject = processingEnv.getFiler().createSourceFile(collectionModel.getCanonicalName(), element);
+            try (Writer writer = javaFileObject.openWriter()) {
+                generator.generate(context, writer);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.collections.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.collections.CharArrayList
+import de.qaware.emergen.apt.collections.DoubleLongHashMap
+import de.qaware.emergen.apt.collections.FloatHashSet
+import de.qaware.emergen.apt.collections.IntHashSet
+import de.qaware.emergen.apt.collections.IntObjectHashMap
+import de.qaware.emergen.apt.collections.LongArrayList
+import de.qaware.emergen.apt.collections.LongIntHashMap
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the primitive collection support annotation processor')
+class PrimitiveCollectionSupportProcessorSpec extends Specification {
+
+    static double NEGATIVE_ZERO = Double.longBitsToDouble(Long.MIN_VALUE)
+
+    static String OBJECT_KEY = """
+    package test;
+
+    import de.qaware.emergen.apt.collections.*;
+
+    @PrimitiveCollectionSupport(maps = @PrimitiveMap(key = PrimitiveType.OBJECT, value = PrimitiveType.INT))
+    public class ObjectKey {
+    }
+    """
+
+    static String OBJECT_LIST = """
+    package test;
+
+    import de.qaware.emergen.apt.collections.*;
+
+    @PrimitiveCollectionSupport(lists = PrimitiveType.OBJECT)
+    public class ObjectList {
+    }
+    """
+
+    static String INVALID_LOAD_FACTOR = """
+    package test;
+
+    import de.qaware.emergen.apt.collections.*;
+
+    @PrimitiveCollectionSupport(sets = PrimitiveType.INT, loadFactor = 1.0f)
+    public class InvalidLoadFactor {
+    }
+    """
+
+    static String DUPLICATE = """
+    package test;
+
+    import de.qaware.emergen.apt.collections.*;
+
+    @PrimitiveCollectionSupport(sets = {PrimitiveType.INT, PrimitiveType.INT})
+    public class Duplicate {
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new PrimitiveCollectionSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Collections"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PrimitiveCollectionSupportProcessor())
+                .compile(JavaFileObjects.forResource("Collections.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def map = compilation.generatedSourceFile("de.qaware.emergen.apt.collections.IntObjectHashMap").get().getCharContent(true).toString()
+        map.contains('public class IntObjectHashMap<V> {')
+        map.contains('public static final float DEFAULT_LOAD_FACTOR = 0.5f;')
+        map.contains('private int[] keys;')
+        map.contains('final int h = Integer.hashCode(key) * 0x9E3779B9;')
+        !map.contains('addTo')
+        !map.contains('Integer.valueOf')
+        def set = compilation.generatedSourceFile("de.qaware.emergen.apt.collections.FloatHashSet").get().getCharContent(true).toString()
+        set.contains('if (Float.floatToIntBits(current) == Float.floatToIntBits(element)) {')
+        compilation.generatedSourceFile("de.qaware.emergen.apt.collections.LongArrayList").isPresent()
+    }
+
+    def "Annotation processing reports invalid declarations"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PrimitiveCollectionSupportProcessor())
+                .compile(JavaFileObjects.forSourceString(name, source))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains(message)
+
+        where:
+        name                     | source              || message
+        'test.ObjectKey'         | OBJECT_KEY          || 'The map key type must be primitive'
+        'test.ObjectList'        | OBJECT_LIST         || 'The list element type must be primitive'
+        'test.InvalidLoadFactor' | INVALID_LOAD_FACTOR || 'The load factor must be between 0 and 1 exclusive'
+    }
+
+    def "Annotation processing warns about duplicate declarations"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PrimitiveCollectionSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.Duplicate', DUPLICATE))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.warnings()[0].getMessage(null).contains('Primitive collection test.IntHashSet is declared more than once')
+    }
+
+    def "Generated IntObjectHashMap behaves like a HashMap"() {
+        given:
+        def map = new IntObjectHashMap<String>(4)
+        def expected = new HashMap<Integer, String>()
+        def random = new Random(4711)
+
+        when:
+        10000.times {
+            int key = random.nextInt(512) - 256
+            switch (random.nextInt(3)) {
+                case 0:
+                    assert map.put(key, "v$it".toString()) == expected.put(key, "v$it".toString())
+                    break
+                case 1:
+                    assert map.remove(key) == expected.remove(key)
+                    break
+                default:
+                    assert map.get(key) == expected.get(key)
+                    assert map.containsKey(key) == expected.containsKey(key)
+            }
+        }
+        def entries = [:]
+        map.forEach { k, v -> entries[k] = v }
+
+        then:
+        map.size() == expected.size()
+        entries == expected
+        (map.keys() as List).sort() == (expected.keySet() as List).sort()
+        map.getOrDefault(1000, 'none') == 'none'
+    }
+
+    def "Generated primitive value maps handle zero keys and increments"() {
+        given:
+        def counts = new LongIntHashMap()
+        def sums = new DoubleLongHashMap(0, 0.9f)
+
+        when:
+        counts.addTo(0L, 2)
+        counts.addTo(0L, 3)
+        counts.addTo(Long.MIN_VALUE, 1)
+        sums.put(0.0d, 1L)
+        sums.put(NEGATIVE_ZERO, 2L)
+        sums.put(Double.NaN, 3L)
+
+        then:
+        counts.get(0L) == 5
+        counts.get(Long.MIN_VALUE) == 1
+        counts.get(42L) == 0
+        counts.size() == 2
+        sums.size() == 3
+        sums.get(0.0d) == 1L
+        sums.get(NEGATIVE_ZERO) == 2L
+        sums.get(Double.NaN) == 3L
+        sums.remove(0.0d) == 1L
+        !sums.containsKey(0.0d)
+        sums.size() == 2
+
+        when:
+        counts.clear()
+
+        then:
+        counts.isEmpty()
+        !counts.containsKey(0L)
+    }
+
+    def "Generated hash sets add, contain and remove elements"() {
+        given:
+        def set = new IntHashSet()
+        def floats = new FloatHashSet()
+
+        expect:
+        set.add(0)
+        !set.add(0)
+        (1..100).every { set.add(it * 31) }
+        set.size() == 101
+        set.contains(31 * 50)
+        set.remove(31 * 50)
+        !set.contains(31 * 50)
+        set.remove(0)
+        !set.contains(0)
+        set.toArray().length == 99
+        floats.add(Float.NaN)
+        floats.contains(Float.NaN)
+        !floats.contains(0.0f)
+    }
+
+    def "Generated array lists grow and shift elements"() {
+        given:
+        def list = new LongArrayList(0)
+        def chars = new CharArrayList()
+
+        when:
+        (1..20).each { list.add(it as long) }
+        list.add(0, 0L)
+        list.addAll([21L, 22L] as long[])
+        chars.add('a' as char)
+
+        then:
+        list.size() == 23
+        list.get(0) == 0L
+        list.get(22) == 22L
+        list.removeAt(0) == 0L
+        list.indexOf(10L) == 9
+        list.set(0, 42L) == 1L
+        list.contains(42L)
+        list.toArray().length == 22
+        chars.get(0) == 'a' as char
+
+        when:
+        list.get(22)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark sorting a million elements with the generated comparator, with the equivalent lambda
+ * comparator chain, and with a radix sort over the generated sort key.
+ *
+ * @author lreimer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComparatorBenchmark {
+
+    private static final Comparator<Event> LAMBDA_CHAIN = Comparator.comparingLong(Event::getTimestamp)
+            .thenComparing(Comparator.comparingInt(Event::getPriority).reversed())
+            .thenComparing(Event::getSource);
+    private static final Comparator<Event> LAMBDA_TIMESTAMP = Comparator.comparingLong(Event::getTimestamp);
+
+    @Param({"1000000"})
+    private int size;
+
+    private Event[] events;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] sources = {"orders", "payments", "shipping", "billing"};
+        events = new Event[size];
+        for (int i = 0; i < size; i++) {
+            events[i] = new Event(random.nextInt(size / 4), random.nextInt(8), sources[random.nextInt(sources.length)]);
+        }
+    }
+
+    @Benchmark
+    public Event[] lambdaChain() {
+        Event[] sorted = events.clone();
+        Arrays.sort(sorted, LAMBDA_CHAIN);
+        return sorted;
+    }
+
+    @Benchmark
+    public Event[] generated() {
+        Event[] sorted = events.clone();
+        Arrays.sort(sorted, EventByTimeComparator.INSTANCE);
+        return sorted;
+    }
+
+    @Benchmark
+    public Event[] lambdaTimestamp() {
+        Event[] sorted = events.clone();
+        Arrays.sort(sorted, LAMBDA_TIMESTAMP);
+        return sorted;
+    }
+
+    @Benchmark
+    public Event[] generatedTimestamp() {
+        Event[] sorted = events.clone();
+        Arrays.sort(sorted, EventByTimestampComparator.INSTANCE);
+        return sorted;
+    }
+
+    @Benchmark
+    public Event[] radixTimestamp() {
+        return radixSort(events);
+    }
+
+    /**
+     * A stable LSD radix sort over the bytes of the generated sort keys, skipping constant bytes.
+     */
+    private static Event[] radixSort(final Event[] values) {
+        int n = values.length;
+        long[] keys = new long[n];
+        long[] keyBuffer = new long[n];
+        Event[] sorted = values.clone();
+        Event[] buffer = new Event[n];
+        long diff = 0;
+        for (int i = 0; i < n; i++) {
+            keys[i] = EventByTimestampComparator.sortKey(values[i]);
+            diff |= keys[i] ^ keys[0];
+        }
+
+        int[] counts = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            if (((diff >>> shift) & 0xFF) == 0) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) ((keys[i] >>> shift) & 0xFF) + 1]++;
+            }
+            for (int b = 0; b < 256; b++) {
+                counts[b + 1] += counts[b];
+            }
+            for (int i = 0; i < n; i++) {
+                int target = counts[(int) ((keys[i] >>> shift) & 0xFF)]++;
+                keyBuffer[target] = keys[i];
+                buffer[target] = sorted[i];
+            }
+            long[] swapKeys = keys;
+            keys = keyBuffer;
+            keyBuffer = swapKeys;
+            Event[] swapValues = sorted;
+            sorted = buffer;
+            buffer = swapValues;
+        }
+        return sorted;
+    }
+}
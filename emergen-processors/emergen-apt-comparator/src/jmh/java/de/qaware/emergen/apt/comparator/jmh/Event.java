@@ -0,0 +1,60 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator.jmh;
+
+import de.qaware.emergen.apt.comparator.ComparatorSupport;
+import de.qaware.emergen.apt.comparator.SortOrder;
+
+/**
+ * A small record type, sorted via the generated comparators and via lambda comparator chains.
+ *
+ * @author lreimer
+ */
+@ComparatorSupport({
+        @SortOrder(name = "ByTime", keys = {"timestamp", "-priority", "source"}),
+        @SortOrder(name = "ByTimestamp", keys = "timestamp", sortKey = true)
+})
+public class Event {
+    final long timestamp;
+    final int priority;
+    final String source;
+
+    public Event(long timestamp, int priority, String source) {
+        this.timestamp = timestamp;
+        this.priority = priority;
+        this.source = source;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares the keys of a generated comparator, used as member of the ComparatorSupport annotation.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {})
+public @interface SortOrder {
+    /**
+     * The name of the sort order, appended to the class name to name the comparator, e.g. ByPrice.
+     *
+     * @return the name
+     */
+    String name();
+
+    /**
+     * The property names of the sort keys in order of precedence, prefixed with - for descending
+     * order. A key is read from the field if it is accessible, otherwise via its getter. The keys
+     * must be primitives or Comparable.
+     *
+     * @return the sort keys
+     */
+    String[] keys();
+
+    /**
+     * If true null values of non primitive keys are sorted before all other values, otherwise after them.
+     *
+     * @return if nulls come first
+     */
+    boolean nullsFirst() default false;
+
+    /**
+     * Generate a static sortKey method that maps the first key to a long whose unsigned order equals
+     * the order of the comparator, e.g. for radix sorts. The first key must be a primitive.
+     *
+     * @return if the sort key method is generated
+     */
+    boolean sortKey() default false;
+}
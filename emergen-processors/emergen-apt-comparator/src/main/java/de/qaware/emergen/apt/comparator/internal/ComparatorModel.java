@@ -0,0 +1,162 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator.internal;
+
+import de.qaware.emergen.apt.comparator.SortOrder;
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The data model bean to represent a generated comparator of a sort order. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ComparatorModel {
+    private static final String COMPARATOR_SUFFIX = "Comparator";
+
+    private final String packageName;
+    private final String className;
+    private final String comparatorName;
+    private final boolean nullsFirst;
+    private final boolean sortKey;
+    private final List<SortKeyModel> keys = new ArrayList<>();
+
+    /**
+     * Initialize the comparator model with the keys of the sort order.
+     *
+     * @param typeModel the type model of the sorted class
+     * @param sortOrder the sort order
+     * @param elements  the element utilities
+     * @param types     the type utilities
+     * @throws IllegalArgumentException if a key is unknown, not accessible or not comparable
+     */
+    ComparatorModel(final TypeModel typeModel, final SortOrder sortOrder, final Elements elements, final Types types) {
+        this.packageName = typeModel.getPackageName();
+        this.className = typeModel.getQualifiedName();
+        String binaryName = elements.getBinaryName(typeModel.getElement()).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        if (!SourceVersion.isIdentifier(sortOrder.name())) {
+            throw new IllegalArgumentException("Invalid sort order name " + sortOrder.name());
+        }
+        this.comparatorName = simpleName.replace('$', '_') + sortOrder.name() + COMPARATOR_SUFFIX;
+        this.nullsFirst = sortOrder.nullsFirst();
+        this.sortKey = sortOrder.sortKey();
+        if (sortOrder.keys().length == 0) {
+            throw new IllegalArgumentException("Sort order " + sortOrder.name() + " has no keys");
+        }
+
+        TypeMirror comparableType = types.erasure(elements.getTypeElement("java.lang.Comparable").asType());
+        List<? extends Element> members = elements.getAllMembers(typeModel.getElement());
+        for (String key : sortOrder.keys()) {
+            boolean descending = key.startsWith("-");
+            String name = descending ? key.substring(1) : key;
+
+            String accessor;
+            TypeMirror type;
+            Optional<VariableElement> field = ElementFilter.fieldsIn(members).stream()
+                    .filter(f -> f.getSimpleName().contentEquals(name) && !f.getModifiers().contains(Modifier.STATIC))
+                    .findFirst();
+            Optional<ExecutableElement> getter = ElementFilter.methodsIn(members).stream()
+                    .filter(m -> isGetter(m, name))
+                    .findFirst();
+            if (field.isPresent() && !field.get().getModifiers().contains(Modifier.PRIVATE)) {
+                accessor = "." + name;
+                type = field.get().asType();
+            } else if (getter.isPresent()) {
+                accessor = "." + getter.get().getSimpleName() + "()";
+                type = getter.get().getReturnType();
+            } else {
+                throw new IllegalArgumentException("Sort key " + name + " of sort order " + sortOrder.name() + " has no accessible field or getter");
+            }
+
+            if (!type.getKind().isPrimitive() && !types.isAssignable(types.erasure(type), comparableType)) {
+                throw new IllegalArgumentException("Sort key " + name + " of sort order " + sortOrder.name() + " is neither primitive nor Comparable");
+            }
+            keys.add(new SortKeyModel(name, type.toString(), type.getKind(), accessor, descending));
+        }
+
+        if (sortKey && !keys.get(0).isPrimitive()) {
+            throw new IllegalArgumentException("The first key of sort order " + sortOrder.name() + " must be primitive to generate the sort key");
+        }
+    }
+
+    private static boolean isGetter(final ExecutableElement method, final String name) {
+        String methodName = method.getSimpleName().toString();
+        boolean named = methodName.equals("get" + StringUtils.capitalize(name)) || methodName.equals("is" + StringUtils.capitalize(name));
+        return named && method.getParameters().isEmpty()
+                && !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getComparatorName() {
+        return comparatorName;
+    }
+
+    public boolean isNullsFirst() {
+        return nullsFirst;
+    }
+
+    public boolean isSortKey() {
+        return sortKey;
+    }
+
+    /**
+     * Returns true if the sort key alone determines the order, that is the sort order has a single key.
+     *
+     * @return if the sort key is complete
+     */
+    public boolean isSortKeyComplete() {
+        return keys.size() == 1;
+    }
+
+    public List<SortKeyModel> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Returns the fully qualified name of the comparator.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalComparatorName() {
+        return packageName.isEmpty() ? comparatorName : packageName + "." + comparatorName;
+    }
+}
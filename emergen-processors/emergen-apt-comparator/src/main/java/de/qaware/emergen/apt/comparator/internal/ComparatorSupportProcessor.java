@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator.internal;
+
+import de.qaware.emergen.apt.comparator.ComparatorSupport;
+import de.qaware.emergen.apt.comparator.SortOrder;
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate a comparator for each sort order declared by
+ * a ComparatorSupport annotation.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.comparator.ComparatorSupport"})
+public class ComparatorSupportProcessor extends AbstractProcessor {
+
+    private static final String COMPARATOR_TEMPLATE = "Comparator.vm";
+
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(COMPARATOR_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        FileObjectGenerator generator = generators.getInstance(COMPARATOR_TEMPLATE);
+
+        Messager messager = processingEnv.getMessager();
+        Filer filer = processingEnv.getFiler();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                TypeElement sortedType = (TypeElement) element;
+                if (element.getKind() == ElementKind.ANNOTATION_TYPE || element.getModifiers().contains(Modifier.PRIVATE)
+                        || !sortedType.getTypeParameters().isEmpty()) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "ComparatorSupport is only supported on non private and non generic types", element);
+                    continue;
+                }
+
+                TypeModel typeModel = cache.get(sortedType);
+                Set<String> names = new HashSet<>();
+                for (SortOrder sortOrder : element.getAnnotation(ComparatorSupport.class).value()) {
+                    if (!names.add(sortOrder.name())) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, "Duplicate sort order " + sortOrder.name(), element);
+                        continue;
+                    }
+
+                    ComparatorModel comparatorModel;
+                    try {
+                        comparatorModel = new ComparatorModel(typeModel, sortOrder, processingEnv.getElementUtils(), processingEnv.getTypeUtils());
+                    } catch (IllegalArgumentException e) {
+                        messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), element);
+                        continue;
+                    }
+                    messager.printMessage(Diagnostic.Kind.NOTE, "Generating comparator " + comparatorModel.getComparatorName());
+
+                    Map<String, Object> context = new HashMap<>();
+                    context.put("comparator", comparatorModel);
+
+                    try {
+                        JavaFileObject javaFileObject = filer.createSourceFile(comparatorModel.getCanonicalComparatorName(), element);
+                        try (Writer writer = javaFileObject.openWriter()) {
+                            generator.generate(context, writer);
+                        }
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator.internal;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.type.TypeKind;
+
+/**
+ * The data model bean to represent a key of a generated comparator. Used during generation.
+ *
+ * @author lreimer
+ */
+public class SortKeyModel {
+    private final String name;
+    private final String type;
+    private final TypeKind kind;
+    private final String accessor;
+    private final boolean descending;
+
+    /**
+     * Initialize the sort key model.
+     *
+     * @param name       the property name
+     * @param type       the property type
+     * @param kind       the kind of the property type
+     * @param accessor   the field or getter access appended to the instance, e.g. {@code .getPrice()}
+     * @param descending if the key is sorted in descending order
+     */
+    SortKeyModel(final String name, final String type, final TypeKind kind, final String accessor, final boolean descending) {
+        this.name = name;
+        this.type = type;
+        this.kind = kind;
+        this.accessor = accessor;
+        this.descending = descending;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public boolean isPrimitive() {
+        return kind.isPrimitive();
+    }
+
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Returns the name of the local variable holding the key of the left instance.
+     *
+     * @return the local name
+     */
+    public String getLeftName() {
+        return "left" + StringUtils.capitalize(name);
+    }
+
+    /**
+     * Returns the name of the local variable holding the key of the right instance.
+     *
+     * @return the local name
+     */
+    public String getRightName() {
+        return "right" + StringUtils.capitalize(name);
+    }
+
+    /**
+     * Returns the expression reading the key of the given instance.
+     *
+     * @param instance the instance variable
+     * @return the access expression
+     */
+    public String access(final String instance) {
+        return instance + accessor;
+    }
+
+    /**
+     * Returns the expression comparing the primitive key of both instances, respecting the order.
+     *
+     * @return the compare expression
+     */
+    public String getCompareExpression() {
+        String first = descending ? access("right") : access("left");
+        String second = descending ? access("left") : access("right");
+        return wrapper() + ".compare(" + first + ", " + second + ")";
+    }
+
+    /**
+     * Returns the expression mapping the primitive key to a long whose unsigned order equals the order of the key.
+     *
+     * @return the sort key expression
+     */
+    public String getSortKeyExpression() {
+        String value = access("value");
+        String expression;
+        switch (kind) {
+            case BOOLEAN:
+                expression = "(" + value + " ? 1L : 0L)";
+                break;
+            case CHAR:
+                expression = "((long) " + value + ")";
+                break;
+            case FLOAT:
+            case DOUBLE:
+                expression = "sortableBits(Double.doubleToLongBits(" + value + "))";
+                break;
+            default:
+                expression = "(" + value + " ^ Long.MIN_VALUE)";
+                break;
+        }
+        return descending ? "~" + expression : expression;
+    }
+
+    private String wrapper() {
+        switch (kind) {
+            case CHAR:
+                return "Character";
+            case INT:
+                return "Integer";
+            default:
+                return StringUtils.capitalize(type);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.comparator.Trade
+import de.qaware.emergen.apt.comparator.TradeByPriceComparator
+import de.qaware.emergen.apt.comparator.TradeByScoreComparator
+import de.qaware.emergen.apt.comparator.TradeBySymbolComparator
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the comparator support annotation processor')
+class ComparatorSupportProcessorSpec extends Specification {
+
+    static String UNKNOWN_KEY_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.comparator.ComparatorSupport(
+        @de.qaware.emergen.apt.comparator.SortOrder(name = "ByName", keys = "name"))
+    public class UnknownKeyPojo {
+        private String name;
+    }
+    """
+
+    static String NOT_COMPARABLE_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.comparator.ComparatorSupport(
+        @de.qaware.emergen.apt.comparator.SortOrder(name = "ByTags", keys = "tags"))
+    public class NotComparablePojo {
+        java.util.List<String> tags;
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new ComparatorSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Trade"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ComparatorSupportProcessor())
+                .compile(JavaFileObjects.forResource("Trade.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.comparator.TradeByPriceComparator").get().getCharContent(true).toString()
+        source.contains('public final class TradeByPriceComparator implements Comparator<de.qaware.emergen.apt.comparator.Trade> {')
+        source.contains('result = Long.compare(left.price, right.price);')
+        source.contains('result = Integer.compare(right.getQuantity(), left.getQuantity());')
+        source.contains('result = leftSymbol.compareTo(rightSymbol);')
+        source.contains('return (value.price ^ Long.MIN_VALUE);')
+        source.contains('public static final boolean SORT_KEY_COMPLETE = false;')
+        !source.contains('Long.valueOf')
+        !source.contains('thenComparing')
+    }
+
+    def "Annotation processing fails for unknown keys"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ComparatorSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.UnknownKeyPojo', UNKNOWN_KEY_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Sort key name of sort order ByName has no accessible field or getter')
+    }
+
+    def "Annotation processing fails for keys that are not comparable"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ComparatorSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.NotComparablePojo', NOT_COMPARABLE_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Sort key tags of sort order ByTags is neither primitive nor Comparable')
+    }
+
+    def "Generated comparator equals the lambda chain"() {
+        given:
+        def random = new Random(42)
+        def symbols = ['ABC', 'XYZ', 'QAW', null]
+        def trades = (1..2000).collect {
+            new Trade(random.nextInt(20), random.nextInt(5), symbols[random.nextInt(4)], random.nextDouble(), random.nextBoolean())
+        }
+        def chain = Comparator.comparingLong { Trade t -> t.price }
+                .thenComparing(Comparator.comparingInt { Trade t -> t.quantity }.reversed())
+                .thenComparing({ Trade t -> t.symbol } as java.util.function.Function, Comparator.nullsLast(Comparator.naturalOrder()))
+        def bySymbol = Comparator.comparing({ Trade t -> t.symbol } as java.util.function.Function, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing({ Trade t -> t.buy } as java.util.function.Function)
+
+        expect:
+        trades.toSorted(TradeByPriceComparator.INSTANCE) == trades.toSorted(chain)
+        trades.toSorted(TradeBySymbolComparator.INSTANCE) == trades.toSorted(bySymbol)
+        trades.toSorted(TradeBySymbolComparator.INSTANCE)[0].symbol == null
+    }
+
+    def "Generated sort key preserves the order"() {
+        given:
+        def random = new Random(7)
+        def prices = [Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE] + (1..200).collect { random.nextLong() }
+        def scores = [Double.NEGATIVE_INFINITY, -1.5d, -0.0d, 0.0d, 2.5d, Double.POSITIVE_INFINITY, Double.NaN] +
+                (1..200).collect { random.nextGaussian() }
+        def byPrice = prices.collect { new Trade(it, 0, 'A', 0d, false) }
+        def byScore = scores.collect { new Trade(0L, 0, 'A', it, false) }
+
+        expect:
+        byPrice.toSorted(TradeByPriceComparator.INSTANCE) == byPrice.toSorted { a, b -> Long.compareUnsigned(TradeByPriceComparator.sortKey(a), TradeByPriceComparator.sortKey(b)) }
+        byScore.toSorted(TradeByScoreComparator.INSTANCE) == byScore.toSorted { a, b -> Long.compareUnsigned(TradeByScoreComparator.sortKey(a), TradeByScoreComparator.sortKey(b)) }
+        TradeByScoreComparator.SORT_KEY_COMPLETE
+        TradeByScoreComparator.INSTANCE.compare(byScore[6], byScore[5]) < 0
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.comparator;
+
+/**
+ * Test class for the comparator generation.
+ *
+ * @author lreimer
+ */
+@ComparatorSupport({
+        @SortOrder(name = "ByPrice", keys = {"price", "-quantity", "symbol"}, sortKey = true),
+        @SortOrder(name = "ByScore", keys = "-score", sortKey = true),
+        @SortOrder(name = "BySymbol", keys = {"symbol", "buy"}, nullsFirst = true)
+})
+public class Trade {
+    long price;
+    double score;
+    String symbol;
+    private int quantity;
+    private boolean buy;
+
+    public Trade(long price, int quantity, String symbol, double score, boolean buy) {
+        this.price = price;
+        this.quantity = quantity;
+        this.symbol = symbol;
+        this.score = score;
+        this.buy = buy;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    @Override
+    public String toString() {
+        return symbol + "@" + price + "x" + quantity;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated configuration binder with reflective binding of the same
+ * properties, as done by typical configuration libraries at startup.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+
+    private final Properties properties = new Properties();
+
+    public ConfigBenchmark() {
+        properties.setProperty("service.host", "localhost");
+        properties.setProperty("service.port", "8080");
+        properties.setProperty("service.maxBytes", "1048576");
+        properties.setProperty("service.tls", "true");
+        properties.setProperty("service.loadFactor", "0.75");
+        properties.setProperty("service.timeout", "PT30S");
+        properties.setProperty("service.unit", "SECONDS");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ServiceConfig reflective(final Properties properties) throws ReflectiveOperationException {
+        ServiceConfig config = ServiceConfig.class.getDeclaredConstructor().newInstance();
+        for (Field field : ServiceConfig.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            String value = properties.getProperty("service." + field.getName());
+            if (value == null) {
+                throw new IllegalArgumentException("Missing key service." + field.getName());
+            }
+            Class<?> type = field.getType();
+            field.setAccessible(true);
+            if (type == int.class) {
+                field.setInt(config, Integer.parseInt(value.trim()));
+            } else if (type == long.class) {
+                field.setLong(config, Long.parseLong(value.trim()));
+            } else if (type == boolean.class) {
+                field.setBoolean(config, Boolean.parseBoolean(value.trim()));
+            } else if (type == double.class) {
+                field.setDouble(config, Double.parseDouble(value.trim()));
+            } else if (type == Duration.class) {
+                field.set(config, Duration.parse(value.trim()));
+            } else if (type.isEnum()) {
+                field.set(config, Enum.valueOf((Class) type, value.trim()));
+            } else {
+                field.set(config, value);
+            }
+        }
+        return config;
+    }
+
+    @Benchmark
+    public ServiceConfig generated() {
+        return ServiceConfigConfigBinder.bind(properties);
+    }
+
+    @Benchmark
+    public ServiceConfig reflective() throws ReflectiveOperationException {
+        return reflective(properties);
+    }
+}
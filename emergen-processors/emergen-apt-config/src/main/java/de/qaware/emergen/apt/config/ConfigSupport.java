@@ -0,0 +1,50 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to mark configuration classes. A final ConfigBinder class is generated in the same package,
+ * with static methods to bind a {@link java.util.Properties} or {@code Map<String, String>} source onto an
+ * instance, using generated conversions and without reflection.
+ * <p>
+ * The bound properties are the non static, non final and non transient instance fields of the class, written
+ * directly or via their setter if they are private. Supported are primitives and their wrappers, strings,
+ * enums and {@link java.time.Duration}. All missing and invalid keys are collected and reported together by
+ * an {@link IllegalArgumentException}.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE})
+public @interface ConfigSupport {
+    /**
+     * The prefix of all keys, separated from the field names by a dot. Empty for no prefix.
+     *
+     * @return the key prefix
+     */
+    String prefix() default "";
+}
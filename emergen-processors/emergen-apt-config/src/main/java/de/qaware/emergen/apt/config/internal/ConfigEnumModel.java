@@ -0,0 +1,72 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config.internal;
+
+import java.util.List;
+
+/**
+ * The data model bean to represent an enum type used by configuration properties. A parse method
+ * with a switch over the constant names is generated for each enum. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ConfigEnumModel {
+    private final int index;
+    private final String type;
+    private final List<String> constants;
+
+    /**
+     * Initialize the enum model.
+     *
+     * @param index     the index used for the parse method name
+     * @param type      the qualified enum type
+     * @param constants the names of the enum constants
+     */
+    ConfigEnumModel(final int index, final String type, final List<String> constants) {
+        this.index = index;
+        this.type = type;
+        this.constants = constants;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public List<String> getConstants() {
+        return constants;
+    }
+
+    /**
+     * Returns the name of the generated parse method.
+     *
+     * @return the method name
+     */
+    public String getMethodName() {
+        return "parseEnum" + index;
+    }
+}
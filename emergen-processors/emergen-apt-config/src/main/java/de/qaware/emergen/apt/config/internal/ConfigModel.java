@@ -0,0 +1,303 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config.internal;
+
+import de.qaware.emergen.apt.config.ConfigProperty;
+import de.qaware.emergen.apt.config.ConfigSupport;
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated binder of a configuration class. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ConfigModel {
+    private static final String BINDER_SUFFIX = "ConfigBinder";
+    private static final String DURATION = "java.time.Duration";
+    private static final Pattern DURATION_WITH_UNIT = Pattern.compile("-?\\d+\\s*(ns|us|ms|s|m|h|d)");
+    private static final Map<String, String> NUMBER_PARSERS = new HashMap<>();
+
+    static {
+        NUMBER_PARSERS.put("byte", "Byte.parseByte");
+        NUMBER_PARSERS.put("short", "Short.parseShort");
+        NUMBER_PARSERS.put("int", "Integer.parseInt");
+        NUMBER_PARSERS.put("long", "Long.parseLong");
+        NUMBER_PARSERS.put("float", "Float.parseFloat");
+        NUMBER_PARSERS.put("double", "Double.parseDouble");
+        NUMBER_PARSERS.put("java.lang.Byte", "Byte.valueOf");
+        NUMBER_PARSERS.put("java.lang.Short", "Short.valueOf");
+        NUMBER_PARSERS.put("java.lang.Integer", "Integer.valueOf");
+        NUMBER_PARSERS.put("java.lang.Long", "Long.valueOf");
+        NUMBER_PARSERS.put("java.lang.Float", "Float.valueOf");
+        NUMBER_PARSERS.put("java.lang.Double", "Double.valueOf");
+    }
+
+    private final String packageName;
+    private final String className;
+    private final String binderName;
+    private final boolean instantiable;
+    private final List<ConfigPropertyModel> properties = new ArrayList<>();
+    private final Map<String, ConfigEnumModel> enums = new LinkedHashMap<>();
+
+    /**
+     * Initialize the binder model with the conversion of each bound field declared by the class.
+     *
+     * @param typeModel     the type model of the configuration class
+     * @param configSupport the config support annotation
+     * @param elements      the element utilities
+     * @throws IllegalArgumentException if a field can not be written, has an unsupported type or an invalid default value
+     */
+    ConfigModel(final TypeModel typeModel, final ConfigSupport configSupport, final Elements elements) {
+        this.packageName = typeModel.getPackageName();
+        this.className = typeModel.getQualifiedName();
+        String binaryName = elements.getBinaryName(typeModel.getElement()).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        this.binderName = simpleName.replace('$', '_').concat(BINDER_SUFFIX);
+        this.instantiable = ElementFilter.constructorsIn(typeModel.getMembers(ElementKind.CONSTRUCTOR)).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+
+        String prefix = configSupport.prefix().isEmpty() ? "" : configSupport.prefix() + ".";
+        List<ExecutableElement> methods = ElementFilter.methodsIn(typeModel.getMembers(ElementKind.METHOD));
+        for (VariableElement field : typeModel.getInstanceFields()) {
+            Set<Modifier> modifiers = field.getModifiers();
+            if (modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            ConfigProperty configProperty = field.getAnnotation(ConfigProperty.class);
+            String key = prefix + (configProperty == null || configProperty.key().isEmpty() ? name : configProperty.key());
+            String defaultValue = configProperty == null || configProperty.defaultValue().isEmpty() ? null : configProperty.defaultValue();
+            boolean optional = configProperty != null && configProperty.optional();
+
+            TypeMirror type = field.asType();
+            String conversion = conversion(type);
+            if (conversion == null) {
+                throw new IllegalArgumentException("Unsupported config type " + type + " of field " + name + ", declare it transient to skip it");
+            }
+            if (defaultValue != null && !isValid(type, defaultValue)) {
+                throw new IllegalArgumentException("Invalid default value '" + defaultValue + "' of field " + name);
+            }
+
+            String assignStatement;
+            String setterName = "set" + StringUtils.capitalize(name);
+            if (!modifiers.contains(Modifier.PRIVATE)) {
+                assignStatement = "config." + name + " = " + conversion + ";";
+            } else if (methods.stream().anyMatch(m -> m.getSimpleName().contentEquals(setterName) && m.getParameters().size() == 1
+                    && !m.getModifiers().contains(Modifier.PRIVATE) && !m.getModifiers().contains(Modifier.STATIC))) {
+                assignStatement = "config." + setterName + "(" + conversion + ");";
+            } else {
+                throw new IllegalArgumentException("Field " + name + " is private and has no setter");
+            }
+            properties.add(new ConfigPropertyModel(name, key, expectedType(type), assignStatement, defaultValue, optional));
+        }
+    }
+
+    /**
+     * Returns the expression converting the trimmed value to the field type, or null if the type is not supported.
+     */
+    private String conversion(final TypeMirror type) {
+        String typeName = type.toString();
+        if (NUMBER_PARSERS.containsKey(typeName)) {
+            return NUMBER_PARSERS.get(typeName) + "(value.trim())";
+        } else if (type.getKind() == TypeKind.BOOLEAN || "java.lang.Boolean".equals(typeName)) {
+            return "parseBoolean(value.trim())";
+        } else if (type.getKind() == TypeKind.CHAR || "java.lang.Character".equals(typeName)) {
+            return "parseChar(value)";
+        } else if ("java.lang.String".equals(typeName)) {
+            return "value";
+        } else if (DURATION.equals(typeName)) {
+            return "parseDuration(value.trim())";
+        } else if (isEnum(type)) {
+            TypeElement enumElement = (TypeElement) ((DeclaredType) type).asElement();
+            ConfigEnumModel enumModel = enums.computeIfAbsent(typeName, t -> new ConfigEnumModel(enums.size(), t, constants(enumElement)));
+            return enumModel.getMethodName() + "(value.trim())";
+        }
+        return null;
+    }
+
+    private static boolean isValid(final TypeMirror type, final String value) {
+        String typeName = type.toString();
+        String trimmed = value.trim();
+        try {
+            switch (typeName) {
+                case "byte":
+                case "java.lang.Byte":
+                    Byte.parseByte(trimmed);
+                    return true;
+                case "short":
+                case "java.lang.Short":
+                    Short.parseShort(trimmed);
+                    return true;
+                case "int":
+                case "java.lang.Integer":
+                    Integer.parseInt(trimmed);
+                    return true;
+                case "long":
+                case "java.lang.Long":
+                    Long.parseLong(trimmed);
+                    return true;
+                case "float":
+                case "java.lang.Float":
+                    Float.parseFloat(trimmed);
+                    return true;
+                case "double":
+                case "java.lang.Double":
+                    Double.parseDouble(trimmed);
+                    return true;
+                default:
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+
+        if (type.getKind() == TypeKind.BOOLEAN || "java.lang.Boolean".equals(typeName)) {
+            return "true".equalsIgnoreCase(trimmed) || "false".equalsIgnoreCase(trimmed);
+        } else if (type.getKind() == TypeKind.CHAR || "java.lang.Character".equals(typeName)) {
+            return value.length() == 1;
+        } else if (DURATION.equals(typeName)) {
+            return isDuration(trimmed);
+        } else if (isEnum(type)) {
+            return constants((TypeElement) ((DeclaredType) type).asElement()).contains(trimmed);
+        }
+        return true;
+    }
+
+    private static boolean isDuration(final String value) {
+        if (DURATION_WITH_UNIT.matcher(value).matches()) {
+            return true;
+        }
+        try {
+            Duration.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String expectedType(final TypeMirror type) {
+        if (DURATION.equals(type.toString())) {
+            return "duration";
+        } else if (isEnum(type)) {
+            return "one of " + constants((TypeElement) ((DeclaredType) type).asElement());
+        }
+        return type.toString();
+    }
+
+    private static boolean isEnum(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private static List<String> constants(final TypeElement enumElement) {
+        return enumElement.getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(e -> e.getSimpleName().toString())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Escape a value for use in a Java string literal.
+     *
+     * @param value the value
+     * @return the escaped value
+     */
+    static String escape(final String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getBinderName() {
+        return binderName;
+    }
+
+    /**
+     * Returns true if the class has an accessible no-argument constructor, then binder methods creating
+     * the instance are generated.
+     *
+     * @return if the class can be instantiated
+     */
+    public boolean isInstantiable() {
+        return instantiable;
+    }
+
+    public List<ConfigPropertyModel> getProperties() {
+        return properties;
+    }
+
+    public Collection<ConfigEnumModel> getEnums() {
+        return enums.values();
+    }
+
+    /**
+     * Returns the fully qualified name of the binder.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalBinderName() {
+        return packageName.isEmpty() ? binderName : packageName + "." + binderName;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config.internal;
+
+/**
+ * The data model bean to represent a bound field of a configuration class. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ConfigPropertyModel {
+    private final String name;
+    private final String key;
+    private final String expectedType;
+    private final String assignStatement;
+    private final String defaultValue;
+    private final boolean optional;
+
+    /**
+     * Initialize the property model.
+     *
+     * @param name            the field name
+     * @param key             the full key of the property
+     * @param expectedType    the type description used in error messages
+     * @param assignStatement the statement converting the value and assigning it to the field
+     * @param defaultValue    the default value, or null
+     * @param optional        if a missing key is no error
+     */
+    ConfigPropertyModel(final String name, final String key, final String expectedType, final String assignStatement,
+                        final String defaultValue, final boolean optional) {
+        this.name = name;
+        this.key = key;
+        this.expectedType = expectedType;
+        this.assignStatement = assignStatement;
+        this.defaultValue = defaultValue;
+        this.optional = optional;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the key as Java string literal content.
+     *
+     * @return the escaped key
+     */
+    public String getKey() {
+        return ConfigModel.escape(key);
+    }
+
+    public String getExpectedType() {
+        return expectedType;
+    }
+
+    public String getAssignStatement() {
+        return assignStatement;
+    }
+
+    public boolean isWithDefaultValue() {
+        return defaultValue != null;
+    }
+
+    /**
+     * Returns the default value as Java string literal content.
+     *
+     * @return the escaped default value
+     */
+    public String getDefaultValue() {
+        return defaultValue == null ? null : ConfigModel.escape(defaultValue);
+    }
+
+    public boolean isOptional() {
+        return optional;
+    }
+}
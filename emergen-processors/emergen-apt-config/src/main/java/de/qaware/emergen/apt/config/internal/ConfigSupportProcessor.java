@@ -0,0 +1,132 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config.internal;
+
+import de.qaware.emergen.apt.config.ConfigSupport;
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate reflection free configuration binders for all ConfigSupport annotated
+ * classes.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.config.ConfigSupport"})
+public class ConfigSupportProcessor extends AbstractProcessor {
+
+    private static final String BINDER_TEMPLATE = "ConfigBinder.vm";
+
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(BINDER_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        FileObjectGenerator generator = generators.getInstance(BINDER_TEMPLATE);
+
+        Messager messager = processingEnv.getMessager();
+        Filer filer = processingEnv.getFiler();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                if (!isBindable(element)) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "ConfigSupport is only supported on concrete, non private and non generic classes", element);
+                    continue;
+                }
+
+                messager.printMessage(Diagnostic.Kind.NOTE, "Generating config binder for " + element.getSimpleName().toString());
+
+                ConfigModel configModel;
+                try {
+                    configModel = new ConfigModel(cache.get((TypeElement) element), element.getAnnotation(ConfigSupport.class),
+                            processingEnv.getElementUtils());
+                } catch (IllegalArgumentException e) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), element);
+                    continue;
+                }
+
+                Map<String, Object> context = new HashMap<>();
+                context.put("binder", configModel);
+
+                try {
+                    JavaFileObject javaFileObject = filer.createSourceFile(configModel.getCanonicalBinderName(), element);
+                    try (Writer writer = javaFileObject.openWriter()) {
+                        generator.generate(context, writer);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isBindable(final Element element) {
+        if (element.getKind() != ElementKind.CLASS) {
+            return false;
+        }
+        Set<Modifier> modifiers = element.getModifiers();
+        boolean nested = element.getEnclosingElement().getKind() != ElementKind.PACKAGE;
+        return !modifiers.contains(Modifier.ABSTRACT) && !modifiers.contains(Modifier.PRIVATE)
+                && (!nested || modifiers.contains(Modifier.STATIC))
+                && ((TypeElement) element).getTypeParameters().isEmpty();
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.config.ServerConfig
+import de.qaware.emergen.apt.config.ServerConfigConfigBinder
+import de.qaware.emergen.apt.config.ServerConfig_DatabaseConfigBinder
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+import java.time.Duration
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the config support annotation processor')
+class ConfigSupportProcessorSpec extends Specification {
+
+    static String UNSUPPORTED_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.config.ConfigSupport
+    public class UnsupportedPojo {
+        java.util.List<String> hosts;
+    }
+    """
+
+    static String INVALID_DEFAULT_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.config.ConfigSupport
+    public class InvalidDefaultPojo {
+        @de.qaware.emergen.apt.config.ConfigProperty(defaultValue = "ten")
+        int retries;
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new ConfigSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing ServerConfig"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ConfigSupportProcessor())
+                .compile(JavaFileObjects.forResource("ServerConfig.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.config.ServerConfigConfigBinder").get().getCharContent(true).toString()
+        source.contains('public static de.qaware.emergen.apt.config.ServerConfig bind(final Properties properties) {')
+        source.contains('value = source.apply("server.port");')
+        source.contains('config.port = Integer.parseInt(value.trim());')
+        source.contains('config.setMaxBytes(Long.parseLong(value.trim()));')
+        source.contains('config.mode = parseEnum0(value.trim());')
+        source.contains('value = ",";')
+        !source.contains('cache')
+        !source.contains('java.lang.reflect')
+        compilation.generatedSourceFile("de.qaware.emergen.apt.config.ServerConfig_DatabaseConfigBinder").isPresent()
+    }
+
+    def "Annotation processing fails for unsupported types"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ConfigSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.UnsupportedPojo', UNSUPPORTED_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Unsupported config type java.util.List<java.lang.String> of field hosts')
+    }
+
+    def "Annotation processing fails for invalid default values"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ConfigSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.InvalidDefaultPojo', INVALID_DEFAULT_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains("Invalid default value 'ten' of field retries")
+    }
+
+    def "Generated binder binds properties"() {
+        given:
+        def properties = new Properties()
+        properties.putAll(['server.host'       : 'localhost',
+                           'server.port'       : ' 8080 ',
+                           'server.mode'       : 'PRODUCTION',
+                           'server.tls.enabled': 'TRUE',
+                           'server.maxBytes'   : '1048576'])
+
+        when:
+        def config = ServerConfigConfigBinder.bind(properties)
+
+        then:
+        config.host == 'localhost'
+        config.port == 8080
+        config.timeout == Duration.ofSeconds(30)
+        config.mode == ServerConfig.Mode.PRODUCTION
+        config.tls
+        config.separator == ',' as char
+        config.maxBytes == 1048576L
+    }
+
+    def "Generated binder parses durations"() {
+        given:
+        def source = ['db.url': 'jdbc:h2:mem', 'server.host': 'h', 'server.port': '1', 'server.mode': 'DEVELOPMENT',
+                      'server.maxBytes': '1', 'server.timeout': value]
+
+        expect:
+        ServerConfigConfigBinder.bind(source).timeout == expected
+
+        where:
+        value    | expected
+        '250ms'  | Duration.ofMillis(250)
+        '2 m'    | Duration.ofMinutes(2)
+        '1d'     | Duration.ofDays(1)
+        'PT1.5S' | Duration.ofMillis(1500)
+    }
+
+    def "Generated binder reports all missing and invalid keys"() {
+        when:
+        ServerConfigConfigBinder.bind(['server.port': 'http', 'server.mode': 'TEST', 'server.timeout': '5 weeks'])
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains('Missing key server.host')
+        e.message.contains("Invalid value 'http' of key server.port, expected int")
+        e.message.contains("Invalid value 'TEST' of key server.mode, expected one of [DEVELOPMENT, PRODUCTION]")
+        e.message.contains("Invalid value '5 weeks' of key server.timeout, expected duration")
+        e.message.contains('Missing key server.maxBytes')
+        !e.message.contains('tls')
+    }
+
+    def "Generated binder for nested classes"() {
+        expect:
+        ServerConfig_DatabaseConfigBinder.bind(['db.url': 'jdbc:h2:mem']).poolSize == 8
+        ServerConfig_DatabaseConfigBinder.bind(['db.url': 'jdbc:h2:mem', 'db.pool.size': '16']).poolSize == 16
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.config;
+
+import java.time.Duration;
+
+/**
+ * Test class for the configuration binder generation.
+ *
+ * @author lreimer
+ */
+@ConfigSupport(prefix = "server")
+public class ServerConfig {
+    String host;
+    int port;
+    @ConfigProperty(defaultValue = "30s")
+    Duration timeout;
+    Mode mode;
+    @ConfigProperty(key = "tls.enabled", optional = true)
+    Boolean tls = Boolean.FALSE;
+    @ConfigProperty(defaultValue = ",")
+    char separator;
+    private long maxBytes;
+    transient Object cache;
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The server mode.
+     */
+    public enum Mode {
+        DEVELOPMENT, PRODUCTION
+    }
+
+    /**
+     * A nested configuration class.
+     */
+    @ConfigSupport(prefix = "db")
+    public static class Database {
+        String url;
+        @ConfigProperty(key = "pool.size", defaultValue = "8")
+        int poolSize;
+    }
+}
@@ -24,23 +24,27 @@
 package de.qaware.emergen.apt.enforcer.internal;
 
 import de.qaware.emergen.apt.enforcer.EnforcerSupport;
+import de.qaware.emergen.core.TypeModelCache;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedOptions;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.QualifiedNameable;
 import javax.lang.model.element.TypeElement;
-import javax.script.Invocable;
-import javax.script.ScriptEngine;
-import javax.script.ScriptEngineManager;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
 import javax.script.ScriptException;
 import javax.tools.Diagnostic;
+import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -48,7 +52,9 @@ import java.util.*;
  *
  * @author lreimer
  */
-@SupportedOptions({DesignEnforcerProcessor.ENFORCER_ANNOTATIONS, DesignEnforcerProcessor.ENFORCER_RULES})
+@SupportedOptions({DesignEnforcerProcessor.ENFORCER_ANNOTATIONS, DesignEnforcerProcessor.ENFORCER_RULES,
+        DesignEnforcerProcessor.ENFORCER_CACHE, DesignEnforcerProcessor.ENFORCER_PROFILE,
+        DesignEnforcerProcessor.ENFORCER_PROFILE_BUDGET, DesignEnforcerProcessor.ENFORCER_ENGINE})
 public class DesignEnforcerProcessor extends AbstractProcessor {
 
     /**
@@ -73,16 +79,55 @@ public class DesignEnforcerProcessor extends AbstractProcessor {
      */
     public static final String ENFORCER_RULES = "enforcer.rules";
 
-    private ScriptEngine engine;
+    /**
+     * The path to a file used to cache the rule verdicts between compilations, e.g. in the build directory.
+     * Elements whose fingerprint did not change since the last compilation with the same rules are not
+     * evaluated again. The cache is disabled if not set.
+     */
+    public static final String ENFORCER_CACHE = "enforcer.cache";
+
+    /**
+     * Enables the profiling of the enforcer rules if set to true. The time and invocation count of each rule,
+     * the slowest elements per rule and the engine initialization time are reported as compiler note.
+     */
+    public static final String ENFORCER_PROFILE = "enforcer.profile";
+
+    /**
+     * The time budget per rule in milliseconds. A warning is issued for each rule whose total time exceeds
+     * the budget. Only applicable if {@link #ENFORCER_PROFILE} is enabled.
+     */
+    public static final String ENFORCER_PROFILE_BUDGET = "enforcer.profile.budget";
+
+    /**
+     * The script engine used to evaluate the rules. Supported are nashorn (the default), graal.js and groovy.
+     * Groovy rules are statically compiled methods, e.g. <code>boolean enforce(TypeElement annotation, Element element)</code>.
+     */
+    public static final String ENFORCER_ENGINE = "enforcer.engine";
+
+    private RuleEngine engine;
     private Set<String> supportedAnnotationTypes;
+    private EnforcerResultCache cache;
+    private final Set<String> compiledTypes = new HashSet<>();
+    private EnforcerProfiler profiler;
+    private TypeModelCache typeModelCache;
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
-        if (annotations.isEmpty()) {
+        if (roundEnv.processingOver()) {
+            saveCache();
+            reportProfile();
+        }
+
+        if (cache != null) {
+            collectCompiledTypes(roundEnv.getRootElements());
+        }
+
+        if (annotations.isEmpty() || engine == null) {
             return false;
         }
 
-        Invocable invocable = (Invocable) engine;
+        TypeModelCache typeModels = typeModelCache.forRound(processingEnv, roundEnv);
+
         for (TypeElement typeElement : annotations) {
             for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
                 EnforcerSupport enforcerSupport = element.getAnnotation(EnforcerSupport.class);
@@ -92,7 +137,24 @@ public class DesignEnforcerProcessor extends AbstractProcessor {
 
                 try {
                     String functionName = getFunctionName(enforcerSupport);
-                    Boolean valid = (Boolean) invocable.invokeFunction(functionName, typeElement, element);
+                    String fingerprint = null;
+                    Boolean valid = null;
+                    if (cache != null) {
+                        fingerprint = EnforcerResultCache.fingerprint(element, typeModels);
+                        valid = cache.lookup(functionName, typeElement, element, fingerprint);
+                    }
+
+                    if (valid == null) {
+                        long start = System.nanoTime();
+                        valid = engine.evaluate(functionName, typeElement, element);
+                        if (profiler != null) {
+                            profiler.record(functionName, element, System.nanoTime() - start);
+                        }
+                        if (cache != null) {
+                            cache.store(functionName, typeElement, element, fingerprint, valid);
+                        }
+                    }
+
                     if (!valid) {
                         processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Error enforcing design rules.", element);
                     }
@@ -118,24 +180,108 @@ public class DesignEnforcerProcessor extends AbstractProcessor {
         return enforcerSupport == null || enforcerSupport.value();
     }
 
+    private void collectCompiledTypes(final Collection<? extends Element> elements) {
+        for (Element element : elements) {
+            if (element instanceof QualifiedNameable) {
+                compiledTypes.add(((QualifiedNameable) element).getQualifiedName().toString());
+            }
+            if (element instanceof TypeElement) {
+                collectCompiledTypes(ElementFilter.typesIn(element.getEnclosedElements()));
+            }
+        }
+    }
+
+    private void loadCache() {
+        try {
+            cache.load();
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to load enforcer cache: " + e.getMessage());
+        }
+    }
+
+    private void saveCache() {
+        if (cache == null) {
+            return;
+        }
+
+        try {
+            Elements elements = processingEnv.getElementUtils();
+            cache.prune(compiledTypes, name -> elements.getTypeElement(name) != null || elements.getPackageElement(name) != null);
+            cache.save();
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, cache.getStatistics());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to save enforcer cache: " + e.getMessage());
+        }
+    }
+
+    private void reportProfile() {
+        if (profiler == null) {
+            return;
+        }
+
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.NOTE, profiler.getReport());
+        for (EnforcerProfiler.RuleProfile profile : profiler.getOverBudget()) {
+            messager.printMessage(Diagnostic.Kind.WARNING, "Enforcer rule " + profile.getRule() + " exceeded its time budget: "
+                    + EnforcerProfiler.millis(profile.getTotalNanos()) + " in " + profile.getInvocations() + " invocations");
+        }
+    }
+
+    private String readRules(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            content.write(buffer, 0, read);
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init(processingEnv);
-
-        engine = new ScriptEngineManager().getEngineByName("nashorn");
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
 
         // read the options for this processor
         Map<String, String> options = processingEnv.getOptions();
 
+        if (Boolean.parseBoolean(options.get(ENFORCER_PROFILE))) {
+            String budget = options.getOrDefault(ENFORCER_PROFILE_BUDGET, "0");
+            try {
+                profiler = new EnforcerProfiler(Long.parseLong(budget));
+            } catch (NumberFormatException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                        "Invalid " + ENFORCER_PROFILE_BUDGET + " option, expected milliseconds: " + budget);
+            }
+        }
+
         String annotations = options.getOrDefault(ENFORCER_ANNOTATIONS, "de.qaware.emergen.apt.enforcer.EnforcerSupport");
         this.supportedAnnotationTypes = new HashSet<>(Arrays.asList(annotations.split(",")));
 
+        long start = System.nanoTime();
+        try {
+            engine = RuleEngine.getInstance(options.getOrDefault(ENFORCER_ENGINE, "nashorn"));
+        } catch (IllegalArgumentException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage());
+            return;
+        }
+
         String rules = options.get(ENFORCER_RULES);
-        InputStream defaultRules = getClass().getResourceAsStream("/default-rules.js");
+        InputStream defaultRules = getClass().getResourceAsStream(engine.getDefaultRules());
 
         try (InputStream inputStream = (rules == null) ? defaultRules : new FileInputStream(rules)) {
-            // now initialize the JavaScript engine with the rules
-            engine.eval(new InputStreamReader(inputStream));
+            // now initialize the script engine with the rules
+            String script = readRules(inputStream);
+            engine.load(script);
+            if (profiler != null) {
+                profiler.initialized(System.nanoTime() - start);
+            }
+
+            String cacheFile = options.get(ENFORCER_CACHE);
+            if (cacheFile != null) {
+                cache = new EnforcerResultCache(Paths.get(cacheFile), script);
+                loadCache();
+            }
         } catch (ScriptException | IOException e) {
             processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage());
         }
@@ -0,0 +1,194 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.enforcer.internal;
+
+import javax.lang.model.element.Element;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the cost of the design enforcer rules. For each rule the number of invocations, the total time
+ * and the slowest elements are recorded, as well as the time needed to initialize the script engine.
+ *
+ * @author lreimer
+ */
+class EnforcerProfiler {
+
+    private static final int SLOWEST_ELEMENTS = 5;
+
+    private final long budgetNanos;
+    private final Map<String, RuleProfile> profiles = new HashMap<>();
+    private long initializationNanos;
+
+    /**
+     * Initialize the profiler with the given time budget per rule.
+     *
+     * @param budgetMillis the budget in milliseconds, zero or negative to disable
+     */
+    EnforcerProfiler(final long budgetMillis) {
+        this.budgetNanos = TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * Record the time needed to initialize the script engine and evaluate the rules.
+     *
+     * @param nanos the initialization time in nanoseconds
+     */
+    void initialized(final long nanos) {
+        initializationNanos += nanos;
+    }
+
+    /**
+     * Record a single rule invocation for the given element.
+     *
+     * @param rule    the rule name
+     * @param element the element the rule has been invoked for
+     * @param nanos   the invocation time in nanoseconds
+     */
+    void record(final String rule, final Element element, final long nanos) {
+        profiles.computeIfAbsent(rule, RuleProfile::new).record(element, nanos);
+    }
+
+    /**
+     * Returns the rule profiles ranked by their total time, slowest first.
+     *
+     * @return the ranked rule profiles
+     */
+    List<RuleProfile> getRanking() {
+        List<RuleProfile> ranking = new ArrayList<>(profiles.values());
+        ranking.sort(Comparator.comparingLong(RuleProfile::getTotalNanos).reversed());
+        return ranking;
+    }
+
+    /**
+     * Returns the rule profiles whose total time exceeds the configured budget.
+     *
+     * @return the rule profiles over budget, slowest first
+     */
+    List<RuleProfile> getOverBudget() {
+        List<RuleProfile> overBudget = new ArrayList<>();
+        if (budgetNanos > 0) {
+            for (RuleProfile profile : getRanking()) {
+                if (profile.getTotalNanos() > budgetNanos) {
+                    overBudget.add(profile);
+                }
+            }
+        }
+        return overBudget;
+    }
+
+    /**
+     * Returns the multi line profiling report with all rules ranked by their total time.
+     *
+     * @return the report
+     */
+    String getReport() {
+        StringBuilder report = new StringBuilder("Enforcer profile: engine initialization ")
+                .append(millis(initializationNanos));
+
+        int rank = 1;
+        for (RuleProfile profile : getRanking()) {
+            report.append(String.format(Locale.ENGLISH, "%n%2d. %s: %s in %d invocations", rank++,
+                    profile.getRule(), millis(profile.getTotalNanos()), profile.getInvocations()));
+            for (ElementTiming timing : profile.getSlowest()) {
+                report.append(String.format(Locale.ENGLISH, "%n      %s %s", millis(timing.nanos), timing.element));
+            }
+        }
+
+        return report.toString();
+    }
+
+    static String millis(final long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f ms", nanos / 1_000_000.0d);
+    }
+
+    /**
+     * The recorded cost of a single rule.
+     */
+    static class RuleProfile {
+        private final String rule;
+        private final PriorityQueue<ElementTiming> slowest = new PriorityQueue<>(Comparator.comparingLong(t -> t.nanos));
+        private int invocations;
+        private long totalNanos;
+
+        RuleProfile(final String rule) {
+            this.rule = rule;
+        }
+
+        void record(final Element element, final long nanos) {
+            invocations++;
+            totalNanos += nanos;
+
+            // keep the N slowest elements, the fastest one is at the head of the queue
+            if (slowest.size() < SLOWEST_ELEMENTS) {
+                slowest.add(new ElementTiming(element.toString(), nanos));
+            } else if (slowest.peek().nanos < nanos) {
+                slowest.poll();
+                slowest.add(new ElementTiming(element.toString(), nanos));
+            }
+        }
+
+        String getRule() {
+            return rule;
+        }
+
+        int getInvocations() {
+            return invocations;
+        }
+
+        long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Returns the slowest elements of this rule, slowest first.
+         *
+         * @return the slowest element timings
+         */
+        List<ElementTiming> getSlowest() {
+            List<ElementTiming> timings = new ArrayList<>(slowest);
+            timings.sort(Comparator.comparingLong((ElementTiming t) -> t.nanos).reversed());
+            return timings;
+        }
+    }
+
+    /**
+     * The time a rule needed for a single element.
+     */
+    static class ElementTiming {
+        private final String element;
+        private final long nanos;
+
+        ElementTiming(final String element, final long nanos) {
+            this.element = element;
+            this.nanos = nanos;
+        }
+    }
+}
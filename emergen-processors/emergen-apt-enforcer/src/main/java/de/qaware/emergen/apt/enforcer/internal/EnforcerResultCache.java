@@ -0,0 +1,278 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.enforcer.internal;
+
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.QualifiedNameable;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * A persistent cache for the verdicts of the design enforcer rules. Each entry maps the identity of an
+ * annotated element and the rule name to a fingerprint of the element and the last verdict. The
+ * fingerprint covers everything a rule can see via the language model: signature, modifiers, annotations,
+ * super types and members. The whole cache is discarded as soon as the rules change. Before saving, the
+ * entries of removed elements are pruned.
+ *
+ * @author lreimer
+ */
+class EnforcerResultCache {
+
+    private static final String RULES_HASH_KEY = "enforcer.rules.hash";
+    private static final char SEPARATOR = '|';
+
+    private final Path file;
+    private final String rulesHash;
+    private final Properties entries = new Properties();
+    private final Set<String> seen = new HashSet<>();
+
+    private int hits;
+    private int misses;
+    private int pruned;
+
+    /**
+     * Initialize the cache for the given cache file and rules.
+     *
+     * @param file  the cache file
+     * @param rules the rules script content
+     */
+    EnforcerResultCache(final Path file, final String rules) {
+        this.file = file;
+        this.rulesHash = hash(rules);
+    }
+
+    /**
+     * Load the cache entries from the cache file. Entries produced with different rules are ignored.
+     *
+     * @throws IOException in case of an error reading the cache file
+     */
+    void load() throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        Properties stored = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            stored.load(inputStream);
+        }
+
+        if (rulesHash.equals(stored.getProperty(RULES_HASH_KEY))) {
+            stored.remove(RULES_HASH_KEY);
+            entries.putAll(stored);
+        }
+    }
+
+    /**
+     * Save all cache entries to the cache file.
+     *
+     * @throws IOException in case of an error writing the cache file
+     */
+    void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Properties stored = new Properties();
+        stored.putAll(entries);
+        stored.setProperty(RULES_HASH_KEY, rulesHash);
+        try (OutputStream outputStream = Files.newOutputStream(file)) {
+            stored.store(outputStream, "EmerGen design enforcer cache");
+        }
+    }
+
+    /**
+     * Lookup the cached verdict for the given rule, annotation and element.
+     *
+     * @param rule        the rule name
+     * @param annotation  the annotation
+     * @param element     the annotated element
+     * @param fingerprint the current fingerprint of the element
+     * @return the cached verdict, or null if the element or the rule changed
+     */
+    Boolean lookup(final String rule, final TypeElement annotation, final Element element, final String fingerprint) {
+        String identity = identity(rule, annotation, element);
+        seen.add(identity);
+        String value = entries.getProperty(identity);
+        if (value != null && value.startsWith(fingerprint) && value.length() > fingerprint.length()) {
+            hits++;
+            return Boolean.valueOf(value.substring(fingerprint.length() + 1));
+        }
+
+        misses++;
+        return null;
+    }
+
+    /**
+     * Store the verdict for the given rule, annotation and element.
+     *
+     * @param rule        the rule name
+     * @param annotation  the annotation
+     * @param element     the annotated element
+     * @param fingerprint the current fingerprint of the element
+     * @param verdict     the rule verdict
+     */
+    void store(final String rule, final TypeElement annotation, final Element element, final String fingerprint,
+               final boolean verdict) {
+        String identity = identity(rule, annotation, element);
+        seen.add(identity);
+        entries.setProperty(identity, fingerprint + SEPARATOR + verdict);
+    }
+
+    /**
+     * Remove the entries of elements that no longer exist. An entry of a type compiled in this run that was
+     * not looked up belongs to a removed or no longer annotated element. Entries of other types are kept as
+     * long as the type or package still exists.
+     *
+     * @param compiled the qualified names of the types and packages compiled in this run
+     * @param exists   checks if a type or package with the given qualified name exists
+     */
+    void prune(final Set<String> compiled, final Predicate<String> exists) {
+        int size = entries.size();
+        entries.keySet().removeIf(key -> {
+            if (seen.contains(key)) {
+                return false;
+            }
+            String owner = owner((String) key);
+            return compiled.contains(owner) || !exists.test(owner);
+        });
+        pruned += size - entries.size();
+    }
+
+    /**
+     * Returns a one line summary of the cache statistics.
+     *
+     * @return the statistics summary
+     */
+    String getStatistics() {
+        int lookups = hits + misses;
+        double hitRate = (lookups == 0) ? 0.0d : (100.0d * hits / lookups);
+        return String.format(Locale.ENGLISH, "Enforcer cache: %d hits, %d misses, %.1f%% hit rate, %d entries, %d pruned in %s",
+                hits, misses, hitRate, entries.size(), pruned, file);
+    }
+
+    private static String identity(final String rule, final TypeElement annotation, final Element element) {
+        return rule + SEPARATOR + annotation.getQualifiedName() + SEPARATOR + path(element);
+    }
+
+    /**
+     * Returns the qualified name of the type or package of an entry identity, which ends with the element path.
+     */
+    private static String owner(final String identity) {
+        String path = identity.substring(identity.indexOf(SEPARATOR, identity.indexOf(SEPARATOR) + 1) + 1);
+        int member = path.indexOf('#');
+        return (member < 0) ? path : path.substring(0, member);
+    }
+
+    private static String path(final Element element) {
+        if (element instanceof QualifiedNameable) {
+            return ((QualifiedNameable) element).getQualifiedName().toString();
+        }
+
+        Element enclosing = element.getEnclosingElement();
+        return (enclosing == null ? "" : path(enclosing)) + '#' + element;
+    }
+
+    /**
+     * Calculate a stable fingerprint of the given element.
+     *
+     * @param element    the element
+     * @param typeModels the type models of the current round
+     * @return the fingerprint as hex string
+     */
+    static String fingerprint(final Element element, final TypeModelCache typeModels) {
+        StringBuilder description = new StringBuilder();
+        describe(element, typeModels, description);
+        return hash(description.toString());
+    }
+
+    private static void describe(final Element element, final TypeModelCache typeModels, final StringBuilder description) {
+        description.append(element.getKind()).append(' ').append(element).append(' ').append(element.asType());
+
+        Set<String> modifiers = new TreeSet<>();
+        for (Modifier modifier : element.getModifiers()) {
+            modifiers.add(modifier.toString());
+        }
+        description.append(' ').append(modifiers);
+
+        for (AnnotationMirror annotationMirror : element.getAnnotationMirrors()) {
+            description.append(' ').append(annotationMirror);
+        }
+
+        if (element instanceof TypeElement) {
+            // the full type mirrors include the type arguments, the erased names cover the inherited hierarchy
+            TypeElement typeElement = (TypeElement) element;
+            description.append(" extends ").append(typeElement.getSuperclass());
+            for (TypeMirror interfaceMirror : typeElement.getInterfaces()) {
+                description.append(" implements ").append(interfaceMirror);
+            }
+
+            TypeModel typeModel = typeModels.get(typeElement);
+            description.append(" hierarchy ").append(typeModel.getSuperclassNames()).append(' ').append(typeModel.getAllInterfaceNames());
+        }
+        description.append('\n');
+
+        // the members of a package are separate compilation units, they are fingerprinted on their own
+        if (element.getKind() != ElementKind.PACKAGE) {
+            for (Element child : element.getEnclosedElements()) {
+                describe(child, typeModels, description);
+            }
+        }
+    }
+
+    private static String hash(final String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = digest.digest(content.getBytes(StandardCharsets.UTF_8));
+
+            StringBuilder hex = new StringBuilder(bytes.length * 2);
+            for (byte b : bytes) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.enforcer.internal;
+
+import groovy.lang.GroovyShell;
+import groovy.lang.Script;
+import groovy.transform.CompileStatic;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.ASTTransformationCustomizer;
+import org.codehaus.groovy.control.customizers.ImportCustomizer;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.script.ScriptException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A RuleEngine implementation for Groovy. The rules are statically compiled to byte code, each rule is a
+ * method of the script accepting the annotation and the element, e.g.
+ * <code>boolean enforce(TypeElement annotation, Element element)</code>.
+ *
+ * @author lreimer
+ */
+class GroovyRuleEngine implements RuleEngine {
+
+    private final Map<String, Method> rules = new HashMap<>();
+    private Script script;
+
+    @Override
+    public String getDefaultRules() {
+        return "/default-rules.groovy";
+    }
+
+    @Override
+    public void load(final String rules) throws ScriptException {
+        CompilerConfiguration configuration = new CompilerConfiguration();
+        configuration.addCompilationCustomizers(
+                new ImportCustomizer().addStarImports("javax.lang.model.element", "javax.lang.model.type"),
+                new ASTTransformationCustomizer(CompileStatic.class));
+
+        try {
+            script = new GroovyShell(getClass().getClassLoader(), configuration).parse(rules);
+            script.run();
+        } catch (CompilationFailedException e) {
+            throw new ScriptException(e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean evaluate(final String rule, final TypeElement annotation, final Element element)
+            throws ScriptException, NoSuchMethodException {
+        try {
+            return Boolean.TRUE.equals(getRule(rule).invoke(script, annotation, element));
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            ScriptException scriptException = new ScriptException("Error evaluating rule " + rule);
+            scriptException.initCause(e);
+            throw scriptException;
+        }
+    }
+
+    private Method getRule(final String rule) throws NoSuchMethodException {
+        Method method = rules.get(rule);
+        if (method == null) {
+            for (Method candidate : script.getClass().getMethods()) {
+                if (candidate.getName().equals(rule) && candidate.getParameterCount() == 2) {
+                    method = candidate;
+                    rules.put(rule, method);
+                }
+            }
+        }
+
+        if (method == null) {
+            throw new NoSuchMethodException("No such rule: " + rule);
+        }
+        return method;
+    }
+}
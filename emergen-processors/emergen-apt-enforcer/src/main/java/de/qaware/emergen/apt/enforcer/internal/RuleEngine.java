@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.enforcer.internal;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.script.ScriptException;
+import java.util.Locale;
+
+/**
+ * The interface definition for the script backends used to evaluate the design enforcer rules.
+ *
+ * @author lreimer
+ */
+interface RuleEngine {
+
+    /**
+     * Get a RuleEngine instance for the given engine name. Supported are nashorn, graal.js and groovy,
+     * any other name is looked up as JSR 223 script engine.
+     *
+     * @param name the engine name
+     * @return a suitable rule engine
+     * @throws IllegalArgumentException if the engine is not available
+     */
+    static RuleEngine getInstance(final String name) {
+        String engineName = name.toLowerCase(Locale.ENGLISH);
+        if ("groovy".equals(engineName)) {
+            try {
+                Class.forName("org.codehaus.groovy.control.CompilerConfiguration", false, RuleEngine.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Enforcer engine groovy is not available. Add org.codehaus.groovy:groovy "
+                        + "to the annotation processor path or select another engine with -Aenforcer.engine.");
+            }
+            return new GroovyRuleEngine();
+        }
+
+        return new ScriptEngineRuleEngine("graaljs".equals(engineName) ? "graal.js" : engineName);
+    }
+
+    /**
+     * Returns the classpath resource of the default rules for this engine.
+     *
+     * @return the default rules resource name
+     */
+    String getDefaultRules();
+
+    /**
+     * Load the given rules script. Implementations compile the rules using the fastest execution mode available.
+     *
+     * @param rules the rules script content
+     * @throws ScriptException in case the rules can not be compiled or evaluated
+     */
+    void load(String rules) throws ScriptException;
+
+    /**
+     * Evaluate the rule with the given name.
+     *
+     * @param rule       the rule name
+     * @param annotation the currently processed annotation
+     * @param element    the annotated element
+     * @return true if the rule is satisfied, otherwise false
+     * @throws ScriptException       in case of an error evaluating the rule
+     * @throws NoSuchMethodException if the rule is not defined
+     */
+    boolean evaluate(String rule, TypeElement annotation, Element element) throws ScriptException, NoSuchMethodException;
+}
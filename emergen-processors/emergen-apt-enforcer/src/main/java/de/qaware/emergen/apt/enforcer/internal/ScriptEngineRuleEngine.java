@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.enforcer.internal;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.Invocable;
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptEngineManager;
+import javax.script.ScriptException;
+
+/**
+ * A RuleEngine implementation for JSR 223 script engines, like Nashorn or GraalVM JavaScript.
+ * The rules are compiled once if the engine supports it.
+ *
+ * @author lreimer
+ */
+class ScriptEngineRuleEngine implements RuleEngine {
+
+    private final ScriptEngine engine;
+
+    /**
+     * Initialize the rule engine using the JSR 223 engine with the given name.
+     *
+     * @param engineName the JSR 223 engine name
+     * @throws IllegalArgumentException if the engine is not available
+     */
+    ScriptEngineRuleEngine(final String engineName) {
+        engine = new ScriptEngineManager(getClass().getClassLoader()).getEngineByName(engineName);
+        if (engine == null) {
+            throw new IllegalArgumentException("Enforcer engine " + engineName + " is not available. Nashorn has been "
+                    + "removed with JDK 15, add the engine to the annotation processor path or select another engine "
+                    + "with -Aenforcer.engine=nashorn|graal.js|groovy.");
+        }
+        if (!(engine instanceof Invocable)) {
+            throw new IllegalArgumentException("Enforcer engine " + engineName + " does not support function invocation.");
+        }
+
+        if ("graal.js".equals(engineName)) {
+            // the rules need access to the javax.lang.model objects
+            Bindings bindings = engine.getBindings(ScriptContext.ENGINE_SCOPE);
+            bindings.put("polyglot.js.allowHostAccess", true);
+            bindings.put("polyglot.js.allowHostClassLookup", true);
+        }
+    }
+
+    @Override
+    public String getDefaultRules() {
+        return "/default-rules.js";
+    }
+
+    @Override
+    public void load(final String rules) throws ScriptException {
+        if (engine instanceof Compilable) {
+            ((Compilable) engine).compile(rules).eval();
+        } else {
+            engine.eval(rules);
+        }
+    }
+
+    @Override
+    public boolean evaluate(final String rule, final TypeElement annotation, final Element element)
+            throws ScriptException, NoSuchMethodException {
+        return Boolean.TRUE.equals(((Invocable) engine).invokeFunction(rule, annotation, element));
+    }
+}
@@ -27,6 +27,8 @@ import com.google.testing.compile.Compilation
 import com.google.testing.compile.JavaFileObjects
 import spock.lang.Specification
 
+import java.nio.file.Files
+
 import static com.google.testing.compile.Compiler.javac
 
 class DesignEnforcerProcessorSpec extends Specification {
@@ -72,4 +74,170 @@ class DesignEnforcerProcessorSpec extends Specification {
         expect:
         compilation.status() == Compilation.Status.FAILURE
     }
+
+    def "Process EnforcerSupport annotation on SomeClass with enforcer cache"() {
+        given:
+        def cacheFile = Files.createTempDirectory("enforcer").resolve("cache.properties")
+        def processor = {
+            javac().withProcessors(new DesignEnforcerProcessor())
+                    .withOptions("-Aenforcer.cache=${cacheFile}")
+                    .compile(JavaFileObjects.forResource("SomeClass.java"))
+        }
+
+        when:
+        def first = processor()
+        def second = processor()
+
+        then:
+        first.status() == Compilation.Status.SUCCESS
+        first.notes().any { it.getMessage(null).startsWith("Enforcer cache: 0 hits, 1 misses") }
+        second.status() == Compilation.Status.SUCCESS
+        second.notes().any { it.getMessage(null).startsWith("Enforcer cache: 1 hits, 0 misses") }
+        Files.exists(cacheFile)
+    }
+
+    def "Process EnforcerSupport annotation with enforcer cache pruning removed elements"() {
+        given:
+        def cacheFile = Files.createTempDirectory("enforcer").resolve("cache.properties")
+        def otherClass = { String annotation ->
+            JavaFileObjects.forSourceString("de.qaware.emergen.apt.enforcer.OtherClass", """
+                package de.qaware.emergen.apt.enforcer;
+
+                ${annotation}
+                public class OtherClass {
+                }
+            """)
+        }
+        def processor = { sources ->
+            javac().withProcessors(new DesignEnforcerProcessor())
+                    .withOptions("-Aenforcer.cache=${cacheFile}")
+                    .compile(sources)
+        }
+
+        when: 'the annotation is removed from a compiled class'
+        processor([JavaFileObjects.forResource("SomeClass.java"), otherClass("@EnforcerSupport")])
+        def unannotated = processor([JavaFileObjects.forResource("SomeClass.java"), otherClass("")])
+
+        then:
+        unannotated.status() == Compilation.Status.SUCCESS
+        unannotated.notes().any { it.getMessage(null).startsWith("Enforcer cache: 1 hits, 0 misses, 100.0% hit rate, 1 entries, 1 pruned") }
+
+        when: 'a class is deleted'
+        processor([JavaFileObjects.forResource("SomeClass.java"), otherClass("@EnforcerSupport")])
+        def deleted = processor([JavaFileObjects.forResource("SomeClass.java")])
+
+        then:
+        deleted.status() == Compilation.Status.SUCCESS
+        deleted.notes().any { it.getMessage(null).startsWith("Enforcer cache: 1 hits, 0 misses, 100.0% hit rate, 1 entries, 1 pruned") }
+        !cacheFile.text.contains("OtherClass")
+    }
+
+    def "Process EnforcerSupport annotation on SomeClass with changed type arguments"() {
+        given:
+        def cacheFile = Files.createTempDirectory("enforcer").resolve("cache.properties")
+        def processor = { String typeArgument ->
+            javac().withProcessors(new DesignEnforcerProcessor())
+                    .withOptions("-Aenforcer.cache=${cacheFile}")
+                    .compile(JavaFileObjects.forSourceString("de.qaware.emergen.apt.enforcer.SomeClass", """
+                        package de.qaware.emergen.apt.enforcer;
+
+                        @EnforcerSupport
+                        public abstract class SomeClass implements Comparable<${typeArgument}> {
+                        }
+                    """))
+        }
+
+        when:
+        processor("String")
+        def compilation = processor("Integer")
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.notes().any { it.getMessage(null).startsWith("Enforcer cache: 0 hits, 1 misses") }
+    }
+
+    def "Process EnforcerSupport annotation on TestBean with cached violation"() {
+        given:
+        def cacheFile = Files.createTempDirectory("enforcer").resolve("cache.properties")
+        def processor = {
+            javac().withProcessors(new DesignEnforcerProcessor())
+                    .withOptions("-Aenforcer.rules=src/test/resources/test-rules.js", "-Aenforcer.cache=${cacheFile}")
+                    .compile(JavaFileObjects.forResource("TestBean.java"))
+        }
+
+        when:
+        processor()
+        def compilation = processor()
+
+        then:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.notes().any { it.getMessage(null).startsWith("Enforcer cache: 1 hits") }
+    }
+
+    def "Process EnforcerSupport annotation on SomeClass with enforcer profile"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new DesignEnforcerProcessor())
+                .withOptions("-Aenforcer.profile=true", "-Aenforcer.profile.budget=60000")
+                .compile(JavaFileObjects.forResource("SomeClass.java"), JavaFileObjects.forResource("SkippedClass.java"))
+
+        when:
+        def report = compilation.notes().collect { it.getMessage(null) }.find { it.startsWith("Enforcer profile") }
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.warnings().isEmpty()
+        report.contains("engine initialization")
+        report.contains(" 1. enforce: ")
+        report.contains("in 1 invocations")
+        report.contains("de.qaware.emergen.apt.enforcer.SomeClass")
+    }
+
+    def "Process EnforcerSupport annotation on SomeClass with invalid profile budget"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new DesignEnforcerProcessor())
+                .withOptions("-Aenforcer.profile=true", "-Aenforcer.profile.budget=1s")
+                .compile(JavaFileObjects.forResource("SomeClass.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().any { it.getMessage(null) == "Invalid enforcer.profile.budget option, expected milliseconds: 1s" }
+    }
+
+    def "Process EnforcerSupport annotation on SomeClass with groovy engine"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new DesignEnforcerProcessor())
+                .withOptions("-Aenforcer.engine=groovy")
+                .compile(JavaFileObjects.forResource("SomeClass.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+    }
+
+    def "Process EnforcerSupport annotation on TestBean with groovy engine and test-rules.groovy"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new DesignEnforcerProcessor())
+                .withOptions("-Aenforcer.engine=groovy", "-Aenforcer.rules=src/test/resources/test-rules.groovy")
+                .compile(JavaFileObjects.forResource("TestBean.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().size() == 1
+        compilation.errors()[0].getMessage(null) == "Error enforcing design rules."
+    }
+
+    def "Process EnforcerSupport annotation with unavailable engine"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new DesignEnforcerProcessor())
+                .withOptions("-Aenforcer.engine=unknown")
+                .compile(JavaFileObjects.forResource("SomeClass.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).startsWith("Enforcer engine unknown is not available.")
+    }
 }
@@ -0,0 +1,193 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A simple synchronous in-process event bus. Subscribers are registered using their generated subscriber
+ * indexes, which are looked up once per type using the ServiceLoader of the type's class loader. Events are
+ * dispatched to the handlers of their class, superclasses and interfaces. The handlers of each concrete event
+ * class are resolved once into a dispatch table, so posting events does not lock.
+ *
+ * @author lreimer
+ */
+public class EventBus {
+
+    private static final Subscription[] NO_SUBSCRIPTIONS = new Subscription[0];
+
+    private static final ClassValue<List<SubscriberIndex<?>>> INDEXES = new ClassValue<List<SubscriberIndex<?>>>() {
+        @Override
+        protected List<SubscriberIndex<?>> computeValue(final Class<?> type) {
+            List<SubscriberIndex<?>> indexes = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (SubscriberIndex<?> index : ServiceLoader.load(SubscriberIndex.class, current.getClassLoader())) {
+                    if (index.getSubscriberType() == current) {
+                        // superclass handlers are registered first
+                        indexes.add(0, index);
+                        break;
+                    }
+                }
+            }
+            return indexes;
+        }
+    };
+
+    private static final ClassValue<Class<?>[]> HIERARCHY = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(final Class<?> type) {
+            Set<Class<?>> hierarchy = new LinkedHashSet<>();
+            collect(type, hierarchy);
+            return hierarchy.toArray(new Class<?>[hierarchy.size()]);
+        }
+
+        private void collect(final Class<?> type, final Set<Class<?>> hierarchy) {
+            if (type != null && hierarchy.add(type)) {
+                collect(type.getSuperclass(), hierarchy);
+                for (Class<?> anInterface : type.getInterfaces()) {
+                    collect(anInterface, hierarchy);
+                }
+            }
+        }
+    };
+
+    private final Map<Class<?>, Subscription[]> subscriptions = new HashMap<>();
+    private final ConcurrentMap<Class<?>, EventHandler<Object>[]> dispatchTable = new ConcurrentHashMap<>();
+
+    /**
+     * Register the Subscribe annotated methods of the subscriber, including those of its superclasses.
+     *
+     * @param subscriber the subscriber
+     * @throws IllegalArgumentException if there is no subscriber index for the type of the subscriber
+     */
+    @SuppressWarnings("unchecked")
+    public void register(final Object subscriber) {
+        List<SubscriberIndex<?>> indexes = INDEXES.get(subscriber.getClass());
+        if (indexes.isEmpty()) {
+            throw new IllegalArgumentException("No subscriber index generated for " + subscriber.getClass().getName());
+        }
+        for (SubscriberIndex<?> index : indexes) {
+            ((SubscriberIndex<Object>) index).register(subscriber, this);
+        }
+    }
+
+    /**
+     * Remove all handlers of the subscriber.
+     *
+     * @param subscriber the subscriber
+     */
+    public synchronized void unregister(final Object subscriber) {
+        Iterator<Map.Entry<Class<?>, Subscription[]>> entries = subscriptions.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<Class<?>, Subscription[]> entry = entries.next();
+            Subscription[] remaining = Arrays.stream(entry.getValue())
+                    .filter(subscription -> subscription.owner != subscriber)
+                    .toArray(Subscription[]::new);
+            if (remaining.length == 0) {
+                entries.remove();
+            } else {
+                entry.setValue(remaining);
+            }
+        }
+        dispatchTable.clear();
+    }
+
+    /**
+     * Subscribe a single handler for events of the given type. Used by the generated subscriber indexes.
+     *
+     * @param owner     the owning subscriber, used to unregister the handler
+     * @param eventType the event type
+     * @param handler   the handler
+     * @param <E>       the event type
+     */
+    public synchronized <E> void subscribe(final Object owner, final Class<E> eventType, final EventHandler<? super E> handler) {
+        Subscription[] current = subscriptions.getOrDefault(eventType, NO_SUBSCRIPTIONS);
+        Subscription[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = new Subscription(owner, handler);
+        subscriptions.put(eventType, updated);
+        dispatchTable.clear();
+    }
+
+    /**
+     * Dispatch the event synchronously to all handlers of its type and super types. Exceptions
+     * thrown by the handlers are propagated to the caller.
+     *
+     * @param event the event
+     */
+    public void post(final Object event) {
+        EventHandler<Object>[] handlers = dispatchTable.get(event.getClass());
+        if (handlers == null) {
+            handlers = resolve(event.getClass());
+        }
+        for (EventHandler<Object> handler : handlers) {
+            handler.handle(event);
+        }
+    }
+
+    /**
+     * Resolve the handlers of the event type and its super types once, the dispatch table is
+     * cleared whenever the subscriptions change.
+     *
+     * @param eventType the concrete event type
+     * @return the handlers
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized EventHandler<Object>[] resolve(final Class<?> eventType) {
+        EventHandler<Object>[] handlers = dispatchTable.get(eventType);
+        if (handlers == null) {
+            List<EventHandler<?>> resolved = new ArrayList<>();
+            for (Class<?> type : HIERARCHY.get(eventType)) {
+                for (Subscription subscription : subscriptions.getOrDefault(type, NO_SUBSCRIPTIONS)) {
+                    resolved.add(subscription.handler);
+                }
+            }
+            handlers = (EventHandler<Object>[]) resolved.toArray(new EventHandler<?>[resolved.size()]);
+            dispatchTable.put(eventType, handlers);
+        }
+        return handlers;
+    }
+
+    /**
+     * A handler together with its owning subscriber.
+     */
+    private static final class Subscription {
+        private final Object owner;
+        private final EventHandler<?> handler;
+
+        private Subscription(final Object owner, final EventHandler<?> handler) {
+            this.owner = owner;
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.runtime;
+
+/**
+ * The index of the subscriber methods of a type. Implementations are generated at compile time for each
+ * class with Subscribe annotated methods, and bind the methods of a subscriber instance to the event bus
+ * using direct method references instead of reflection.
+ *
+ * @param <T> the subscriber type
+ * @author lreimer
+ */
+public interface SubscriberIndex<T> {
+
+    /**
+     * Returns the indexed subscriber type.
+     *
+     * @return the type
+     */
+    Class<T> getSubscriberType();
+
+    /**
+     * Returns the event types handled by the subscriber type, in declaration order of the methods.
+     *
+     * @return the event types
+     */
+    Class<?>[] getEventTypes();
+
+    /**
+     * Subscribe the handler methods of the subscriber at the event bus.
+     *
+     * @param subscriber the subscriber instance
+     * @param bus        the event bus
+     */
+    void register(T subscriber, EventBus bus);
+}
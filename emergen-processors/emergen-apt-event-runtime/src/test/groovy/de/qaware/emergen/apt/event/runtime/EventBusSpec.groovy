@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the event bus')
+class EventBusSpec extends Specification {
+
+    def bus = new EventBus()
+
+    def "Post events to the handlers of their type and super types"() {
+        given:
+        def received = []
+        bus.subscribe(this, String, { received << "string:$it".toString() } as EventHandler)
+        bus.subscribe(this, CharSequence, { received << "chars:$it".toString() } as EventHandler)
+        bus.subscribe(this, Integer, { received << "int:$it".toString() } as EventHandler)
+
+        when:
+        bus.post('hello')
+        bus.post(42)
+        bus.post(42L)
+
+        then:
+        received == ['string:hello', 'chars:hello', 'int:42']
+    }
+
+    def "Unregister removes all handlers of the subscriber"() {
+        given:
+        def owner = new Object()
+        def received = []
+        bus.subscribe(owner, String, { received << 'owner' } as EventHandler)
+        bus.subscribe(this, String, { received << 'other' } as EventHandler)
+
+        when:
+        bus.unregister(owner)
+        bus.post('hello')
+
+        then:
+        received == ['other']
+    }
+
+    def "Register fails for subscribers without index"() {
+        when:
+        bus.register(new Object())
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == 'No subscriber index generated for java.lang.Object'
+    }
+}
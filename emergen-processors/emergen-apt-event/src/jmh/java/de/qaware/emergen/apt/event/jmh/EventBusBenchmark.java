@@ -0,0 +1,109 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.jmh;
+
+import de.qaware.emergen.apt.event.runtime.EventBus;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the event bus using generated subscriber indexes with a reflective event bus
+ * that scans the subscriber methods and dispatches using Method.invoke, for registration and posting.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventBusBenchmark {
+
+    private final EventBus generatedBus = new EventBus();
+    private final ReflectiveBus reflectiveBus = new ReflectiveBus();
+    private final Integer event = 42;
+
+    @Setup
+    public void setUp() {
+        generatedBus.register(new BenchmarkSubscriber());
+        reflectiveBus.register(new BenchmarkSubscriber());
+    }
+
+    @Benchmark
+    public void postGenerated() {
+        generatedBus.post(event);
+    }
+
+    @Benchmark
+    public void postReflective() throws InvocationTargetException, IllegalAccessException {
+        reflectiveBus.post(event);
+    }
+
+    @Benchmark
+    public EventBus registerGenerated() {
+        EventBus bus = new EventBus();
+        bus.register(new BenchmarkSubscriber());
+        return bus;
+    }
+
+    @Benchmark
+    public ReflectiveBus registerReflective() {
+        ReflectiveBus bus = new ReflectiveBus();
+        bus.register(new BenchmarkSubscriber());
+        return bus;
+    }
+
+    /**
+     * The reflective baseline, scanning the public single parameter on methods of the subscriber.
+     */
+    public static class ReflectiveBus {
+        private final Map<Class<?>, List<Object[]>> handlers = new HashMap<>();
+
+        void register(final Object subscriber) {
+            for (Method method : subscriber.getClass().getMethods()) {
+                if (method.getName().startsWith("on") && method.getParameterCount() == 1) {
+                    handlers.computeIfAbsent(method.getParameterTypes()[0], type -> new ArrayList<>())
+                            .add(new Object[]{subscriber, method});
+                }
+            }
+        }
+
+        void post(final Object event) throws InvocationTargetException, IllegalAccessException {
+            List<Object[]> current = handlers.get(event.getClass());
+            if (current != null) {
+                for (Object[] handler : current) {
+                    ((Method) handler[1]).invoke(handler[0], event);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.internal;
+
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * An annotation processor implementation to generate the subscriber indexes for all types with
+ * Subscribe annotated methods. Like the ServiceLoaderSupportProcessor, the annotated elements are
+ * aggregated, here by their enclosing type, and the generated indexes are registered in a service
+ * loader file once processing is over.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.event.Subscribe"})
+public class EventSupportProcessor extends AbstractProcessor {
+
+    private static final String INDEX_TEMPLATE = "SubscriberIndex.vm";
+    private static final String SERVICE_FILE = "META-INF/services/de.qaware.emergen.apt.event.runtime.SubscriberIndex";
+    private static final String LINE_SEPARATOR = "line.separator";
+
+    private final List<String> indexes = new ArrayList<>();
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(INDEX_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() && !indexes.isEmpty()) {
+            writeServiceFile();
+        }
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        Messager messager = processingEnv.getMessager();
+        Elements elements = processingEnv.getElementUtils();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        // aggregate the subscriber methods by their enclosing type
+        Map<TypeElement, SubscriberIndexModel> subscribers = new LinkedHashMap<>();
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                ExecutableElement method = (ExecutableElement) element;
+                TypeElement subscriber = (TypeElement) method.getEnclosingElement();
+                String error = validate(method, subscriber);
+                if (error != null) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, error, method);
+                    continue;
+                }
+
+                SubscriberIndexModel indexModel = subscribers.computeIfAbsent(subscriber, type -> {
+                    TypeModel typeModel = cache.get(type);
+                    return new SubscriberIndexModel(typeModel.getPackageName(), typeModel.getQualifiedName(),
+                            elements.getBinaryName(type).toString());
+                });
+                TypeMirror eventType = method.getParameters().get(0).asType();
+                indexModel.addMethod(new SubscriberMethodModel(method.getSimpleName().toString(), eventType.toString()));
+            }
+        }
+
+        FileObjectGenerator generator = generators.getInstance(INDEX_TEMPLATE);
+        Filer filer = processingEnv.getFiler();
+        for (Map.Entry<TypeElement, SubscriberIndexModel> subscriber : subscribers.entrySet()) {
+            SubscriberIndexModel indexModel = subscriber.getValue();
+            messager.printMessage(Diagnostic.Kind.NOTE, "Generating subscriber index for " + indexModel.getSubscriberName());
+
+            Map<String, Object> context = new HashMap<>();
+            context.put("index", indexModel);
+
+            try {
+                JavaFileObject javaFileObject = filer.createSourceFile(indexModel.getCanonicalIndexName(), subscriber.getKey());
+                try (Writer writer = javaFileObject.openWriter()) {
+                    generator.generate(context, writer);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            indexes.add(indexModel.getCanonicalIndexName());
+        }
+
+        return true;
+    }
+
+    private static String validate(final ExecutableElement method, final TypeElement subscriber) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.STATIC)) {
+            return "Subscribe methods must not be private or static";
+        }
+        if (method.getParameters().size() != 1) {
+            return "Subscribe methods must have exactly one event parameter";
+        }
+        TypeMirror eventType = method.getParameters().get(0).asType();
+        if (eventType.getKind() != TypeKind.DECLARED || !((DeclaredType) eventType).getTypeArguments().isEmpty()) {
+            return "The event parameter must be of a non generic class or interface type";
+        }
+        if (subscriber.getKind() != ElementKind.CLASS || subscriber.getModifiers().contains(Modifier.PRIVATE)
+                || !subscriber.getTypeParameters().isEmpty()
+                || (subscriber.getNestingKind() != NestingKind.TOP_LEVEL && subscriber.getNestingKind() != NestingKind.MEMBER)) {
+            return "Subscribe methods are only supported in non private, non generic and non local classes";
+        }
+        return null;
+    }
+
+    private void writeServiceFile() {
+        Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.OTHER, "Writing service file " + SERVICE_FILE);
+
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE_FILE).openWriter()) {
+            for (String index : indexes) {
+                writer.write(index);
+                writer.write(System.getProperty(LINE_SEPARATOR));
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage());
+            throw new IllegalArgumentException("Error writing service file.", e);
+        }
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data model bean to represent the generated subscriber index of a type. Used during generation.
+ *
+ * @author lreimer
+ */
+public class SubscriberIndexModel {
+    private static final String INDEX_SUFFIX = "SubscriberIndex";
+
+    private final String packageName;
+    private final String subscriberName;
+    private final String indexName;
+    private final List<SubscriberMethodModel> methods = new ArrayList<>();
+
+    /**
+     * Initialize the subscriber index model.
+     *
+     * @param packageName    the package of the subscriber type
+     * @param subscriberName the canonical name of the subscriber type
+     * @param binaryName     the binary name of the subscriber type, used to derive the index name
+     */
+    SubscriberIndexModel(final String packageName, final String subscriberName, final String binaryName) {
+        this.packageName = packageName;
+        this.subscriberName = subscriberName;
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        this.indexName = simpleName.replace('$', '_').concat(INDEX_SUFFIX);
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getSubscriberName() {
+        return subscriberName;
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    /**
+     * The subscriber methods in declaration order.
+     *
+     * @return list of methods
+     */
+    public List<SubscriberMethodModel> getMethods() {
+        return methods;
+    }
+
+    void addMethod(final SubscriberMethodModel method) {
+        methods.add(method);
+    }
+
+    /**
+     * Returns the fully qualified name of the subscriber index.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalIndexName() {
+        return packageName.isEmpty() ? indexName : packageName + "." + indexName;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.event.OrderEvent
+import de.qaware.emergen.apt.event.OrderPlaced
+import de.qaware.emergen.apt.event.OrderService
+import de.qaware.emergen.apt.event.OrderServiceSubscriberIndex
+import de.qaware.emergen.apt.event.runtime.EventBus
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+import javax.tools.StandardLocation
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the event support annotation processor')
+class EventSupportProcessorSpec extends Specification {
+
+    static String STATIC_METHOD = """
+    package test;
+
+    public class StaticMethod {
+        @de.qaware.emergen.apt.event.Subscribe
+        static void on(String event) {
+        }
+    }
+    """
+
+    static String TWO_PARAMETERS = """
+    package test;
+
+    public class TwoParameters {
+        @de.qaware.emergen.apt.event.Subscribe
+        void on(String event, String other) {
+        }
+    }
+    """
+
+    static String GENERIC_EVENT = """
+    package test;
+
+    public class GenericEvent {
+        @de.qaware.emergen.apt.event.Subscribe
+        void on(java.util.List<String> event) {
+        }
+    }
+    """
+
+    static String PRIVATE_CLASS = """
+    package test;
+
+    public class PrivateClass {
+        private static class Hidden {
+            @de.qaware.emergen.apt.event.Subscribe
+            void on(String event) {
+            }
+        }
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new EventSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing OrderService"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new EventSupportProcessor())
+                .compile(JavaFileObjects.forResource("OrderEvent.java"), JavaFileObjects.forResource("OrderPlaced.java"),
+                JavaFileObjects.forResource("OrderService.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.event.OrderServiceSubscriberIndex").get().getCharContent(true).toString()
+        source.contains('bus.subscribe(subscriber, de.qaware.emergen.apt.event.OrderPlaced.class, subscriber::placed);')
+        source.contains('bus.subscribe(subscriber, de.qaware.emergen.apt.event.OrderEvent.class, subscriber::any);')
+        !source.contains('java.lang.reflect')
+        compilation.generatedSourceFile("de.qaware.emergen.apt.event.OrderService_AuditSubscriberIndex").isPresent()
+        def services = compilation.generatedFile(StandardLocation.CLASS_OUTPUT,
+                'META-INF/services/de.qaware.emergen.apt.event.runtime.SubscriberIndex').get().getCharContent(true).toString()
+        services.readLines() as Set == ['de.qaware.emergen.apt.event.OrderServiceSubscriberIndex',
+                                        'de.qaware.emergen.apt.event.OrderService_AuditSubscriberIndex'] as Set
+    }
+
+    def "Annotation processing fails for unsupported methods"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new EventSupportProcessor())
+                .compile(JavaFileObjects.forSourceString(name, source))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains(message)
+
+        where:
+        name                  | source         || message
+        'test.StaticMethod'   | STATIC_METHOD  || 'Subscribe methods must not be private or static'
+        'test.TwoParameters'  | TWO_PARAMETERS || 'Subscribe methods must have exactly one event parameter'
+        'test.GenericEvent'   | GENERIC_EVENT  || 'The event parameter must be of a non generic class or interface type'
+        'test.PrivateClass'   | PRIVATE_CLASS  || 'Subscribe methods are only supported in non private, non generic and non local classes'
+    }
+
+    def "Generated subscriber indexes dispatch events"() {
+        given:
+        def bus = new EventBus()
+        def service = new OrderService()
+        def audit = new OrderService.Audit()
+
+        when:
+        bus.register(service)
+        bus.register(audit)
+        bus.post(new OrderPlaced('4711'))
+        bus.post({ '0815' } as OrderEvent)
+
+        then:
+        service.received == ['placed:4711', 'any:4711', 'any:0815']
+        audit.received == ['placed:4711', 'audit:4711', 'any:4711', 'any:0815']
+        new OrderServiceSubscriberIndex().eventTypes == [OrderPlaced, OrderEvent] as Class[]
+
+        when:
+        bus.unregister(service)
+        bus.post(new OrderPlaced('4712'))
+
+        then:
+        service.received.size() == 3
+        audit.received.size() == 7
+    }
+}
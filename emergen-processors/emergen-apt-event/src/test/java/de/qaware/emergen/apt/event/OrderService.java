@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.event;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderService {
+    private final List<String> received = new ArrayList<>();
+
+    @Subscribe
+    void placed(OrderPlaced event) {
+        received.add("placed:" + event.getOrderId());
+    }
+
+    @Subscribe
+    public void any(OrderEvent event) {
+        received.add("any:" + event.getOrderId());
+    }
+
+    public List<String> getReceived() {
+        return received;
+    }
+
+    public static class Audit extends OrderService {
+        @Subscribe
+        public boolean audit(OrderPlaced event) {
+            return getReceived().add("audit:" + event.getOrderId());
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.runtime;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A minimal streaming JSON reader used by the generated JSON codecs. The input is read through a
+ * char buffer and numbers are parsed from this buffer, so reading primitive values neither boxes
+ * nor allocates. Objects and arrays are iterated using {@link #hasNext()}, which also consumes the
+ * separating commas and the closing bracket. Member names are cached, so reading known names does
+ * not allocate.
+ * <p>
+ * Use {@link #acquire(Reader)} and {@link #release()} to recycle one reader, its buffer and its
+ * name cache per thread.
+ *
+ * @author lreimer
+ */
+public final class JsonReader {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int NAME_CACHE_SIZE = 128;
+    private static final ThreadLocal<JsonReader> RECYCLED = ThreadLocal.withInitial(() -> new JsonReader(null));
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder text = new StringBuilder();
+    private final String[] names = new String[NAME_CACHE_SIZE];
+    private Reader reader;
+    private int position;
+    private int limit;
+    private long offset;
+    private boolean expectComma;
+    private boolean acquired;
+
+    /**
+     * Initialize the JSON reader.
+     *
+     * @param reader the underlying reader
+     */
+    public JsonReader(final Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Acquire the recycled JSON reader of the current thread, or a new one if it is in use.
+     * Release the reader after use.
+     *
+     * @param reader the underlying reader
+     * @return the JSON reader
+     */
+    public static JsonReader acquire(final Reader reader) {
+        JsonReader jsonReader = RECYCLED.get();
+        if (jsonReader.acquired) {
+            jsonReader = new JsonReader(reader);
+        } else {
+            jsonReader.reader = reader;
+        }
+        jsonReader.acquired = true;
+        return jsonReader;
+    }
+
+    /**
+     * Release this JSON reader for recycling, any buffered input is discarded.
+     */
+    public void release() {
+        reader = null;
+        position = 0;
+        limit = 0;
+        offset = 0;
+        expectComma = false;
+        acquired = false;
+    }
+
+    /**
+     * Consume the opening brace of an object.
+     *
+     * @throws IOException on read errors or unexpected input
+     */
+    public void beginObject() throws IOException {
+        consume('{');
+        expectComma = false;
+    }
+
+    /**
+     * Consume the opening bracket of an array.
+     *
+     * @throws IOException on read errors or unexpected input
+     */
+    public void beginArray() throws IOException {
+        consume('[');
+        expectComma = false;
+    }
+
+    /**
+     * Check if the current object or array has another member. Consumes the separating comma, or
+     * the closing brace or bracket if there are no more members.
+     *
+     * @return true if there is another member
+     * @throws IOException on read errors or unexpected input
+     */
+    public boolean hasNext() throws IOException {
+        char c = peek();
+        if (c == '}' || c == ']') {
+            position++;
+            expectComma = true;
+            return false;
+        }
+        if (expectComma) {
+            consume(',');
+        }
+        expectComma = true;
+        return true;
+    }
+
+    /**
+     * Consume the null literal if it is the next value.
+     *
+     * @return true if the next value was null
+     * @throws IOException on read errors or unexpected input
+     */
+    public boolean nextNull() throws IOException {
+        if (peek() != 'n') {
+            return false;
+        }
+        literal("null");
+        return true;
+    }
+
+    /**
+     * Read the next member name and the following colon.
+     *
+     * @return the member name
+     * @throws IOException on read errors or unexpected input
+     */
+    public String nextName() throws IOException {
+        consume('"');
+        String name = readCachedName();
+        if (name == null) {
+            name = readStringContent();
+        }
+        consume(':');
+        return name;
+    }
+
+    /**
+     * Read the next string value, or null.
+     *
+     * @return the string
+     * @throws IOException on read errors or unexpected input
+     */
+    public String nextString() throws IOException {
+        return nextNull() ? null : readString();
+    }
+
+    public char nextChar() throws IOException {
+        String value = readString();
+        if (value.length() != 1) {
+            throw syntaxError("Expected a single character but was \"" + value + "\"");
+        }
+        return value.charAt(0);
+    }
+
+    public boolean nextBoolean() throws IOException {
+        if (peek() == 't') {
+            literal("true");
+            return true;
+        }
+        literal("false");
+        return false;
+    }
+
+    public byte nextByte() throws IOException {
+        return (byte) nextLong(Byte.MIN_VALUE, Byte.MAX_VALUE);
+    }
+
+    public short nextShort() throws IOException {
+        return (short) nextLong(Short.MIN_VALUE, Short.MAX_VALUE);
+    }
+
+    public int nextInt() throws IOException {
+        return (int) nextLong(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    public long nextLong() throws IOException {
+        return nextLong(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    public float nextFloat() throws IOException {
+        return Float.parseFloat(readNumber());
+    }
+
+    public double nextDouble() throws IOException {
+        return Double.parseDouble(readNumber());
+    }
+
+    /**
+     * Skip the next value including all nested objects and arrays.
+     *
+     * @throws IOException on read errors or unexpected input
+     */
+    public void skipValue() throws IOException {
+        char c = peek();
+        if (c == '{') {
+            beginObject();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+        } else if (c == '[') {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+        } else if (c == '"') {
+            readString();
+        } else if (c == 't' || c == 'f') {
+            nextBoolean();
+        } else if (!nextNull()) {
+            readNumber();
+        }
+    }
+
+    /**
+     * Parse an integral number directly from the input buffer.
+     */
+    private long nextLong(final long min, final long max) throws IOException {
+        boolean negative = peek() == '-';
+        if (negative) {
+            position++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (fill() && buffer[position] >= '0' && buffer[position] <= '9') {
+            int digit = buffer[position++] - '0';
+            // accumulate negative to cover Long.MIN_VALUE
+            if (value < (Long.MIN_VALUE + digit) / 10) {
+                throw syntaxError("Number out of range");
+            }
+            value = value * 10 - digit;
+            digits++;
+        }
+        if (digits == 0 || (fill() && isNumberPart(buffer[position]))) {
+            throw syntaxError("Expected an integral number");
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw syntaxError("Number out of range");
+            }
+            value = -value;
+        }
+        if (value < min || value > max) {
+            throw syntaxError("Number out of range: " + value);
+        }
+        return value;
+    }
+
+    private String readNumber() throws IOException {
+        peek();
+        text.setLength(0);
+        while (fill() && isNumberPart(buffer[position])) {
+            text.append(buffer[position++]);
+        }
+        if (text.length() == 0) {
+            throw syntaxError("Expected a number");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Read a name without escapes from the input buffer and return the cached instance of the name.
+     *
+     * @return the name, or null if the name contains escapes or exceeds the buffer
+     */
+    private String readCachedName() {
+        int end = position;
+        int hash = 0;
+        while (end < limit && buffer[end] != '"') {
+            if (buffer[end] == '\\') {
+                return null;
+            }
+            hash = 31 * hash + buffer[end++];
+        }
+        if (end == limit) {
+            return null;
+        }
+
+        int length = end - position;
+        int index = (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+        String name = names[index];
+        if (name == null || name.hashCode() != hash || !matches(name, length)) {
+            name = new String(buffer, position, length);
+            names[index] = name;
+        }
+        position = end + 1;
+        return name;
+    }
+
+    private boolean matches(final String name, final int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != buffer[position + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString() throws IOException {
+        consume('"');
+        return readStringContent();
+    }
+
+    private String readStringContent() throws IOException {
+        text.setLength(0);
+        while (true) {
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+            // append unescaped runs in bulk
+            int start = position;
+            while (position < limit && buffer[position] != '"' && buffer[position] != '\\') {
+                position++;
+            }
+            text.append(buffer, start, position - start);
+            if (position == limit) {
+                continue;
+            }
+            if (buffer[position++] == '"') {
+                return text.toString();
+            }
+            text.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        char c = read();
+        switch (c) {
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    value = (value << 4) + Character.digit(read(), 16);
+                }
+                if (value < 0) {
+                    throw syntaxError("Invalid unicode escape");
+                }
+                return (char) value;
+            default:
+                return c;
+        }
+    }
+
+    private void literal(final String literal) throws IOException {
+        peek();
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("Expected " + literal);
+            }
+        }
+    }
+
+    private void consume(final char expected) throws IOException {
+        char c = peek();
+        if (c != expected) {
+            throw syntaxError("Expected '" + expected + "' but was '" + c + "'");
+        }
+        position++;
+    }
+
+    /**
+     * Skip whitespace and return the next character without consuming it.
+     */
+    private char peek() throws IOException {
+        while (fill()) {
+            char c = buffer[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+        throw syntaxError("Unexpected end of input");
+    }
+
+    private char read() throws IOException {
+        if (!fill()) {
+            throw syntaxError("Unexpected end of input");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        offset += limit;
+        position = 0;
+        limit = Math.max(reader.read(buffer, 0, BUFFER_SIZE), 0);
+        return limit > 0;
+    }
+
+    private IOException syntaxError(final String message) {
+        return new IOException(message + " at position " + (offset + position));
+    }
+
+    private static boolean isNumberPart(final char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+}
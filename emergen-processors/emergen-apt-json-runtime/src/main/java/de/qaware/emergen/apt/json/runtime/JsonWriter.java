@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.runtime;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A minimal streaming JSON writer used by the generated JSON codecs. The output is buffered in a
+ * char array and numbers are formatted into this buffer, so writing primitive values neither boxes
+ * nor allocates. The codecs write the property names and separators as constant raw strings.
+ * <p>
+ * Use {@link #acquire(Writer)} and {@link #release()} to recycle one writer and its buffer per thread.
+ *
+ * @author lreimer
+ */
+public final class JsonWriter {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final char[] MIN_LONG = Long.toString(Long.MIN_VALUE).toCharArray();
+
+    private static final ThreadLocal<JsonWriter> RECYCLED = ThreadLocal.withInitial(() -> new JsonWriter(null));
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private Writer writer;
+    private int position;
+    private boolean acquired;
+
+    /**
+     * Initialize the JSON writer.
+     *
+     * @param writer the underlying writer
+     */
+    public JsonWriter(final Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Acquire the recycled JSON writer of the current thread, or a new one if it is in use.
+     * Release the writer after use.
+     *
+     * @param writer the underlying writer
+     * @return the JSON writer
+     */
+    public static JsonWriter acquire(final Writer writer) {
+        JsonWriter jsonWriter = RECYCLED.get();
+        if (jsonWriter.acquired) {
+            jsonWriter = new JsonWriter(writer);
+        } else {
+            jsonWriter.writer = writer;
+        }
+        jsonWriter.acquired = true;
+        return jsonWriter;
+    }
+
+    /**
+     * Release this JSON writer for recycling, the buffered output is discarded. Call flush() before.
+     */
+    public void release() {
+        writer = null;
+        position = 0;
+        acquired = false;
+    }
+
+    /**
+     * Write the given characters without any escaping.
+     *
+     * @param raw the raw JSON
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter raw(final String raw) throws IOException {
+        int length = raw.length();
+        if (length > BUFFER_SIZE - position) {
+            flushBuffer();
+            if (length > BUFFER_SIZE) {
+                writer.write(raw);
+                return this;
+            }
+        }
+        raw.getChars(0, length, buffer, position);
+        position += length;
+        return this;
+    }
+
+    /**
+     * Write the given character without any escaping.
+     *
+     * @param raw the raw JSON character
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter raw(final char raw) throws IOException {
+        if (position == BUFFER_SIZE) {
+            flushBuffer();
+        }
+        buffer[position++] = raw;
+        return this;
+    }
+
+    /**
+     * Write the JSON null literal.
+     *
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter nullValue() throws IOException {
+        return raw("null");
+    }
+
+    public JsonWriter value(final boolean value) throws IOException {
+        return raw(value ? "true" : "false");
+    }
+
+    public JsonWriter value(final Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    /**
+     * Write the given long value. The digits are formatted directly into the output buffer.
+     *
+     * @param value the value
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter value(final long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return raw(new String(MIN_LONG));
+        }
+        if (BUFFER_SIZE - position < MIN_LONG.length) {
+            flushBuffer();
+        }
+
+        long remainder = value;
+        if (remainder < 0) {
+            buffer[position++] = '-';
+            remainder = -remainder;
+        }
+        int digits = 1;
+        for (long limit = 10; digits < 19 && remainder >= limit; limit *= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + remainder % 10);
+            remainder /= 10;
+        }
+        position += digits;
+        return this;
+    }
+
+    public JsonWriter value(final float value) throws IOException {
+        checkFinite(value);
+        return raw(Float.toString(value));
+    }
+
+    public JsonWriter value(final double value) throws IOException {
+        checkFinite(value);
+        return raw(Double.toString(value));
+    }
+
+    /**
+     * Write the given number, or null. Integral numbers are written without allocation.
+     *
+     * @param value the number
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter value(final Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        } else if (value instanceof Double) {
+            return value(value.doubleValue());
+        } else if (value instanceof Float) {
+            return value(value.floatValue());
+        } else {
+            return value(value.longValue());
+        }
+    }
+
+    public JsonWriter value(final char value) throws IOException {
+        raw('"');
+        escape(value);
+        return raw('"');
+    }
+
+    public JsonWriter value(final Character value) throws IOException {
+        return value == null ? nullValue() : value(value.charValue());
+    }
+
+    /**
+     * Write the given string as escaped JSON string, or null.
+     *
+     * @param value the string
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter value(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        raw('"');
+        for (int i = 0; i < value.length(); i++) {
+            escape(value.charAt(i));
+        }
+        return raw('"');
+    }
+
+    /**
+     * Write the name of the given enum constant, or null.
+     *
+     * @param value the enum constant
+     * @return this writer
+     * @throws IOException on write errors
+     */
+    public JsonWriter value(final Enum<?> value) throws IOException {
+        return value == null ? nullValue() : value(value.name());
+    }
+
+    /**
+     * Write the buffered output to the underlying writer and flush it.
+     *
+     * @throws IOException on write errors
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        writer.flush();
+    }
+
+    private void escape(final char c) throws IOException {
+        if (BUFFER_SIZE - position < 6) {
+            flushBuffer();
+        }
+        if (c == '"' || c == '\\') {
+            buffer[position++] = '\\';
+            buffer[position++] = c;
+        } else if (c < 0x20) {
+            buffer[position++] = '\\';
+            buffer[position++] = 'u';
+            buffer[position++] = '0';
+            buffer[position++] = '0';
+            buffer[position++] = HEX[c >> 4];
+            buffer[position++] = HEX[c & 0xf];
+        } else {
+            buffer[position++] = c;
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        writer.write(buffer, 0, position);
+        position = 0;
+    }
+
+    private static void checkFinite(final double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("JSON does not support the number " + value);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+@Title('Test specification for the streaming JsonReader')
+class JsonReaderSpec extends Specification {
+
+    def "Read an object with nested values"() {
+        given:
+        def reader = new JsonReader(new StringReader(' { "name" : "M\\u00e4rio\\n", "age":-42, "ratio": 1.5e2, "active": true,' +
+                ' "nothing": null, "skip": {"a": [1, {"b": "c"}]}, "tags": ["x", "y"] } '))
+        def values = [:]
+
+        when:
+        reader.beginObject()
+        while (reader.hasNext()) {
+            def name = reader.nextName()
+            switch (name) {
+                case 'name': values[name] = reader.nextString(); break
+                case 'age': values[name] = reader.nextInt(); break
+                case 'ratio': values[name] = reader.nextDouble(); break
+                case 'active': values[name] = reader.nextBoolean(); break
+                case 'nothing': values[name] = reader.nextString(); break
+                case 'tags':
+                    def tags = []
+                    reader.beginArray()
+                    while (reader.hasNext()) {
+                        tags << reader.nextString()
+                    }
+                    values[name] = tags
+                    break
+                default: reader.skipValue()
+            }
+        }
+
+        then:
+        values == [name: 'M\u00e4rio\n', age: -42, ratio: 150d, active: true, nothing: null, tags: ['x', 'y']]
+    }
+
+    def "Read numbers at the range limits"() {
+        expect:
+        new JsonReader(new StringReader('-9223372036854775808')).nextLong() == Long.MIN_VALUE
+        new JsonReader(new StringReader('9223372036854775807')).nextLong() == Long.MAX_VALUE
+        new JsonReader(new StringReader('127')).nextByte() == 127 as byte
+    }
+
+    def "Reject invalid input"() {
+        when:
+        read.call(new JsonReader(new StringReader(json)))
+
+        then:
+        def e = thrown(IOException)
+        e.message.contains(message)
+
+        where:
+        json                   | read                                          || message
+        '128'                  | { JsonReader r -> r.nextByte() }              || 'out of range'
+        '9223372036854775808'  | { JsonReader r -> r.nextLong() }              || 'out of range'
+        '1.5'                  | { JsonReader r -> r.nextInt() }               || 'integral number'
+        '{"a" 1}'              | { JsonReader r -> r.beginObject(); r.nextName() } || "Expected ':'"
+        '[1 2]'                | { JsonReader r -> r.beginArray(); r.hasNext(); r.nextInt(); r.hasNext() } || "Expected ','"
+        '"abc'                 | { JsonReader r -> r.nextString() }            || 'Unterminated string'
+    }
+
+    def "Recycle the reader and its cached names per thread"() {
+        given:
+        def first = JsonReader.acquire(new StringReader('{"name": 1}'))
+        def nested = JsonReader.acquire(new StringReader('{"name": 2}'))
+
+        when:
+        first.beginObject()
+        first.hasNext()
+        def name = first.nextName()
+        first.release()
+        nested.release()
+        def second = JsonReader.acquire(new StringReader('{"name": 3}'))
+        second.beginObject()
+        second.hasNext()
+
+        then:
+        !nested.is(first)
+        second.is(first)
+        second.nextName().is(name)
+        second.nextInt() == 3
+    }
+}
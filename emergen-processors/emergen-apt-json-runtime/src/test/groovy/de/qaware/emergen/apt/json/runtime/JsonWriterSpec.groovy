@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+import spock.lang.Unroll
+
+@Title('Test specification for the streaming JsonWriter')
+class JsonWriterSpec extends Specification {
+
+    @Unroll
+    def "Write value #value"() {
+        given:
+        def output = new StringWriter()
+        def writer = new JsonWriter(output)
+
+        when:
+        writer.value(value)
+        writer.flush()
+
+        then:
+        output.toString() == json
+
+        where:
+        value                 || json
+        0L                    || '0'
+        -4711L                || '-4711'
+        Long.MAX_VALUE        || '9223372036854775807'
+        Long.MIN_VALUE        || '-9223372036854775808'
+        1.5d                  || '1.5'
+        true                  || 'true'
+        (Integer) 42          || '42'
+        (char) 'x'            || '"x"'
+        'a "b"\\\n'           || '"a \\"b\\"\\\\\\u000a"'
+        Thread.State.RUNNABLE || '"RUNNABLE"'
+    }
+
+    def "Write long output exceeding the buffer"() {
+        given:
+        def output = new StringWriter()
+        def writer = new JsonWriter(output)
+        def text = 'x' * 5000
+
+        when:
+        writer.raw('[')
+        (0..<500).each { writer.value((long) it).raw(',') }
+        writer.value(text).raw(']')
+        writer.flush()
+
+        then:
+        output.toString() == '[' + (0..<500).join(',') + ',"' + text + '"]'
+    }
+
+    def "Reject non finite numbers"() {
+        when:
+        new JsonWriter(new StringWriter()).value(Double.NaN)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Recycle the writer per thread"() {
+        given:
+        def output = new StringWriter()
+        def first = JsonWriter.acquire(output)
+        def nested = JsonWriter.acquire(new StringWriter())
+
+        when:
+        first.value(1L).flush()
+        first.release()
+        nested.release()
+        def second = JsonWriter.acquire(output)
+        second.raw(',').value(2L).flush()
+
+        then:
+        !nested.is(first)
+        second.is(first)
+        output.toString() == '1,2'
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated streaming JSON codec with reflective Jackson data binding.
+ * Run with <code>-prof gc</code> to compare the normalized allocation rates as well.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final CharArrayWriter writer = new CharArrayWriter(256);
+    private BenchmarkPojo pojo;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        pojo = new BenchmarkPojo();
+        pojo.setId(4711L);
+        pojo.setName("EmerGen JSON benchmark");
+        pojo.setCount(42);
+        pojo.setRatio(0.75d);
+        pojo.setActive(true);
+        pojo.setTags(Arrays.asList("apt", "json", "benchmark"));
+        json = BenchmarkPojoJsonCodec.toJson(pojo);
+    }
+
+    @Benchmark
+    public int writeGenerated() throws IOException {
+        writer.reset();
+        BenchmarkPojoJsonCodec.write(pojo, writer);
+        return writer.size();
+    }
+
+    @Benchmark
+    public int writeReflective() throws IOException {
+        writer.reset();
+        objectMapper.writeValue(writer, pojo);
+        return writer.size();
+    }
+
+    @Benchmark
+    public BenchmarkPojo readGenerated() throws IOException {
+        return BenchmarkPojoJsonCodec.read(new StringReader(json));
+    }
+
+    @Benchmark
+    public BenchmarkPojo readReflective() throws IOException {
+        return objectMapper.readValue(new StringReader(json), BenchmarkPojo.class);
+    }
+}
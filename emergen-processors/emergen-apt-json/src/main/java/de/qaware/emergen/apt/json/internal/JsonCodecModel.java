@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.internal;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+import de.qaware.emergen.core.TypeModel;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated JSON codec of a type. Used during generation.
+ *
+ * @author lreimer
+ */
+public class JsonCodecModel {
+
+    private final String pojoName;
+    private final String packageName;
+    private final String codecName;
+    private final List<JsonPropertyModel> properties = new ArrayList<>();
+
+    /**
+     * Initialize the codec model and analyze the JSON properties of the given type.
+     *
+     * @param typeModel the type model of the annotated class
+     * @param types     the type utilities
+     * @param elements  the element utilities
+     * @throws IllegalArgumentException if a property can not be read, written or converted
+     */
+    JsonCodecModel(final TypeModel typeModel, final Types types, final Elements elements) {
+        this.pojoName = typeModel.getSimpleName();
+        this.packageName = typeModel.getPackageName();
+        this.codecName = JsonValueModel.getCodecName(typeModel.getElement(), elements)
+                .substring(packageName.isEmpty() ? 0 : packageName.length() + 1);
+
+        for (VariableElement field : typeModel.getInstanceFields()) {
+            BuilderProperty annotation = field.getAnnotation(BuilderProperty.class);
+            if ((annotation != null && !annotation.include()) || field.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            JsonValueModel value;
+            try {
+                value = JsonValueModel.of(field.asType(), types, elements);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(e.getMessage() + " of property " + name, e);
+            }
+
+            BuilderProperty.AccessStrategy accessStrategy = (annotation == null)
+                    ? BuilderProperty.AccessStrategy.SETTER : annotation.propertyAccess();
+            if (accessStrategy == BuilderProperty.AccessStrategy.SETTER && !typeModel.getSetters().containsKey(name)) {
+                throw new IllegalArgumentException("Property " + name + " has no setter, use @BuilderProperty to select the access strategy");
+            }
+
+            properties.add(new JsonPropertyModel(name, value, getGetterExpression(typeModel, field, accessStrategy),
+                    accessStrategy, annotation == null ? 0 : annotation.constructorPos()));
+        }
+    }
+
+    /**
+     * Returns the expression to read the property from the instance named value.
+     */
+    private static String getGetterExpression(final TypeModel typeModel, final VariableElement field,
+                                              final BuilderProperty.AccessStrategy accessStrategy) {
+        String name = field.getSimpleName().toString();
+        ExecutableElement getter = typeModel.getGetters().get(name);
+        if (accessStrategy == BuilderProperty.AccessStrategy.DIRECT || (getter == null && !field.getModifiers().contains(Modifier.PRIVATE))) {
+            return "value." + name;
+        } else if (getter != null) {
+            return "value." + getter.getSimpleName() + "()";
+        }
+        throw new IllegalArgumentException("Property " + name + " has no getter and is not accessible");
+    }
+
+    public String getPojoName() {
+        return pojoName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getCodecName() {
+        return codecName;
+    }
+
+    public List<JsonPropertyModel> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Get a view on the properties that are assigned after construction.
+     *
+     * @return list of assigned properties
+     */
+    public List<JsonPropertyModel> getAssignedProperties() {
+        return properties.stream()
+                .filter(p -> !p.isConstructorAccessor())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a view on the collection properties, these need generated helper methods.
+     *
+     * @return list of collection properties
+     */
+    public List<JsonPropertyModel> getCollectionProperties() {
+        return properties.stream()
+                .filter(p -> p.getValue().isCollection())
+                .collect(Collectors.toList());
+    }
+
+    public String getConstructorSignature() {
+        return properties.stream()
+                .filter(JsonPropertyModel::isConstructorAccessor)
+                .sorted(Comparator.comparing(JsonPropertyModel::getConstructorPos))
+                .map(JsonPropertyModel::getLocalName)
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the fully qualified name for this codec.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalCodecName() {
+        return packageName.isEmpty() ? codecName : packageName + "." + codecName;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.internal;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * The data model bean to represent a single JSON member of a codec. Used during generation.
+ *
+ * @author lreimer
+ */
+public class JsonPropertyModel {
+
+    private final String name;
+    private final JsonValueModel value;
+    private final String getterExpression;
+    private final BuilderProperty.AccessStrategy accessStrategy;
+    private final int constructorPos;
+
+    /**
+     * Initialize the model bean.
+     *
+     * @param name             the property and JSON member name
+     * @param value            the value model of the property type
+     * @param getterExpression the expression to read the property from the value instance
+     * @param accessStrategy   the strategy to write the property
+     * @param constructorPos   the constructor argument position, only used for CONSTRUCTOR access
+     */
+    JsonPropertyModel(final String name, final JsonValueModel value, final String getterExpression,
+                      final BuilderProperty.AccessStrategy accessStrategy, final int constructorPos) {
+        this.name = name;
+        this.value = value;
+        this.getterExpression = getterExpression;
+        this.accessStrategy = accessStrategy;
+        this.constructorPos = constructorPos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public JsonValueModel getValue() {
+        return value;
+    }
+
+    public String getGetterExpression() {
+        return getterExpression;
+    }
+
+    public String getSetterName() {
+        return "set".concat(StringUtils.capitalize(name));
+    }
+
+    public int getConstructorPos() {
+        return constructorPos;
+    }
+
+    /**
+     * The name of the local variable holding the value while reading.
+     *
+     * @return the local variable name
+     */
+    public String getLocalName() {
+        return name.concat("Value");
+    }
+
+    /**
+     * The name of the local flag tracking if the member was present while reading.
+     *
+     * @return the local flag name
+     */
+    public String getFlagName() {
+        return "has".concat(StringUtils.capitalize(name));
+    }
+
+    /**
+     * The suffix of the generated helper methods for collection properties.
+     *
+     * @return the helper method suffix
+     */
+    public String getHelperName() {
+        return StringUtils.capitalize(name);
+    }
+
+    public boolean isDirectAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.DIRECT;
+    }
+
+    public boolean isSetterAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.SETTER;
+    }
+
+    public boolean isConstructorAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.CONSTRUCTOR;
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.internal;
+
+import de.qaware.emergen.apt.json.JsonSupport;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The data model bean to represent the type of a JSON value and how it is read and written.
+ * Used during generation.
+ *
+ * @author lreimer
+ */
+public class JsonValueModel {
+
+    /**
+     * The supported kinds of JSON values.
+     */
+    public enum Kind {
+        PRIMITIVE, BOXED, STRING, ENUM, NESTED, COLLECTION
+    }
+
+    private static final String CODEC_SUFFIX = "JsonCodec";
+    private static final Map<String, String> IMPLEMENTATION_TYPES = new HashMap<>();
+
+    static {
+        IMPLEMENTATION_TYPES.put("java.util.Collection", "java.util.ArrayList");
+        IMPLEMENTATION_TYPES.put("java.util.List", "java.util.ArrayList");
+        IMPLEMENTATION_TYPES.put("java.util.Set", "java.util.LinkedHashSet");
+    }
+
+    private final Kind kind;
+    private final String type;
+    private final String readMethod;
+    private final String codecName;
+    private final String implementationType;
+    private final JsonValueModel element;
+
+    private JsonValueModel(final Kind kind, final String type, final String readMethod, final String codecName,
+                           final String implementationType, final JsonValueModel element) {
+        this.kind = kind;
+        this.type = type;
+        this.readMethod = readMethod;
+        this.codecName = codecName;
+        this.implementationType = implementationType;
+        this.element = element;
+    }
+
+    /**
+     * Create the value model for the given type.
+     *
+     * @param typeMirror the value type
+     * @param types      the type utilities
+     * @param elements   the element utilities
+     * @return the value model
+     * @throws IllegalArgumentException if the type is not supported
+     */
+    static JsonValueModel of(final TypeMirror typeMirror, final Types types, final Elements elements) {
+        String type = typeMirror.toString();
+        if (typeMirror.getKind().isPrimitive()) {
+            return new JsonValueModel(Kind.PRIMITIVE, type, StringUtils.capitalize(type), null, null, null);
+        }
+        if (typeMirror.getKind() != TypeKind.DECLARED) {
+            throw new IllegalArgumentException("Unsupported JSON type " + type);
+        }
+
+        TypeElement typeElement = (TypeElement) types.asElement(typeMirror);
+        String qualifiedName = typeElement.getQualifiedName().toString();
+        try {
+            TypeMirror primitive = types.unboxedType(typeMirror);
+            return new JsonValueModel(Kind.BOXED, type, StringUtils.capitalize(primitive.toString()), null, null, null);
+        } catch (IllegalArgumentException e) {
+            // not a wrapper type
+        }
+
+        if (String.class.getName().equals(qualifiedName)) {
+            return new JsonValueModel(Kind.STRING, type, null, null, null, null);
+        } else if (typeElement.getKind() == ElementKind.ENUM) {
+            return new JsonValueModel(Kind.ENUM, type, null, null, null, null);
+        } else if (typeElement.getAnnotation(JsonSupport.class) != null
+                || elements.getTypeElement(getCodecName(typeElement, elements)) != null) {
+            return new JsonValueModel(Kind.NESTED, type, null, getCodecName(typeElement, elements), null, null);
+        } else if (IMPLEMENTATION_TYPES.containsKey(qualifiedName)) {
+            DeclaredType declaredType = (DeclaredType) typeMirror;
+            if (declaredType.getTypeArguments().size() != 1) {
+                throw new IllegalArgumentException("Unsupported raw JSON collection type " + type);
+            }
+            JsonValueModel element = of(declaredType.getTypeArguments().get(0), types, elements);
+            if (element.kind == Kind.COLLECTION) {
+                throw new IllegalArgumentException("Unsupported nested JSON collection type " + type);
+            }
+            return new JsonValueModel(Kind.COLLECTION, type, null, null, IMPLEMENTATION_TYPES.get(qualifiedName), element);
+        }
+        throw new IllegalArgumentException("Unsupported JSON type " + type);
+    }
+
+    /**
+     * Returns the name of the codec generated for the given type.
+     *
+     * @param typeElement the JsonSupport type
+     * @param elements    the element utilities
+     * @return the canonical codec name
+     */
+    static String getCodecName(final TypeElement typeElement, final Elements elements) {
+        String packageName = elements.getPackageOf(typeElement).getQualifiedName().toString();
+        String simpleName = typeElement.getSimpleName().toString().concat(CODEC_SUFFIX);
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    public boolean isPrimitive() {
+        return kind == Kind.PRIMITIVE;
+    }
+
+    public boolean isBoxed() {
+        return kind == Kind.BOXED;
+    }
+
+    public boolean isString() {
+        return kind == Kind.STRING;
+    }
+
+    public boolean isEnum() {
+        return kind == Kind.ENUM;
+    }
+
+    public boolean isNested() {
+        return kind == Kind.NESTED;
+    }
+
+    public boolean isCollection() {
+        return kind == Kind.COLLECTION;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the Java default value literal of a primitive type, e.g. 0L for long. Only byte, short and
+     * char need a cast.
+     *
+     * @return the default value expression
+     */
+    public String getDefaultValue() {
+        switch (type) {
+            case "boolean":
+                return "false";
+            case "long":
+                return "0L";
+            case "float":
+                return "0f";
+            case "double":
+                return "0d";
+            case "int":
+                return "0";
+            default:
+                return "(" + type + ") 0";
+        }
+    }
+
+    /**
+     * Returns the suffix of the JsonReader method to read primitive and boxed values, e.g. Int.
+     *
+     * @return the read method suffix
+     */
+    public String getReadMethod() {
+        return readMethod;
+    }
+
+    public String getCodecName() {
+        return codecName;
+    }
+
+    public String getImplementationType() {
+        return implementationType;
+    }
+
+    public JsonValueModel getElement() {
+        return element;
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.json.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.json.Address
+import de.qaware.emergen.apt.json.AddressJsonCodec
+import de.qaware.emergen.apt.json.Customer
+import de.qaware.emergen.apt.json.CustomerJsonCodec
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the JSON support annotation processor')
+class JsonSupportProcessorSpec extends Specification {
+
+    static String INTERFACE_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.json.JsonSupport
+    public interface InterfacePojo {
+    }
+    """
+
+    static String UNSUPPORTED_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.json.JsonSupport
+    public class UnsupportedPojo {
+        public java.util.Map<String, String> values;
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new JsonSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Customer"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new JsonSupportProcessor())
+                .compile(JavaFileObjects.forResource("Address.java"), JavaFileObjects.forResource("Customer.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.json.CustomerJsonCodec").get().getCharContent(true).toString()
+        source.contains('switch (in.nextName())')
+        source.contains('new Customer(idValue, nameValue)')
+        source.contains('instance.setAge(ageValue);')
+        source.contains('ageValue = in.nextInt();')
+        source.contains('int ageValue = 0;')
+        source.contains('out.value(value.getAge());')
+        !source.contains('ignored')
+        !source.contains('cached')
+        !source.contains('java.lang.reflect')
+    }
+
+    def "Annotation processing fails for unsupported types"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new JsonSupportProcessor())
+                .compile(JavaFileObjects.forSourceString(name, source))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains(message)
+
+        where:
+        name                   | source           || message
+        'test.InterfacePojo'   | INTERFACE_POJO   || 'only supported on concrete classes'
+        'test.UnsupportedPojo' | UNSUPPORTED_POJO || 'Unsupported JSON type java.util.Map<java.lang.String,java.lang.String> of property values'
+    }
+
+    def "Generated CustomerJsonCodec writes and reads JSON"() {
+        given:
+        def customer = new Customer(4711L, 'Mario "M" Reimer')
+        customer.age = 42
+        customer.vip = true
+        customer.grade = 'A' as char
+        customer.rating = 4.5d
+        customer.status = Customer.Status.ACTIVE
+        customer.address = new Address(street: 'Main Street', city: 'Rosenheim')
+        customer.scores = [1, null, 3]
+        customer.locations = [new Address(city: 'Munich')] as Set
+
+        when:
+        def json = CustomerJsonCodec.toJson(customer)
+        def copy = CustomerJsonCodec.fromJson(json)
+
+        then:
+        json == '{"id":4711,"name":"Mario \\"M\\" Reimer","age":42,"vip":true,"grade":"A","rating":4.5,"status":"ACTIVE",' +
+                '"address":{"street":"Main Street","city":"Rosenheim"},"scores":[1,null,3],"locations":[{"street":null,"city":"Munich"}]}'
+        copy.id == 4711L
+        copy.name == 'Mario "M" Reimer'
+        copy.age == 42
+        copy.vip
+        copy.grade == 'A' as char
+        copy.rating == 4.5d
+        copy.status == Customer.Status.ACTIVE
+        copy.address.city == 'Rosenheim'
+        copy.scores == [1, null, 3]
+        copy.locations*.city == ['Munich']
+    }
+
+    def "Generated CustomerJsonCodec skips unknown and keeps missing members"() {
+        when:
+        def customer = CustomerJsonCodec.fromJson('{"unknown": {"a": [1, 2]}, "name": "Mario", "address": null, "scores": null}')
+
+        then:
+        customer.id == 0L
+        customer.name == 'Mario'
+        customer.age == 18
+        customer.status == Customer.Status.NEW
+        customer.address == null
+        customer.scores == null
+    }
+
+    def "Generated codecs handle null values"() {
+        expect:
+        AddressJsonCodec.toJson(null) == 'null'
+        AddressJsonCodec.fromJson('null') == null
+    }
+}
@@ -24,19 +24,18 @@
 package de.qaware.emergen.apt.loader.internal;
 
 import de.qaware.emergen.apt.loader.ServiceLoaderSupport;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
 
 import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
-import javax.lang.model.type.DeclaredType;
-import javax.lang.model.type.TypeMirror;
 import javax.tools.Diagnostic;
 import javax.tools.StandardLocation;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * An annotation processor implementation to generate the Java ServiceLoader files
@@ -51,17 +50,27 @@ public class ServiceLoaderSupportProcessor extends AbstractProcessor {
     private static final String BASEPATH = "META-INF/services/";
     private static final String LINE_SEPARATOR = "line.separator";
 
+    private TypeModelCache typeModelCache;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+    }
+
     @Override
     public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
         if (annotations.isEmpty()) {
             return false;
         }
 
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
         Map<String, List<String>> services = new HashMap<>();
         for (TypeElement typeElement : annotations) {
             for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
-                Set<String> serviceInterfaces = getServiceInterfaces(element);
-                String implementationName = ((TypeElement) element).getQualifiedName().toString();
+                TypeModel typeModel = cache.get((TypeElement) element);
+                Set<String> serviceInterfaces = getServiceInterfaces(typeModel);
+                String implementationName = typeModel.getQualifiedName();
 
                 for (String serviceInterface : serviceInterfaces) {
                     if (!services.containsKey(serviceInterface)) {
@@ -84,13 +93,13 @@ public class ServiceLoaderSupportProcessor extends AbstractProcessor {
         return true;
     }
 
-    private Set<String> getServiceInterfaces(Element element) {
-        ServiceLoaderSupport serviceAnnotation = element.getAnnotation(ServiceLoaderSupport.class);
+    private Set<String> getServiceInterfaces(TypeModel typeModel) {
+        ServiceLoaderSupport serviceAnnotation = typeModel.getElement().getAnnotation(ServiceLoaderSupport.class);
         String defaultInterface = serviceAnnotation.value();
 
         Set<String> serviceInterfaces;
         if ("".equals(defaultInterface)) {
-            serviceInterfaces = getAllServiceInterfaces((TypeElement) element);
+            serviceInterfaces = typeModel.getInterfaceNames();
         } else {
             serviceInterfaces = Collections.singleton(defaultInterface);
         }
@@ -113,15 +122,6 @@ public class ServiceLoaderSupportProcessor extends AbstractProcessor {
         }
     }
 
-    private Set<String> getAllServiceInterfaces(TypeElement element) {
-        List<? extends TypeMirror> interfaces = element.getInterfaces();
-
-        return interfaces.stream().map(interfaceMirror -> {
-            Element interfaceElement = ((DeclaredType) interfaceMirror).asElement();
-            return ((TypeElement) interfaceElement).getQualifiedName().toString();
-        }).collect(Collectors.toSet());
-    }
-
     /**
      * We support the latest source version of the current execution environment. This is the alternative
      * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
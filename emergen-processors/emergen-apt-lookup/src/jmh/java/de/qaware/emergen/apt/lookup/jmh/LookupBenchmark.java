@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.lookup.jmh;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated enum lookups with valueOf and with linear scans over values(),
+ * which clones the values array on each call. The unknown name benchmarks resolve the lower case
+ * mnemonics by name, where valueOf throws an exception. Run with <code>-prof gc</code> to compare the
+ * allocation rates as well.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    private final String[] names = {"NOP", "MUL", "JNZ", "HALT", "XOR", "RET"};
+    private final String[] mnemonics = {"nop", "mul", "jnz", "halt", "xor", "ret"};
+    private final int[] codes = {0x00, 0x12, 0x32, 0xFF, 0x22, 0x34};
+    private int index;
+
+    private int next() {
+        index = (index + 1) % names.length;
+        return index;
+    }
+
+    @Benchmark
+    public Opcode valueOf() {
+        return Opcode.valueOf(names[next()]);
+    }
+
+    @Benchmark
+    public Opcode generatedByName() {
+        return OpcodeLookup.byName(names[next()]);
+    }
+
+    @Benchmark
+    public Opcode valueOfUnknown() {
+        try {
+            return Opcode.valueOf(mnemonics[next()]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Opcode generatedByNameUnknown() {
+        return OpcodeLookup.byName(mnemonics[next()]);
+    }
+
+    @Benchmark
+    public Opcode scanByKey() {
+        String mnemonic = mnemonics[next()];
+        for (Opcode opcode : Opcode.values()) {
+            if (opcode.mnemonic.equals(mnemonic)) {
+                return opcode;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Opcode generatedByKey() {
+        return OpcodeLookup.byKey(mnemonics[next()]);
+    }
+
+    @Benchmark
+    public Opcode scanByCode() {
+        int code = codes[next()];
+        for (Opcode opcode : Opcode.values()) {
+            if (opcode.code == code) {
+                return opcode;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Opcode generatedByCode() {
+        return OpcodeLookup.byCode(codes[next()]);
+    }
+}
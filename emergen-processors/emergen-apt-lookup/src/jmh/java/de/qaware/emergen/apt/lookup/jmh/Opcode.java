@@ -0,0 +1,47 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.lookup.jmh;
+
+import de.qaware.emergen.apt.lookup.LookupSupport;
+
+/**
+ * A protocol opcode enum, resolved via the generated lookups, valueOf and linear scans.
+ *
+ * @author lreimer
+ */
+@LookupSupport(key = "mnemonic", code = "code")
+public enum Opcode {
+    NOP(0x00), LOAD(0x01), STORE(0x02), PUSH(0x03), POP(0x04), DUP(0x05), SWAP(0x06), ADD(0x10),
+    SUB(0x11), MUL(0x12), DIV(0x13), REM(0x14), NEG(0x15), AND(0x20), OR(0x21), XOR(0x22),
+    NOT(0x23), SHL(0x24), SHR(0x25), JMP(0x30), JZ(0x31), JNZ(0x32), CALL(0x33), RET(0x34),
+    IN(0x40), OUT(0x41), HALT(0xFF);
+
+    final int code;
+    final String mnemonic;
+
+    Opcode(int code) {
+        this.code = code;
+        this.mnemonic = name().toLowerCase(java.util.Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.lookup;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to mark enums for fast lookups. A final Lookup class is generated in the same package,
+ * with static methods to resolve constants by name, by ordinal and optionally by a string key and an
+ * integer code, in constant time and without allocation. Unknown inputs resolve to null instead of
+ * throwing an exception.
+ * <p>
+ * The names are resolved by a string switch. Keys are resolved by a hash table built when the lookup
+ * class is initialized, searching for a collision free hash function. Codes are resolved by a dense array
+ * if they cover a compact range, otherwise by a hash table.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE})
+public @interface LookupSupport {
+    /**
+     * The String property used as lookup key, e.g. the wire representation. Read from the field if it is
+     * accessible, otherwise via its getter. Empty for no key lookup.
+     *
+     * @return the key property
+     */
+    String key() default "";
+
+    /**
+     * The int, short, byte or char property used as lookup code. Read from the field if it is accessible,
+     * otherwise via its getter. Empty for no code lookup.
+     *
+     * @return the code property
+     */
+    String code() default "";
+}
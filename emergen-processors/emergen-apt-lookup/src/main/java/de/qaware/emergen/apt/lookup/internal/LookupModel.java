@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.lookup.internal;
+
+import de.qaware.emergen.apt.lookup.LookupSupport;
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated lookup class of an enum. Used during generation.
+ *
+ * @author lreimer
+ */
+public class LookupModel {
+    private static final String LOOKUP_SUFFIX = "Lookup";
+    private static final Set<TypeKind> CODE_KINDS = EnumSet.of(TypeKind.BYTE, TypeKind.SHORT, TypeKind.CHAR, TypeKind.INT);
+
+    private final String packageName;
+    private final String enumName;
+    private final String lookupName;
+    private final List<String> constants;
+    private final String keyAccessor;
+    private final String codeAccessor;
+
+    /**
+     * Initialize the lookup model with the constants and the key and code accessors of the enum.
+     *
+     * @param typeModel     the type model of the enum
+     * @param lookupSupport the lookup support annotation
+     * @param elements      the element utilities
+     * @throws IllegalArgumentException if the key or code property is unknown or has the wrong type
+     */
+    LookupModel(final TypeModel typeModel, final LookupSupport lookupSupport, final Elements elements) {
+        this.packageName = typeModel.getPackageName();
+        this.enumName = typeModel.getQualifiedName();
+        String binaryName = elements.getBinaryName(typeModel.getElement()).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        this.lookupName = simpleName.replace('$', '_').concat(LOOKUP_SUFFIX);
+        this.constants = typeModel.getMembers(ElementKind.ENUM_CONSTANT).stream()
+                .map(e -> e.getSimpleName().toString())
+                .collect(Collectors.toList());
+
+        this.keyAccessor = accessor(typeModel, lookupSupport.key(), "key", t -> "java.lang.String".equals(t.toString()), "String");
+        this.codeAccessor = accessor(typeModel, lookupSupport.code(), "code", t -> CODE_KINDS.contains(t.getKind()), "int, short, byte or char");
+    }
+
+    private static String accessor(final TypeModel typeModel, final String name, final String role,
+                                   final Predicate<TypeMirror> supported, final String expected) {
+        if (name.isEmpty()) {
+            return null;
+        }
+
+        String accessor;
+        TypeMirror type;
+        Optional<VariableElement> field = ElementFilter.fieldsIn(typeModel.getMembers(ElementKind.FIELD)).stream()
+                .filter(f -> f.getSimpleName().contentEquals(name) && !f.getModifiers().contains(Modifier.STATIC))
+                .findFirst();
+        Optional<ExecutableElement> getter = ElementFilter.methodsIn(typeModel.getMembers(ElementKind.METHOD)).stream()
+                .filter(m -> isGetter(m, name))
+                .findFirst();
+        if (field.isPresent() && !field.get().getModifiers().contains(Modifier.PRIVATE)) {
+            accessor = "." + name;
+            type = field.get().asType();
+        } else if (getter.isPresent()) {
+            accessor = "." + getter.get().getSimpleName() + "()";
+            type = getter.get().getReturnType();
+        } else {
+            throw new IllegalArgumentException("Lookup " + role + " " + name + " has no accessible field or getter");
+        }
+
+        if (!supported.test(type)) {
+            throw new IllegalArgumentException("Lookup " + role + " " + name + " must be of type " + expected);
+        }
+        return accessor;
+    }
+
+    private static boolean isGetter(final ExecutableElement method, final String name) {
+        String methodName = method.getSimpleName().toString();
+        return methodName.equals("get" + StringUtils.capitalize(name)) && method.getParameters().isEmpty()
+                && !method.getModifiers().contains(Modifier.PRIVATE) && !method.getModifiers().contains(Modifier.STATIC);
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getEnumName() {
+        return enumName;
+    }
+
+    public String getLookupName() {
+        return lookupName;
+    }
+
+    public List<String> getConstants() {
+        return constants;
+    }
+
+    public boolean isKey() {
+        return keyAccessor != null;
+    }
+
+    /**
+     * Returns the expression reading the key of the constant variable.
+     *
+     * @return the key access expression
+     */
+    public String getKeyAccess() {
+        return "constant" + keyAccessor;
+    }
+
+    public boolean isCode() {
+        return codeAccessor != null;
+    }
+
+    /**
+     * Returns the expression reading the code of the constant variable.
+     *
+     * @return the code access expression
+     */
+    public String getCodeAccess() {
+        return "constant" + codeAccessor;
+    }
+
+    /**
+     * Returns the fully qualified name of the lookup class.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalLookupName() {
+        return packageName.isEmpty() ? lookupName : packageName + "." + lookupName;
+    }
+}
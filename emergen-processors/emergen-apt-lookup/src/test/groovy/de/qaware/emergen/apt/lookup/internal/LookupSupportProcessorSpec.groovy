@@ -0,0 +1,134 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.lookup.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.lookup.Command
+import de.qaware.emergen.apt.lookup.CommandLookup
+import de.qaware.emergen.apt.lookup.Command_ReplyLookup
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the lookup support annotation processor')
+class LookupSupportProcessorSpec extends Specification {
+
+    static String CLASS_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.lookup.LookupSupport
+    public class ClassPojo {
+    }
+    """
+
+    static String INVALID_CODE_ENUM = """
+    package test;
+
+    @de.qaware.emergen.apt.lookup.LookupSupport(code = "code")
+    public enum InvalidCodeEnum {
+        A;
+        final long code = 1L;
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new LookupSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Command"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new LookupSupportProcessor())
+                .compile(JavaFileObjects.forResource("Command.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.lookup.CommandLookup").get().getCharContent(true).toString()
+        source.contains('public final class CommandLookup {')
+        source.contains('case "UNSUBSCRIBE":')
+        source.contains('final String key = constant.getWireName();')
+        source.contains('final int code = constant.code;')
+        !source.contains('.valueOf(')
+        compilation.generatedSourceFile("de.qaware.emergen.apt.lookup.Command_ReplyLookup").isPresent()
+    }
+
+    def "Annotation processing fails for classes"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new LookupSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.ClassPojo', CLASS_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('LookupSupport is only supported on non private enums')
+    }
+
+    def "Annotation processing fails for unsupported code types"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new LookupSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.InvalidCodeEnum', INVALID_CODE_ENUM))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Lookup code code must be of type int, short, byte or char')
+    }
+
+    def "Generated lookup resolves names, ordinals and keys"() {
+        expect:
+        Command.values().every { CommandLookup.byName(it.name()) == it }
+        Command.values().every { CommandLookup.byOrdinal(it.ordinal()) == it }
+        Command.values().findAll { it.wireName }.every { CommandLookup.byKey(it.wireName) == it }
+        CommandLookup.byKey(new String('SUB'.toCharArray())) == Command.SUBSCRIBE
+        CommandLookup.byName('connect') == null
+        CommandLookup.byName(null) == null
+        CommandLookup.byName('UNKNOWN', Command.PING) == Command.PING
+        CommandLookup.byOrdinal(-1) == null
+        CommandLookup.byOrdinal(6) == null
+        CommandLookup.byKey('CONNECT') == null
+        CommandLookup.byKey(null) == null
+        CommandLookup.VALUE_LIST == Command.values() as List
+    }
+
+    def "Generated lookup resolves dense and sparse codes"() {
+        expect:
+        Command.values().every { CommandLookup.byCode(it.code) == it }
+        Command.Reply.values().every { Command_ReplyLookup.byCode(it.status) == it }
+        [0, 2, 15, -1, Integer.MIN_VALUE, Integer.MAX_VALUE].every { CommandLookup.byCode(it) == null }
+        [0, 201, 404 + 1, 100000, Integer.MIN_VALUE + 1].every { Command_ReplyLookup.byCode(it) == null }
+    }
+
+    def "Generated lookup rejects unmodifiable values"() {
+        when:
+        CommandLookup.VALUE_LIST.set(0, Command.PING)
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.lookup;
+
+/**
+ * Test enum for the lookup generation.
+ *
+ * @author lreimer
+ */
+@LookupSupport(key = "wireName", code = "code")
+public enum Command {
+    CONNECT("CONN", 1),
+    PUBLISH("PUB", 3),
+    SUBSCRIBE("SUB", 8),
+    UNSUBSCRIBE("UNSUB", 10),
+    PING("PING", 12),
+    DISCONNECT(null, 14);
+
+    private final String wireName;
+    final int code;
+
+    Command(String wireName, int code) {
+        this.wireName = wireName;
+        this.code = code;
+    }
+
+    public String getWireName() {
+        return wireName;
+    }
+
+    /**
+     * A nested enum with sparse codes.
+     */
+    @LookupSupport(code = "status")
+    public enum Reply {
+        OK(200), NOT_FOUND(404), ERROR(500), TIMEOUT(-100000), NEGATIVE(Integer.MIN_VALUE), MAXIMUM(Integer.MAX_VALUE);
+
+        private final int status;
+
+        Reply(int status) {
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.mapper;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to mark interfaces for Mapper support. For each abstract method with a single
+ * parameter, the generated implementation copies all properties of the source to a new instance
+ * of the returned target type, without reflection and without boxing of primitives.
+ * <p>
+ * The target properties are the instance fields of the target type. A source property is read via its
+ * getter or an accessible field of the same name. A target property is written via the constructor,
+ * setter or direct field access, use the {@link de.qaware.emergen.apt.builder.BuilderProperty}
+ * annotation on the target fields to select the access strategy or exclude fields. Properties of
+ * different types are mapped by another method of the same mapper interface.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE})
+public @interface MapperSupport {
+    /**
+     * The package for the Mapper implementation. The default
+     * is the same package as the interface.
+     *
+     * @return the implementation package
+     */
+    String implementationPackage() default "";
+}
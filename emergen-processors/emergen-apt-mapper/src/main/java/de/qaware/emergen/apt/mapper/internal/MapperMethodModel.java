@@ -0,0 +1,263 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.mapper.internal;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent a single mapper method. The target properties, their access
+ * strategy and the source expressions are determined on construction. Used during generation.
+ *
+ * @author lreimer
+ */
+public class MapperMethodModel {
+    private static final String SOURCE = "source";
+
+    private final String name;
+    private final String sourceType;
+    private final String targetType;
+    private final List<MapperPropertyModel> properties = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    /**
+     * Initialize the method model and analyze the source and target types.
+     *
+     * @param method                the abstract mapper method
+     * @param mappingMethods        all mapper methods of the interface with their types as members of the mapper,
+     *                              used for nested properties
+     * @param implementationPackage the package of the generated implementation
+     * @param typeModels            the type models of the current round
+     * @param types                 the type utilities
+     * @throws IllegalArgumentException if the method can not be implemented
+     */
+    MapperMethodModel(final ExecutableElement method, final Map<ExecutableElement, ExecutableType> mappingMethods,
+                      final String implementationPackage, final TypeModelCache typeModels, final Types types) {
+        this.name = method.getSimpleName().toString();
+        ExecutableType methodType = mappingMethods.get(method);
+        if (methodType.getParameterTypes().size() != 1 || methodType.getReturnType().getKind() != TypeKind.DECLARED
+                || methodType.getParameterTypes().get(0).getKind() != TypeKind.DECLARED) {
+            throw new IllegalArgumentException("Mapper method " + name + " must map a single source object to a target object");
+        }
+
+        TypeMirror sourceMirror = methodType.getParameterTypes().get(0);
+        TypeMirror targetMirror = methodType.getReturnType();
+        this.sourceType = sourceMirror.toString();
+        this.targetType = targetMirror.toString();
+
+        TypeModel source = typeModels.get(sourceMirror);
+        TypeModel target = typeModels.get(targetMirror);
+        if (target.getElement().getKind() != ElementKind.CLASS || target.getElement().getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new IllegalArgumentException("Mapper target " + targetType + " of method " + name + " must be a concrete class");
+        }
+
+        List<VariableElement> constructorFields = getConstructorFields(target);
+        for (VariableElement field : target.getInstanceFields()) {
+            BuilderProperty annotation = field.getAnnotation(BuilderProperty.class);
+            if (annotation != null && !annotation.include()) {
+                continue;
+            }
+
+            String propertyName = field.getSimpleName().toString();
+            BuilderProperty.AccessStrategy accessStrategy;
+            int constructorPos = constructorFields.indexOf(field);
+            if (constructorPos >= 0) {
+                accessStrategy = BuilderProperty.AccessStrategy.CONSTRUCTOR;
+            } else if (annotation != null) {
+                accessStrategy = annotation.propertyAccess();
+            } else if (target.getSetters().containsKey(propertyName)) {
+                accessStrategy = BuilderProperty.AccessStrategy.SETTER;
+            } else if (isAccessible(field, target, implementationPackage) && !field.getModifiers().contains(Modifier.FINAL)) {
+                accessStrategy = BuilderProperty.AccessStrategy.DIRECT;
+            } else {
+                warnings.add("Target property " + propertyName + " of " + targetType + " is not writable");
+                continue;
+            }
+
+            String sourceExpression = getSourceExpression(propertyName, field.asType(), source, mappingMethods, implementationPackage, types);
+            if (sourceExpression == null && accessStrategy == BuilderProperty.AccessStrategy.CONSTRUCTOR) {
+                // the constructor argument is required, use the default value of the type
+                sourceExpression = getDefaultValue(field.asType());
+            } else if (sourceExpression == null) {
+                continue;
+            }
+
+            String setterName = "set".concat(StringUtils.capitalize(propertyName));
+            properties.add(new MapperPropertyModel(propertyName, accessStrategy, setterName, Math.max(constructorPos, 0), sourceExpression));
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * Returns the warnings for target properties that are not mapped.
+     *
+     * @return the warnings
+     */
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * Get a view on the target properties that are assigned after construction.
+     *
+     * @return list of assigned properties
+     */
+    public List<MapperPropertyModel> getAssignedProperties() {
+        return properties.stream()
+                .filter(p -> !p.isConstructorAccessor())
+                .collect(Collectors.toList());
+    }
+
+    public String getConstructorSignature() {
+        return properties.stream()
+                .filter(MapperPropertyModel::isConstructorAccessor)
+                .sorted(Comparator.comparing(MapperPropertyModel::getConstructorPos))
+                .map(MapperPropertyModel::getSourceExpression)
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Determine the fields initialized by the target constructor. These are the fields annotated with
+     * CONSTRUCTOR access, or, if the target has no accessible default constructor, the fields matching
+     * the parameter names of the public constructor with the most parameters.
+     */
+    private List<VariableElement> getConstructorFields(final TypeModel target) {
+        List<VariableElement> annotated = target.getInstanceFields().stream()
+                .filter(f -> f.getAnnotation(BuilderProperty.class) != null)
+                .filter(f -> f.getAnnotation(BuilderProperty.class).propertyAccess() == BuilderProperty.AccessStrategy.CONSTRUCTOR)
+                .sorted(Comparator.comparing(f -> f.getAnnotation(BuilderProperty.class).constructorPos()))
+                .collect(Collectors.toList());
+        List<ExecutableElement> constructors = target.getMembers(ElementKind.CONSTRUCTOR).stream()
+                .map(ExecutableElement.class::cast)
+                .filter(c -> c.getModifiers().contains(Modifier.PUBLIC))
+                .collect(Collectors.toList());
+        if (!annotated.isEmpty() || constructors.stream().anyMatch(c -> c.getParameters().isEmpty())) {
+            return annotated;
+        }
+
+        for (ExecutableElement constructor : constructors.stream()
+                .sorted(Comparator.comparing((ExecutableElement c) -> c.getParameters().size()).reversed())
+                .collect(Collectors.toList())) {
+            List<VariableElement> fields = new ArrayList<>();
+            for (VariableElement parameter : constructor.getParameters()) {
+                target.getInstanceFields().stream()
+                        .filter(f -> f.getSimpleName().contentEquals(parameter.getSimpleName()))
+                        .findFirst()
+                        .ifPresent(fields::add);
+            }
+            if (fields.size() == constructor.getParameters().size()) {
+                return fields;
+            }
+        }
+        throw new IllegalArgumentException("Mapper target " + target.getQualifiedName() + " of method " + name
+                + " has no public default constructor or constructor with parameters named like its fields");
+    }
+
+    /**
+     * Returns the expression to read the source property and convert it to the target type, or null
+     * if the property can not be mapped.
+     */
+    private String getSourceExpression(final String propertyName, final TypeMirror targetMirror, final TypeModel source,
+                                       final Map<ExecutableElement, ExecutableType> mappingMethods, final String implementationPackage,
+                                       final Types types) {
+        String expression;
+        TypeMirror sourceMirror;
+        ExecutableElement getter = source.getGetters().get(propertyName);
+        VariableElement field = source.getInstanceFields().stream()
+                .filter(f -> f.getSimpleName().contentEquals(propertyName))
+                .findFirst().orElse(null);
+        if (getter != null) {
+            expression = SOURCE + "." + getter.getSimpleName() + "()";
+            sourceMirror = getter.getReturnType();
+        } else if (field != null && isAccessible(field, source, implementationPackage)) {
+            expression = SOURCE + "." + propertyName;
+            sourceMirror = field.asType();
+        } else {
+            warnings.add("Target property " + propertyName + " of " + targetType + " has no readable source property in " + sourceType);
+            return null;
+        }
+
+        // never box or unbox, both types have to be either primitive or reference types
+        boolean primitive = targetMirror.getKind().isPrimitive();
+        if (sourceMirror.getKind().isPrimitive() == primitive && types.isAssignable(sourceMirror, targetMirror)) {
+            return expression;
+        }
+        if (!primitive && !sourceMirror.getKind().isPrimitive()) {
+            for (Map.Entry<ExecutableElement, ExecutableType> mappingMethod : mappingMethods.entrySet()) {
+                ExecutableType mappingType = mappingMethod.getValue();
+                if (mappingType.getParameterTypes().size() == 1
+                        && types.isAssignable(sourceMirror, mappingType.getParameterTypes().get(0))
+                        && types.isAssignable(mappingType.getReturnType(), targetMirror)) {
+                    return mappingMethod.getKey().getSimpleName() + "(" + expression + ")";
+                }
+            }
+        }
+        warnings.add("Target property " + propertyName + " of " + targetType + " can not be mapped from " + sourceMirror);
+        return null;
+    }
+
+    private static boolean isAccessible(final Element field, final TypeModel owner, final String implementationPackage) {
+        return field.getModifiers().contains(Modifier.PUBLIC)
+                || (!field.getModifiers().contains(Modifier.PRIVATE) && Objects.equals(owner.getPackageName(), implementationPackage));
+    }
+
+    private static String getDefaultValue(final TypeMirror type) {
+        if (type.getKind() == TypeKind.BOOLEAN) {
+            return "false";
+        } else if (type.getKind().isPrimitive()) {
+            return "(" + type + ") 0";
+        } else {
+            return "null";
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.mapper.internal;
+
+import de.qaware.emergen.apt.mapper.MapperSupport;
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import java.text.MessageFormat;
+import java.util.List;
+
+/**
+ * The data model bean to represent the Mapper implementation. Used during generation.
+ *
+ * @author lreimer
+ */
+public class MapperModel {
+    private static final String CANONICAL_FORMAT = "{0}.{1}";
+    private static final String IMPLEMENTATION_NAME_SUFFIX = "Impl";
+
+    private final String interfaceName;
+    private final String implementationName;
+    private final String implementationPackage;
+    private final List<MapperMethodModel> methods;
+
+    /**
+     * Initialize the mapper model with the given references.
+     *
+     * @param typeModel               the type model of the annotated interface
+     * @param mapperSupportAnnotation the annotation itself
+     * @param methods                 the mapper methods to implement
+     */
+    MapperModel(final TypeModel typeModel, final MapperSupport mapperSupportAnnotation, final List<MapperMethodModel> methods) {
+        this.interfaceName = typeModel.getQualifiedName();
+        this.implementationName = typeModel.getSimpleName().concat(IMPLEMENTATION_NAME_SUFFIX);
+        if (StringUtils.isEmpty(mapperSupportAnnotation.implementationPackage())) {
+            this.implementationPackage = typeModel.getPackageName();
+        } else {
+            this.implementationPackage = mapperSupportAnnotation.implementationPackage();
+        }
+        this.methods = methods;
+    }
+
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    public String getImplementationName() {
+        return implementationName;
+    }
+
+    public String getImplementationPackage() {
+        return implementationPackage;
+    }
+
+    public List<MapperMethodModel> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns the fully qualified name for this Mapper.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalImplementationName() {
+        return MessageFormat.format(CANONICAL_FORMAT, implementationPackage, implementationName);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.mapper.internal;
+
+import de.qaware.emergen.apt.builder.BuilderProperty;
+
+/**
+ * The data model bean to represent a single target property of a mapper method. Used during generation.
+ *
+ * @author lreimer
+ */
+public class MapperPropertyModel {
+
+    private final String name;
+    private final BuilderProperty.AccessStrategy accessStrategy;
+    private final String setterName;
+    private final int constructorPos;
+    private final String sourceExpression;
+
+    /**
+     * Initialize the model bean.
+     *
+     * @param name             the target property name
+     * @param accessStrategy   the strategy to write the target property
+     * @param setterName       the setter name, only used for SETTER access
+     * @param constructorPos   the constructor argument position, only used for CONSTRUCTOR access
+     * @param sourceExpression the expression to read and convert the source value
+     */
+    MapperPropertyModel(final String name, final BuilderProperty.AccessStrategy accessStrategy, final String setterName,
+                        final int constructorPos, final String sourceExpression) {
+        this.name = name;
+        this.accessStrategy = accessStrategy;
+        this.setterName = setterName;
+        this.constructorPos = constructorPos;
+        this.sourceExpression = sourceExpression;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isDirectAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.DIRECT;
+    }
+
+    public boolean isSetterAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.SETTER;
+    }
+
+    public boolean isConstructorAccessor() {
+        return accessStrategy == BuilderProperty.AccessStrategy.CONSTRUCTOR;
+    }
+
+    public String getSetterName() {
+        return setterName;
+    }
+
+    public int getConstructorPos() {
+        return constructorPos;
+    }
+
+    public String getSourceExpression() {
+        return sourceExpression;
+    }
+}
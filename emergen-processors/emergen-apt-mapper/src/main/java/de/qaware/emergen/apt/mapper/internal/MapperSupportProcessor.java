@@ -0,0 +1,171 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.mapper.internal;
+
+import de.qaware.emergen.apt.mapper.MapperSupport;
+import de.qaware.emergen.core.FileObjectGenerator;
+import de.qaware.emergen.core.FileObjectGeneratorFactory;
+import de.qaware.emergen.core.FileObjectGenerators;
+import de.qaware.emergen.core.TypeModel;
+import de.qaware.emergen.core.TypeModelCache;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An annotation processor implementation to generate reflection free Mapper implementations
+ * for interfaces annotated with the MapperSupport annotation.
+ *
+ * @author lreimer
+ */
+@SupportedAnnotationTypes({"de.qaware.emergen.apt.mapper.MapperSupport"})
+public class MapperSupportProcessor extends AbstractProcessor {
+
+    private static final String MAPPER_IMPLEMENTATION_TEMPLATE = "Mapper.vm";
+
+    private TypeModelCache typeModelCache;
+    private FileObjectGenerators generators;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        typeModelCache = TypeModelCache.getInstance(processingEnv);
+        generators = FileObjectGeneratorFactory.preload(MAPPER_IMPLEMENTATION_TEMPLATE);
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (annotations.isEmpty()) {
+            return false;
+        }
+
+        FileObjectGenerator generator = generators.getInstance(MAPPER_IMPLEMENTATION_TEMPLATE);
+
+        Messager messager = processingEnv.getMessager();
+        Filer filer = processingEnv.getFiler();
+        TypeModelCache cache = typeModelCache.forRound(processingEnv, roundEnv);
+
+        for (TypeElement typeElement : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(typeElement)) {
+                if (element.getKind() != ElementKind.INTERFACE) {
+                    messager.printMessage(Diagnostic.Kind.ERROR, "MapperSupport is only supported on interfaces", element);
+                    continue;
+                }
+
+                TypeModel typeModel = cache.get((TypeElement) element);
+                MapperSupport mapperSupportAnnotation = element.getAnnotation(MapperSupport.class);
+                messager.printMessage(Diagnostic.Kind.NOTE, "Generating Mapper support for " + element.getSimpleName().toString());
+
+                String implementationPackage = StringUtils.defaultIfEmpty(mapperSupportAnnotation.implementationPackage(), typeModel.getPackageName());
+                List<MapperMethodModel> methods = getMapperMethods(typeModel, implementationPackage, cache, messager);
+                if (methods == null) {
+                    continue;
+                }
+
+                Map<String, Object> context = new HashMap<>();
+                MapperModel mapperModel = new MapperModel(typeModel, mapperSupportAnnotation, methods);
+                context.put("mapper", mapperModel);
+
+                try {
+                    JavaFileObject javaFileObject = filer.createSourceFile(mapperModel.getCanonicalImplementationName(), element);
+                    try (Writer writer = javaFileObject.openWriter()) {
+                        generator.generate(context, writer);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Analyze the abstract methods of the mapper interface, including the ones inherited from super interfaces.
+     * Default and static methods are left as they are.
+     *
+     * @return the method models, or null if a method can not be implemented
+     */
+    private List<MapperMethodModel> getMapperMethods(final TypeModel typeModel, final String implementationPackage,
+                                                     final TypeModelCache cache, final Messager messager) {
+        Types types = processingEnv.getTypeUtils();
+        TypeElement mapper = typeModel.getElement();
+        DeclaredType mapperType = (DeclaredType) mapper.asType();
+
+        // resolve the method types as members of the mapper, so type variables of generic super interfaces are bound
+        Map<ExecutableElement, ExecutableType> mappingMethods = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(mapper))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)) {
+                mappingMethods.put(method, (ExecutableType) types.asMemberOf(mapperType, method));
+            }
+        }
+
+        List<MapperMethodModel> methods = new ArrayList<>();
+        boolean valid = true;
+        for (ExecutableElement method : mappingMethods.keySet()) {
+            // inherited methods may be declared in another compilation unit, report them on the mapper
+            Element location = mapper.equals(method.getEnclosingElement()) ? method : mapper;
+            try {
+                MapperMethodModel methodModel = new MapperMethodModel(method, mappingMethods, implementationPackage, cache, types);
+                methodModel.getWarnings().forEach(w -> messager.printMessage(Diagnostic.Kind.WARNING, w, location));
+                methods.add(methodModel);
+            } catch (IllegalArgumentException e) {
+                messager.printMessage(Diagnostic.Kind.ERROR, e.getMessage(), location);
+                valid = false;
+            }
+        }
+        return valid ? methods : null;
+    }
+
+    /**
+     * We support the latest source version of the current execution environment. This is the alternative
+     * to using the {@link javax.annotation.processing.SupportedSourceVersion} annotation.
+     *
+     * @return the latest source version
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+}
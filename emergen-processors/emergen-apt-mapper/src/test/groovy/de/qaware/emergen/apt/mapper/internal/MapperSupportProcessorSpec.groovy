@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.mapper.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.mapper.Address
+import de.qaware.emergen.apt.mapper.Person
+import de.qaware.emergen.apt.mapper.PersonMapperImpl
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the Mapper support annotation processor')
+class MapperSupportProcessorSpec extends Specification {
+
+    static String CLASS_MAPPER = """
+    package test;
+
+    @de.qaware.emergen.apt.mapper.MapperSupport
+    public class ClassMapper {
+    }
+    """
+
+    static String INVALID_MAPPER = """
+    package test;
+
+    @de.qaware.emergen.apt.mapper.MapperSupport
+    public interface InvalidMapper {
+        String map(String source, String other);
+    }
+    """
+
+    static String INHERITED_MAPPER = """
+    package de.qaware.emergen.apt.mapper;
+
+    interface BaseMapper<S, T> {
+        T map(S source);
+    }
+
+    interface AddressMapper {
+        AddressDto toDto(Address address);
+    }
+
+    @MapperSupport
+    public interface InheritedMapper extends BaseMapper<Person, PersonDto>, AddressMapper {
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new MapperSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing PersonMapper"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new MapperSupportProcessor())
+                .compile(['Address.java', 'AddressDto.java', 'Person.java', 'PersonDto.java', 'PersonMapper.java']
+                .collect { JavaFileObjects.forResource(it) })
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.warnings().isEmpty()
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.mapper.PersonMapperImpl").get().getCharContent(true).toString()
+        source.contains('new de.qaware.emergen.apt.mapper.PersonDto(source.getName(), source.getAge())')
+        source.contains('target.active = source.isActive();')
+        source.contains('target.setAddress(toDto(source.getAddress()));')
+        source.contains('target.setStreet(source.street);')
+        !source.contains('java.lang.reflect')
+    }
+
+    def "Annotation processing InheritedMapper with generic super interface"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new MapperSupportProcessor())
+                .compile(['Address.java', 'AddressDto.java', 'Person.java', 'PersonDto.java']
+                .collect { JavaFileObjects.forResource(it) } + JavaFileObjects.forSourceString('de.qaware.emergen.apt.mapper.InheritedMapper', INHERITED_MAPPER))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.warnings().isEmpty()
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.mapper.InheritedMapperImpl").get().getCharContent(true).toString()
+        source.contains('public de.qaware.emergen.apt.mapper.PersonDto map(final de.qaware.emergen.apt.mapper.Person source) {')
+        source.contains('public de.qaware.emergen.apt.mapper.AddressDto toDto(final de.qaware.emergen.apt.mapper.Address source) {')
+        source.contains('target.setAddress(toDto(source.getAddress()));')
+    }
+
+    def "Annotation processing fails for classes and invalid methods"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new MapperSupportProcessor())
+                .compile(JavaFileObjects.forSourceString(name, source))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains(message)
+
+        where:
+        name                 | source         || message
+        'test.ClassMapper'   | CLASS_MAPPER   || 'only supported on interfaces'
+        'test.InvalidMapper' | INVALID_MAPPER || 'must map a single source object'
+    }
+
+    def "Generated PersonMapperImpl maps nested objects without reflection"() {
+        given:
+        def person = new Person(name: 'Mario', age: 42, active: true, address: new Address('Main Street', 'Rosenheim'), tags: ['a', 'b'])
+
+        when:
+        def dto = new PersonMapperImpl().toDto(person)
+
+        then:
+        dto.name == 'Mario'
+        dto.age == 42
+        dto.active
+        dto.address.street == 'Main Street'
+        dto.address.city == 'Rosenheim'
+        dto.tags == ['a', 'b']
+    }
+
+    def "Generated PersonMapperImpl handles null values"() {
+        given:
+        def mapper = new PersonMapperImpl()
+
+        expect:
+        mapper.toDto(new Person(name: 'Mario')).address == null
+        mapper.describe(new Person(name: 'Mario')) == 'Mario'
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.metrics.runtime;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The default metrics recorder, keeping the invocation count, failure count, total and maximum time of
+ * each method in striped counters. Concurrent invocations update different cells instead of contending
+ * on a single atomic value.
+ *
+ * @author lreimer
+ */
+public class StripedMetricsRecorder implements MetricsRecorder {
+
+    private final String[] methodNames;
+    private final LongAdder[] counts;
+    private final LongAdder[] failures;
+    private final LongAdder[] totalNanos;
+    private final LongAccumulator[] maxNanos;
+
+    /**
+     * Create a recorder for the given methods.
+     *
+     * @param methodNames the method names by method index
+     */
+    public StripedMetricsRecorder(final String... methodNames) {
+        this.methodNames = methodNames.clone();
+        int size = methodNames.length;
+        counts = new LongAdder[size];
+        failures = new LongAdder[size];
+        totalNanos = new LongAdder[size];
+        maxNanos = new LongAccumulator[size];
+        for (int i = 0; i < size; i++) {
+            counts[i] = new LongAdder();
+            failures[i] = new LongAdder();
+            totalNanos[i] = new LongAdder();
+            maxNanos[i] = new LongAccumulator(Math::max, 0L);
+        }
+    }
+
+    @Override
+    public void record(final int method, final long nanos, final boolean failed) {
+        counts[method].increment();
+        totalNanos[method].add(nanos);
+        maxNanos[method].accumulate(nanos);
+        if (failed) {
+            failures[method].increment();
+        }
+    }
+
+    public int size() {
+        return methodNames.length;
+    }
+
+    public String getMethodName(final int method) {
+        return methodNames[method];
+    }
+
+    public long getCount(final int method) {
+        return counts[method].sum();
+    }
+
+    public long getFailures(final int method) {
+        return failures[method].sum();
+    }
+
+    public long getTotalNanos(final int method) {
+        return totalNanos[method].sum();
+    }
+
+    public long getMaxNanos(final int method) {
+        return maxNanos[method].get();
+    }
+
+    /**
+     * Reset all counters, concurrent invocations may or may not be included afterwards.
+     */
+    public void reset() {
+        for (int i = 0; i < methodNames.length; i++) {
+            counts[i].reset();
+            failures[i].reset();
+            totalNanos[i].reset();
+            maxNanos[i].reset();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < methodNames.length; i++) {
+            builder.append(methodNames[i])
+                    .append(" count=").append(getCount(i))
+                    .append(" failures=").append(getFailures(i))
+                    .append(" totalNanos=").append(getTotalNanos(i))
+                    .append(" maxNanos=").append(getMaxNanos(i))
+                    .append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
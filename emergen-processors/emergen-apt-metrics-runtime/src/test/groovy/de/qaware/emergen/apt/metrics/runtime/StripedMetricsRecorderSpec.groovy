@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.metrics.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+@Title('Test specification for the striped metrics recorder')
+class StripedMetricsRecorderSpec extends Specification {
+
+    def "Record invocations per method"() {
+        given:
+        def recorder = new StripedMetricsRecorder('find(long)', 'save(java.lang.Object)')
+
+        when:
+        recorder.record(0, 100L, false)
+        recorder.record(0, 300L, true)
+        recorder.record(1, 50L, false)
+
+        then:
+        recorder.size() == 2
+        recorder.getMethodName(1) == 'save(java.lang.Object)'
+        recorder.getCount(0) == 2
+        recorder.getFailures(0) == 1
+        recorder.getTotalNanos(0) == 400L
+        recorder.getMaxNanos(0) == 300L
+        recorder.getCount(1) == 1
+        recorder.toString().startsWith('find(long) count=2 failures=1 totalNanos=400 maxNanos=300')
+
+        when:
+        recorder.reset()
+
+        then:
+        recorder.getCount(0) == 0
+        recorder.getMaxNanos(0) == 0L
+    }
+
+    def "Record invocations concurrently"() {
+        given:
+        def recorder = new StripedMetricsRecorder('run()')
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        4.times {
+            executor.submit { 10000.times { recorder.record(0, 1L, false) } }
+        }
+        executor.shutdown()
+        executor.awaitTermination(10, TimeUnit.SECONDS)
+
+        then:
+        recorder.getCount(0) == 40000
+        recorder.getTotalNanos(0) == 40000L
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.metrics.jmh;
+
+import de.qaware.emergen.apt.metrics.runtime.StripedMetricsRecorder;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated metrics decorator with a dynamic proxy recording the same metrics,
+ * and with the plain service. Run with <code>-prof gc</code> to compare the allocation rates as well.
+ *
+ * @author lreimer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private final PricingService plain = (base, quantity) -> base * quantity;
+    private final PricingService generated = new PricingServiceMetricsDecorator(plain);
+    private final PricingService proxy = proxy(plain, new StripedMetricsRecorder(PricingServiceMetricsDecorator.getMethodNames()));
+    private long base = 42L;
+    private int quantity = 3;
+
+    private static PricingService proxy(final PricingService delegate, final StripedMetricsRecorder recorder) {
+        return (PricingService) Proxy.newProxyInstance(PricingService.class.getClassLoader(), new Class<?>[]{PricingService.class},
+                (instance, method, args) -> {
+                    long start = System.nanoTime();
+                    boolean failed = true;
+                    try {
+                        Object result = method.invoke(delegate, args);
+                        failed = false;
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        recorder.record(0, System.nanoTime() - start, failed);
+                    }
+                });
+    }
+
+    @Benchmark
+    public long plain() {
+        return plain.price(base, quantity);
+    }
+
+    @Benchmark
+    public long generated() {
+        return generated.price(base, quantity);
+    }
+
+    @Benchmark
+    public long proxy() {
+        return proxy.price(base, quantity);
+    }
+}
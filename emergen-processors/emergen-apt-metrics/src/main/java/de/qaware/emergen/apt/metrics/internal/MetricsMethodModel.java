@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.metrics.internal;
+
+/**
+ * The data model bean to represent a decorated method. Used during generation.
+ *
+ * @author lreimer
+ */
+public class MetricsMethodModel {
+    private final int index;
+    private final String name;
+    private final String methodName;
+    private final String typeParameters;
+    private final String returnType;
+    private final String parameters;
+    private final String arguments;
+    private final String throwsClause;
+    private String constantName;
+
+    /**
+     * Initialize the method model, the types and parameter lists are rendered as Java source.
+     *
+     * @param index          the method index
+     * @param name           the unique method name including the parameter types
+     * @param methodName     the simple method name
+     * @param typeParameters the type parameter declaration, may be empty
+     * @param returnType     the return type
+     * @param parameters     the parameter declarations
+     * @param arguments      the argument list of the delegate call
+     * @param throwsClause   the throws clause, may be empty
+     */
+    MetricsMethodModel(final int index, final String name, final String methodName, final String typeParameters,
+                       final String returnType, final String parameters, final String arguments, final String throwsClause) {
+        this.index = index;
+        this.name = name;
+        this.methodName = methodName;
+        this.typeParameters = typeParameters;
+        this.returnType = returnType;
+        this.parameters = parameters;
+        this.arguments = arguments;
+        this.throwsClause = throwsClause;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getTypeParameters() {
+        return typeParameters;
+    }
+
+    public String getReturnType() {
+        return returnType;
+    }
+
+    public boolean isVoid() {
+        return "void".equals(returnType);
+    }
+
+    public String getParameters() {
+        return parameters;
+    }
+
+    public String getArguments() {
+        return arguments;
+    }
+
+    public String getThrowsClause() {
+        return throwsClause;
+    }
+
+    /**
+     * Returns the name of the method index constant, e.g. FIND_BY_ID.
+     *
+     * @return the constant name
+     */
+    public String getConstantName() {
+        return constantName;
+    }
+
+    void setConstantName(final String constantName) {
+        this.constantName = constantName;
+    }
+}
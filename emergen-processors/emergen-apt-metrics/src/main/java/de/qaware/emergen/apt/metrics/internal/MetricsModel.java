@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.metrics.internal;
+
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The data model bean to represent the generated metrics decorator of an interface. Used during generation.
+ *
+ * @author lreimer
+ */
+public class MetricsModel {
+    private static final String DECORATOR_SUFFIX = "MetricsDecorator";
+    private static final String OBJECT = "java.lang.Object";
+
+    private final String packageName;
+    private final String interfaceName;
+    private final String decoratorName;
+    private final String typeParameters;
+    private final String typeArguments;
+    private final List<MetricsMethodModel> methods = new ArrayList<>();
+
+    /**
+     * Initialize the metrics model with all abstract and default methods of the interface, including
+     * the inherited ones.
+     *
+     * @param typeModel the type model of the annotated interface
+     * @param elements  the element utilities
+     * @param types     the type utilities
+     */
+    MetricsModel(final TypeModel typeModel, final Elements elements, final Types types) {
+        TypeElement element = typeModel.getElement();
+        this.packageName = typeModel.getPackageName();
+        this.interfaceName = typeModel.getQualifiedName();
+        String binaryName = elements.getBinaryName(element).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        this.decoratorName = simpleName.replace('$', '_').concat(DECORATOR_SUFFIX);
+        this.typeParameters = typeParameters(element.getTypeParameters());
+        this.typeArguments = element.getTypeParameters().isEmpty() ? "" : element.getTypeParameters().stream()
+                .map(p -> p.getSimpleName().toString()).collect(Collectors.joining(", ", "<", ">"));
+
+        DeclaredType declaredType = (DeclaredType) element.asType();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(element))) {
+            if (method.getModifiers().contains(Modifier.STATIC)
+                    || method.getEnclosingElement().getKind() != ElementKind.INTERFACE) {
+                continue;
+            }
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(declaredType, method);
+            methods.add(method(methods.size(), method, methodType));
+        }
+
+        // overloaded methods get their index appended to the constant name
+        Map<String, Long> overloads = methods.stream()
+                .collect(Collectors.groupingBy(MetricsMethodModel::getMethodName, Collectors.counting()));
+        for (MetricsMethodModel method : methods) {
+            String constantName = StringUtils.join(StringUtils.splitByCharacterTypeCamelCase(method.getMethodName()), '_').toUpperCase(Locale.ENGLISH);
+            method.setConstantName(overloads.get(method.getMethodName()) > 1 ? constantName + "_" + method.getIndex() : constantName);
+        }
+    }
+
+    private static MetricsMethodModel method(final int index, final ExecutableElement method, final ExecutableType methodType) {
+        List<String> parameters = new ArrayList<>();
+        List<String> arguments = new ArrayList<>();
+        List<String> parameterTypes = new ArrayList<>();
+        List<? extends VariableElement> parameterElements = method.getParameters();
+        for (int i = 0; i < parameterElements.size(); i++) {
+            String parameterName = parameterElements.get(i).getSimpleName().toString();
+            String parameterType = methodType.getParameterTypes().get(i).toString();
+            parameterTypes.add(parameterType);
+            if (method.isVarArgs() && i == parameterElements.size() - 1) {
+                parameterType = parameterType.substring(0, parameterType.length() - 2).concat("...");
+            }
+            parameters.add("final " + parameterType + " " + parameterName);
+            arguments.add(parameterName);
+        }
+        String methodName = method.getSimpleName().toString();
+        String throwsClause = methodType.getThrownTypes().isEmpty() ? "" : methodType.getThrownTypes().stream()
+                .map(TypeMirror::toString).collect(Collectors.joining(", ", " throws ", ""));
+
+        return new MetricsMethodModel(index, methodName + "(" + String.join(",", parameterTypes) + ")", methodName,
+                typeParameters(method.getTypeParameters()), methodType.getReturnType().toString(),
+                String.join(", ", parameters), String.join(", ", arguments), throwsClause);
+    }
+
+    private static String typeParameters(final List<? extends TypeParameterElement> typeParameters) {
+        if (typeParameters.isEmpty()) {
+            return "";
+        }
+        return typeParameters.stream().map(p -> {
+            List<String> bounds = p.getBounds().stream().map(TypeMirror::toString)
+                    .filter(bound -> !OBJECT.equals(bound)).collect(Collectors.toList());
+            return bounds.isEmpty() ? p.getSimpleName().toString() : p.getSimpleName() + " extends " + String.join(" & ", bounds);
+        }).collect(Collectors.joining(", ", "<", ">"));
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getInterfaceName() {
+        return interfaceName;
+    }
+
+    public String getDecoratorName() {
+        return decoratorName;
+    }
+
+    /**
+     * Returns the type parameter declaration of the interface, e.g. {@code <T extends Number>}.
+     *
+     * @return the type parameters, may be empty
+     */
+    public String getTypeParameters() {
+        return typeParameters;
+    }
+
+    /**
+     * Returns the type arguments to implement the interface, e.g. {@code <T>}.
+     *
+     * @return the type arguments, may be empty
+     */
+    public String getTypeArguments() {
+        return typeArguments;
+    }
+
+    public List<MetricsMethodModel> getMethods() {
+        return methods;
+    }
+
+    /**
+     * Returns the fully qualified name of the decorator.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalDecoratorName() {
+        return packageName.isEmpty() ? decoratorName : packageName + "." + decoratorName;
+    }
+}
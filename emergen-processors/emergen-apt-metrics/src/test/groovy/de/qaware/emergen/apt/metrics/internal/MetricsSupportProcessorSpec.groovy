@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.metrics.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.metrics.OrderService
+import de.qaware.emergen.apt.metrics.OrderServiceMetricsDecorator
+import de.qaware.emergen.apt.metrics.runtime.MetricsRecorder
+import de.qaware.emergen.apt.metrics.runtime.StripedMetricsRecorder
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the metrics support annotation processor')
+class MetricsSupportProcessorSpec extends Specification {
+
+    static String CLASS_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.metrics.MetricsSupport
+    public class ClassPojo {
+    }
+    """
+
+    static String GENERIC_SERVICE = """
+    package test;
+
+    @de.qaware.emergen.apt.metrics.MetricsSupport
+    public interface GenericService<K extends Comparable<K>, V> {
+        V get(K key);
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new MetricsSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing OrderService"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new MetricsSupportProcessor())
+                .compile(JavaFileObjects.forResource("Repository.java"), JavaFileObjects.forResource("OrderService.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.metrics.OrderServiceMetricsDecorator").get().getCharContent(true).toString()
+        source.contains('public final class OrderServiceMetricsDecorator implements de.qaware.emergen.apt.metrics.OrderService {')
+        source.contains('public java.lang.String placeOrder(final java.lang.String item, final int quantity) throws java.io.IOException {')
+        source.contains('public java.util.List<java.lang.String> tags(final java.lang.String... tags) {')
+        source.contains('public <E extends java.lang.Comparable<E>> E max(final E left, final E right) {')
+        source.contains('public void save(final java.lang.String entity) {')
+        source.contains('this.recorder.record(PLACE_ORDER_2, System.nanoTime() - metricsStart, metricsFailed);')
+        !source.contains('java.lang.reflect')
+        !source.contains('Object[]')
+    }
+
+    def "Annotation processing generic interface"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new MetricsSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.GenericService', GENERIC_SERVICE))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("test.GenericServiceMetricsDecorator").get().getCharContent(true).toString()
+        source.contains('public final class GenericServiceMetricsDecorator<K extends java.lang.Comparable<K>, V> implements test.GenericService<K, V> {')
+        source.contains('public V get(final K key) {')
+    }
+
+    def "Annotation processing fails for classes"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new MetricsSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.ClassPojo', CLASS_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('MetricsSupport is only supported on non private interfaces')
+    }
+
+    def "Generated decorator records invocations"() {
+        given:
+        def delegate = [find      : { long id -> "order-$id".toString() },
+                        placeOrder: { String item, int quantity -> throw new IOException('out of stock') }] as OrderService
+        def decorator = new OrderServiceMetricsDecorator(delegate)
+        def recorder = (StripedMetricsRecorder) decorator.recorder
+
+        when:
+        def result = decorator.find(4711L)
+        decorator.find(4712L)
+
+        then:
+        result == 'order-4711'
+        recorder.getCount(OrderServiceMetricsDecorator.FIND) == 2
+        recorder.getFailures(OrderServiceMetricsDecorator.FIND) == 0
+        recorder.getTotalNanos(OrderServiceMetricsDecorator.FIND) > 0L
+        recorder.getMethodName(OrderServiceMetricsDecorator.PLACE_ORDER_2) == 'placeOrder(java.lang.String,int)'
+
+        when:
+        decorator.placeOrder('item', 2)
+
+        then:
+        thrown(IOException)
+        recorder.getCount(OrderServiceMetricsDecorator.PLACE_ORDER_2) == 1
+        recorder.getFailures(OrderServiceMetricsDecorator.PLACE_ORDER_2) == 1
+    }
+
+    def "Generated decorator uses a pluggable recorder"() {
+        given:
+        def recorded = []
+        def decorator = new OrderServiceMetricsDecorator([find: { long id -> 'found' }] as OrderService,
+                { method, nanos, failed -> recorded << [method, failed] } as MetricsRecorder)
+
+        expect:
+        decorator.find(42L) == 'found'
+        recorded == [[OrderServiceMetricsDecorator.FIND, false]]
+        OrderServiceMetricsDecorator.methodNames.length == 7
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool.runtime;
+
+/**
+ * An immutable snapshot of the statistics of an object pool. The number of outstanding instances
+ * that were borrowed but not released yet is the indicator for leaked instances.
+ *
+ * @author lreimer
+ */
+public final class PoolStats {
+    private final long borrowCount;
+    private final long releaseCount;
+    private final long createCount;
+    private final long dropCount;
+
+    /**
+     * Create a statistics snapshot.
+     *
+     * @param borrowCount  the number of borrowed instances
+     * @param releaseCount the number of released instances
+     * @param createCount  the number of instances created because the pool was empty
+     * @param dropCount    the number of released instances discarded because the pool was full
+     */
+    public PoolStats(final long borrowCount, final long releaseCount, final long createCount, final long dropCount) {
+        this.borrowCount = borrowCount;
+        this.releaseCount = releaseCount;
+        this.createCount = createCount;
+        this.dropCount = dropCount;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    public long getReleaseCount() {
+        return releaseCount;
+    }
+
+    public long getCreateCount() {
+        return createCount;
+    }
+
+    public long getDropCount() {
+        return dropCount;
+    }
+
+    /**
+     * Returns the number of borrowed instances that were not released yet. A steadily growing
+     * value indicates instances that are never returned to the pool.
+     *
+     * @return the outstanding instances
+     */
+    public long getOutstandingCount() {
+        return borrowCount - releaseCount;
+    }
+
+    /**
+     * Returns the ratio of borrowed instances that were taken from the pool instead of being created.
+     *
+     * @return the reuse rate, 1.0 if nothing was borrowed
+     */
+    public double getReuseRate() {
+        return borrowCount == 0 ? 1.0d : (double) (borrowCount - createCount) / borrowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats{borrowCount=" + borrowCount + ", releaseCount=" + releaseCount + ", createCount=" + createCount
+                + ", dropCount=" + dropCount + '}';
+    }
+}
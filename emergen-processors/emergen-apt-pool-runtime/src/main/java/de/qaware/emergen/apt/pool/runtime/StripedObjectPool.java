@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool.runtime;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded object pool with lock-free borrow and release. The slots are split into stripes and each
+ * thread starts probing the stripe selected by its id, so threads rarely contend for the same slots.
+ * Each stripe is padded to its own cache lines. Only if its own stripe is empty or full the other
+ * stripes are probed, so instances released by one thread can still be borrowed by another. If the
+ * whole pool is empty the instance is created, if it is full the released instance is dropped and
+ * left to the garbage collector.
+ * <p>
+ * Released instances are reset before they become visible to other threads. Releasing an instance
+ * twice or using it after the release is not detected and must be avoided by the caller.
+ *
+ * @param <T> the type of the pooled instances
+ * @author lreimer
+ */
+public abstract class StripedObjectPool<T> {
+    /**
+     * Slots per cache line of 64 bytes, assuming compressed references.
+     */
+    private static final int PADDING = 16;
+    private static final int MAXIMUM_STRIPES = 64;
+
+    private final AtomicReferenceArray<T> slots;
+    private final int stripeMask;
+    private final int stripeSize;
+    private final int stripeStride;
+
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder releaseCount = new LongAdder();
+    private final LongAdder createCount = new LongAdder();
+    private final LongAdder dropCount = new LongAdder();
+
+    /**
+     * Create a pool with the given capacity.
+     *
+     * @param capacity the maximum number of idle instances
+     * @param stripes  the number of stripes, 0 to use the number of available processors
+     */
+    protected StripedObjectPool(final int capacity, final int stripes) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        } else if (stripes < 0) {
+            throw new IllegalArgumentException("Stripes must not be negative: " + stripes);
+        }
+        int requested = stripes == 0 ? Runtime.getRuntime().availableProcessors() : stripes;
+        int stripeCount = Integer.highestOneBit(Math.min(Math.min(requested, capacity), MAXIMUM_STRIPES));
+        this.stripeMask = stripeCount - 1;
+        this.stripeSize = (capacity + stripeCount - 1) / stripeCount;
+        this.stripeStride = (stripeSize + PADDING - 1) / PADDING * PADDING;
+        this.slots = new AtomicReferenceArray<>(stripeCount * stripeStride);
+    }
+
+    /**
+     * Create a new instance if the pool is empty.
+     *
+     * @return the new instance
+     */
+    protected abstract T create();
+
+    /**
+     * Reset the state of a released instance.
+     *
+     * @param instance the released instance
+     */
+    public abstract void reset(T instance);
+
+    /**
+     * Take an idle instance from the pool, or create one if there is none.
+     *
+     * @return the instance, never null
+     */
+    public T borrow() {
+        borrowCount.increment();
+        int stripe = stripe();
+        for (int n = 0; n <= stripeMask; n++) {
+            int start = ((stripe + n) & stripeMask) * stripeStride;
+            for (int i = start, end = start + stripeSize; i < end; i++) {
+                T instance = slots.get(i);
+                if (instance != null && slots.compareAndSet(i, instance, null)) {
+                    return instance;
+                }
+            }
+        }
+        createCount.increment();
+        return create();
+    }
+
+    /**
+     * Reset the instance and return it to the pool. The instance must not be used afterwards.
+     *
+     * @param instance the borrowed instance
+     */
+    public void release(final T instance) {
+        if (instance == null) {
+            throw new IllegalArgumentException("Instance must not be null");
+        }
+        releaseCount.increment();
+        reset(instance);
+        int stripe = stripe();
+        for (int n = 0; n <= stripeMask; n++) {
+            int start = ((stripe + n) & stripeMask) * stripeStride;
+            for (int i = start, end = start + stripeSize; i < end; i++) {
+                if (slots.get(i) == null && slots.compareAndSet(i, null, instance)) {
+                    return;
+                }
+            }
+        }
+        dropCount.increment();
+    }
+
+    /**
+     * Returns the number of idle instances. The value is only an estimate under concurrent use.
+     *
+     * @return the idle instances
+     */
+    public int idle() {
+        int idle = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Returns a snapshot of the statistics, including the outstanding instances for leak detection.
+     *
+     * @return the statistics
+     */
+    public PoolStats stats() {
+        return new PoolStats(borrowCount.sum(), releaseCount.sum(), createCount.sum(), dropCount.sum());
+    }
+
+    /**
+     * Returns the capacity of the pool, rounded up to fill all stripes evenly.
+     *
+     * @return the capacity
+     */
+    public int capacity() {
+        return (stripeMask + 1) * stripeSize;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool.runtime
+
+import spock.lang.Specification
+import spock.lang.Title
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Title('Test specification for the striped object pool')
+class StripedObjectPoolSpec extends Specification {
+
+    static class BufferPool extends StripedObjectPool<StringBuilder> {
+        BufferPool(int capacity, int stripes) {
+            super(capacity, stripes)
+        }
+
+        @Override
+        protected StringBuilder create() {
+            new StringBuilder()
+        }
+
+        @Override
+        void reset(StringBuilder instance) {
+            instance.setLength(0)
+        }
+    }
+
+    def "Reuse released instances"() {
+        given:
+        def pool = new BufferPool(4, 1)
+
+        when:
+        def first = pool.borrow()
+        first.append('dirty')
+        pool.release(first)
+        def second = pool.borrow()
+
+        then:
+        second.is(first)
+        second.length() == 0
+        pool.stats().borrowCount == 2
+        pool.stats().createCount == 1
+        pool.stats().outstandingCount == 1
+        pool.stats().reuseRate == 0.5d
+    }
+
+    def "Drop released instances if the pool is full"() {
+        given:
+        def pool = new BufferPool(2, 1)
+        def instances = (1..3).collect { pool.borrow() }
+
+        when:
+        instances.each { pool.release(it) }
+
+        then:
+        pool.idle() == 2
+        pool.stats().dropCount == 1
+        pool.stats().outstandingCount == 0
+        pool.capacity() == 2
+    }
+
+    def "Borrow instances released by other threads"() {
+        given:
+        def pool = new BufferPool(64, 8)
+        def instance = pool.borrow()
+
+        when:
+        def thread = Thread.start { pool.release(instance) }
+        thread.join()
+
+        then:
+        pool.borrow().is(instance)
+        pool.stats().createCount == 1
+    }
+
+    def "Reject invalid configuration"() {
+        when:
+        new BufferPool(capacity, stripes)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        capacity | stripes
+        0        | 1
+        4        | -1
+    }
+
+    def "Concurrent borrow and release never share an instance"() {
+        given:
+        def pool = new BufferPool(16, 0)
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+        def failures = new AtomicInteger()
+
+        when:
+        8.times { t ->
+            executor.submit {
+                start.await()
+                String marker = "thread-$t"
+                10_000.times {
+                    def buffer = pool.borrow()
+                    if (buffer.length() != 0) {
+                        failures.incrementAndGet()
+                    }
+                    buffer.append(marker)
+                    Thread.yield()
+                    if (buffer.toString() != marker) {
+                        failures.incrementAndGet()
+                    }
+                    pool.release(buffer)
+                }
+            }
+        }
+        start.countDown()
+        executor.shutdown()
+
+        then:
+        executor.awaitTermination(1, TimeUnit.MINUTES)
+        failures.get() == 0
+        pool.stats().borrowCount == 80_000
+        pool.stats().outstandingCount == 0
+        pool.stats().createCount <= 16 + pool.stats().dropCount
+    }
+}
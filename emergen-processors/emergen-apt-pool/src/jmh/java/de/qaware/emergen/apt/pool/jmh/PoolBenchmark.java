@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool.jmh;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark comparing the generated striped pool with plain allocation and with a synchronized pool
+ * backed by an ArrayDeque, using several threads. Run with <code>-prof gc</code> to compare the
+ * allocation rates as well.
+ *
+ * @author lreimer
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class PoolBenchmark {
+
+    private final EnvelopePool generated = new EnvelopePool();
+    private final ArrayDeque<Envelope> synchronizedPool = new ArrayDeque<>();
+
+    private static void use(final Envelope envelope, final Blackhole blackhole) {
+        envelope.sequence = System.identityHashCode(envelope);
+        envelope.topic = "orders";
+        envelope.headers.add("trace");
+        envelope.payload[0] = 1;
+        blackhole.consume(envelope);
+    }
+
+    @Benchmark
+    public void allocation(final Blackhole blackhole) {
+        use(new Envelope(), blackhole);
+    }
+
+    @Benchmark
+    public void generated(final Blackhole blackhole) {
+        Envelope envelope = generated.borrow();
+        use(envelope, blackhole);
+        generated.release(envelope);
+    }
+
+    @Benchmark
+    public void synchronizedPool(final Blackhole blackhole) {
+        Envelope envelope;
+        synchronized (synchronizedPool) {
+            envelope = synchronizedPool.poll();
+        }
+        if (envelope == null) {
+            envelope = new Envelope();
+        }
+        use(envelope, blackhole);
+        generated.reset(envelope);
+        synchronized (synchronizedPool) {
+            if (synchronizedPool.size() < EnvelopePool.DEFAULT_CAPACITY) {
+                synchronizedPool.offer(envelope);
+            }
+        }
+    }
+}
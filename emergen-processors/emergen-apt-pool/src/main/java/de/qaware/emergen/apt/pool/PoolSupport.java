@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to mark classes for object pooling. A final Pool class is generated in the same package,
+ * extending the striped object pool of the runtime with a reset method generated from the instance fields
+ * of the class. The class needs an accessible no-argument constructor.
+ * <p>
+ * Released instances are reset field by field: non final fields are set to their Java default value,
+ * directly or via their setter if they are private. Final collections and maps are cleared and final
+ * one-dimensional arrays are filled with the default value, directly or via their getter. Fields annotated
+ * with {@link PoolRetain} keep their value.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE})
+public @interface PoolSupport {
+    /**
+     * The default maximum number of idle instances of the generated pool.
+     *
+     * @return the capacity
+     */
+    int capacity() default 64;
+
+    /**
+     * The default number of stripes of the generated pool, 0 to use the number of available processors.
+     *
+     * @return the stripes
+     */
+    int stripes() default 0;
+}
@@ -0,0 +1,214 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool.internal;
+
+import de.qaware.emergen.apt.pool.PoolRetain;
+import de.qaware.emergen.apt.pool.PoolSupport;
+import de.qaware.emergen.core.TypeModel;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The data model bean to represent the generated object pool of a class. Used during generation.
+ *
+ * @author lreimer
+ */
+public class PoolModel {
+    private static final String POOL_SUFFIX = "Pool";
+    private static final String INSTANCE = "instance";
+
+    private final String packageName;
+    private final String className;
+    private final String poolName;
+    private final int capacity;
+    private final int stripes;
+    private final List<PoolFieldModel> fields = new ArrayList<>();
+    private final List<String> warnings = new ArrayList<>();
+
+    /**
+     * Initialize the pool model with the reset strategy of each instance field declared by the class.
+     *
+     * @param typeModel   the type model of the pooled class
+     * @param poolSupport the pool support annotation
+     * @param elements    the element utilities
+     * @param types       the type utilities
+     * @throws IllegalArgumentException if the class can not be instantiated or a field can not be reset
+     */
+    PoolModel(final TypeModel typeModel, final PoolSupport poolSupport, final Elements elements, final Types types) {
+        this.packageName = typeModel.getPackageName();
+        this.className = typeModel.getQualifiedName();
+        String binaryName = elements.getBinaryName(typeModel.getElement()).toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        this.poolName = simpleName.replace('$', '_').concat(POOL_SUFFIX);
+        this.capacity = poolSupport.capacity();
+        this.stripes = poolSupport.stripes();
+
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(typeModel.getMembers(ElementKind.CONSTRUCTOR));
+        boolean instantiable = constructors.stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+        if (!instantiable) {
+            throw new IllegalArgumentException("PoolSupport requires a non private no-argument constructor");
+        }
+
+        TypeMirror collectionType = types.erasure(elements.getTypeElement("java.util.Collection").asType());
+        TypeMirror mapType = types.erasure(elements.getTypeElement("java.util.Map").asType());
+        List<ExecutableElement> methods = ElementFilter.methodsIn(typeModel.getMembers(ElementKind.METHOD));
+        for (VariableElement field : typeModel.getInstanceFields()) {
+            if (field.getAnnotation(PoolRetain.class) != null) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            TypeMirror type = field.asType();
+            boolean accessible = !field.getModifiers().contains(Modifier.PRIVATE);
+            String resetStatement;
+            if (!field.getModifiers().contains(Modifier.FINAL)) {
+                String defaultValue = defaultValue(type);
+                if (accessible) {
+                    resetStatement = INSTANCE + "." + name + " = " + defaultValue + ";";
+                } else if (hasMethod(methods, "set" + StringUtils.capitalize(name), 1)) {
+                    resetStatement = INSTANCE + ".set" + StringUtils.capitalize(name) + "(" + defaultValue + ");";
+                } else {
+                    throw new IllegalArgumentException("Field " + name + " is private and has no setter, annotate it with @PoolRetain to keep its value");
+                }
+            } else {
+                String container = containerStatement(type, types, collectionType, mapType);
+                if (container == null) {
+                    warnings.add("Final field " + name + " is not reset, annotate it with @PoolRetain to keep its value");
+                    continue;
+                }
+                String fieldAccess;
+                if (accessible) {
+                    fieldAccess = INSTANCE + "." + name;
+                } else if (hasMethod(methods, "get" + StringUtils.capitalize(name), 0)) {
+                    fieldAccess = INSTANCE + ".get" + StringUtils.capitalize(name) + "()";
+                } else {
+                    throw new IllegalArgumentException("Field " + name + " is private and has no getter, annotate it with @PoolRetain to keep its value");
+                }
+                resetStatement = String.format(container, fieldAccess);
+            }
+            fields.add(new PoolFieldModel(name, type.toString(), resetStatement));
+        }
+    }
+
+    /**
+     * Returns the format of the statement to clear a final container field, or null if the field is no container.
+     */
+    private static String containerStatement(final TypeMirror type, final Types types,
+                                             final TypeMirror collectionType, final TypeMirror mapType) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            TypeMirror componentType = ((ArrayType) type).getComponentType();
+            if (componentType.getKind() == TypeKind.ARRAY) {
+                return null;
+            }
+            return "java.util.Arrays.fill(%s, " + defaultValue(componentType) + ");";
+        }
+        TypeMirror erasure = types.erasure(type);
+        if (types.isAssignable(erasure, collectionType) || types.isAssignable(erasure, mapType)) {
+            return "%s.clear();";
+        }
+        return null;
+    }
+
+    private static boolean hasMethod(final List<ExecutableElement> methods, final String name, final int parameters) {
+        return methods.stream().anyMatch(m -> m.getSimpleName().contentEquals(name)
+                && m.getParameters().size() == parameters
+                && !m.getModifiers().contains(Modifier.PRIVATE)
+                && !m.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private static String defaultValue(final TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "false";
+            case BYTE:
+                return "(byte) 0";
+            case SHORT:
+                return "(short) 0";
+            case CHAR:
+                return "'\\0'";
+            case INT:
+                return "0";
+            case LONG:
+                return "0L";
+            case FLOAT:
+                return "0.0f";
+            case DOUBLE:
+                return "0.0d";
+            default:
+                return "null";
+        }
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public List<PoolFieldModel> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the warnings for fields that are not reset.
+     *
+     * @return the warnings, may be empty
+     */
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * Returns the fully qualified name of the pool.
+     *
+     * @return the canonical name
+     */
+    public String getCanonicalPoolName() {
+        return packageName.isEmpty() ? poolName : packageName + "." + poolName;
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.pool.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.pool.Message
+import de.qaware.emergen.apt.pool.MessagePool
+import de.qaware.emergen.apt.pool.Message_ChunkPool
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+import javax.tools.Diagnostic
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the pool support annotation processor')
+class PoolSupportProcessorSpec extends Specification {
+
+    static String ABSTRACT_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.pool.PoolSupport
+    public abstract class AbstractPojo {
+    }
+    """
+
+    static String PRIVATE_FIELD_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.pool.PoolSupport
+    public class PrivateFieldPojo {
+        private String name;
+    }
+    """
+
+    static String FINAL_FIELD_POJO = """
+    package test;
+
+    @de.qaware.emergen.apt.pool.PoolSupport
+    public class FinalFieldPojo {
+        final StringBuilder text = new StringBuilder();
+    }
+    """
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new PoolSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Message"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PoolSupportProcessor())
+                .compile(JavaFileObjects.forResource("Message.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def source = compilation.generatedSourceFile("de.qaware.emergen.apt.pool.MessagePool").get().getCharContent(true).toString()
+        source.contains('public final class MessagePool extends StripedObjectPool<de.qaware.emergen.apt.pool.Message> {')
+        source.contains('public static final int DEFAULT_CAPACITY = 8;')
+        source.contains('instance.id = 0L;')
+        source.contains("instance.priority = '\\0';")
+        source.contains('instance.tags.clear();')
+        source.contains('java.util.Arrays.fill(instance.values, 0.0d);')
+        source.contains('instance.setPayload(null);')
+        source.contains('instance.getHeaders().clear();')
+        !source.contains('buffer')
+        compilation.generatedSourceFile("de.qaware.emergen.apt.pool.Message_ChunkPool").isPresent()
+    }
+
+    def "Annotation processing fails for abstract classes"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PoolSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.AbstractPojo', ABSTRACT_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('PoolSupport is only supported on concrete, non private and non generic classes')
+    }
+
+    def "Annotation processing fails for private fields without setter"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PoolSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.PrivateFieldPojo', PRIVATE_FIELD_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()[0].getMessage(null).contains('Field name is private and has no setter')
+    }
+
+    def "Annotation processing warns about final fields"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new PoolSupportProcessor())
+                .compile(JavaFileObjects.forSourceString('test.FinalFieldPojo', FINAL_FIELD_POJO))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.diagnostics().any {
+            it.kind == Diagnostic.Kind.WARNING && it.getMessage(null).contains('Final field text is not reset')
+        }
+    }
+
+    def "Generated pool resets released instances"() {
+        given:
+        def pool = new MessagePool()
+        def message = pool.borrow()
+        def buffer = message.buffer
+
+        when:
+        message.id = 42L
+        message.urgent = true
+        message.topic = 'orders'
+        message.tags << 'a'
+        message.values[1] = 1.5d
+        message.payload = 'payload'
+        message.headers.put('key', 'value')
+        pool.release(message)
+        def borrowed = pool.borrow()
+
+        then:
+        borrowed.is(message)
+        borrowed.id == 0L
+        !borrowed.urgent
+        borrowed.topic == null
+        borrowed.tags.isEmpty()
+        borrowed.values == [0.0d, 0.0d, 0.0d, 0.0d] as double[]
+        borrowed.payload == null
+        borrowed.headers.isEmpty()
+        borrowed.buffer.is(buffer)
+        pool.stats().createCount == 1
+        pool.stats().outstandingCount == 1
+        pool.capacity() == 8
+    }
+
+    def "Generated pool for nested classes"() {
+        given:
+        def pool = new Message_ChunkPool(4, 1)
+        def chunk = pool.borrow()
+        chunk.offset = 10
+
+        when:
+        pool.release(chunk)
+
+        then:
+        pool.borrow().offset == 0
+        Message_ChunkPool.DEFAULT_CAPACITY == 64
+    }
+}
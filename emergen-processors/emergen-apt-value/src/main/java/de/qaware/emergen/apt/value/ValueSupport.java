@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.value;
+
+import java.lang.annotation.*;
+
+/**
+ * An annotation to mark classes as value types. A final Values companion class with static equals,
+ * hashCode and toString methods is generated in the same package. The generated methods compare the
+ * primitive fields first and without boxing, and toString appends to a supplied StringBuilder.
+ * <p>
+ * If the annotated class extends the generated ValueBase class, e.g. {@code class Money extends MoneyValueBase},
+ * the base class overrides equals, hashCode and toString using the companion. For immutable types, where all
+ * fields are final and none is an array, the base class computes the hash code lazily and caches it. The
+ * objects referenced by the fields of such types must be immutable as well, e.g. strings, enums or boxed
+ * primitives, otherwise the cached hash code gets stale.
+ * <p>
+ * All non static, non transient fields are part of the value, they are read via their getter or
+ * direct field access.
+ *
+ * @author lreimer
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(value = {ElementType.TYPE})
+public @interface ValueSupport {
+}
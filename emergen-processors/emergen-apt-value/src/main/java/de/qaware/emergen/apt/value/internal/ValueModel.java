@@ -0,0 +1,142 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.value.internal;
+
+import de.qaware.emergen.core.TypeModel;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.VariableElement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The data model bean to represent the generated value companion and base class of a type. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ValueModel {
+    private static final String COMPANION_SUFFIX = "Values";
+    private static final String BASE_SUFFIX = "ValueBase";
+
+    private final String pojoName;
+    private final String packageName;
+    private final List<ValuePropertyModel> properties = new ArrayList<>();
+    private final boolean immutable;
+    private final boolean base;
+
+    /**
+     * Initialize the value model and analyze the value fields of the given type.
+     *
+     * @param typeModel the type model of the annotated class
+     * @throws IllegalArgumentException if a field can not be read
+     */
+    ValueModel(final TypeModel typeModel) {
+        this.pojoName = typeModel.getSimpleName();
+        this.packageName = typeModel.getPackageName();
+
+        boolean allFinal = true;
+        for (VariableElement field : typeModel.getInstanceFields()) {
+            if (field.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            allFinal &= field.getModifiers().contains(Modifier.FINAL);
+            properties.add(new ValuePropertyModel(field.getSimpleName().toString(), field.asType(), getAccessor(typeModel, field)));
+        }
+        // compare the cheap primitive fields first
+        properties.sort(Comparator.comparing(p -> !p.isPrimitive()));
+        // the elements of a final array field can still be changed
+        this.immutable = allFinal && properties.stream().noneMatch(ValuePropertyModel::isArray);
+
+        // the superclass is not generated yet, so it is an error type with the name as written in the source
+        String superclass = typeModel.getElement().getSuperclass().toString();
+        this.base = superclass.equals(getBaseName()) || superclass.equals(getCanonicalName(getBaseName()));
+    }
+
+    private static String getAccessor(final TypeModel typeModel, final VariableElement field) {
+        String name = field.getSimpleName().toString();
+        ExecutableElement getter = typeModel.getGetters().get(name);
+        if (getter != null) {
+            return getter.getSimpleName() + "()";
+        } else if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+            return name;
+        }
+        throw new IllegalArgumentException("Property " + name + " has no getter and is not accessible");
+    }
+
+    public String getPojoName() {
+        return pojoName;
+    }
+
+    public String getPackageName() {
+        return packageName;
+    }
+
+    public String getCompanionName() {
+        return pojoName.concat(COMPANION_SUFFIX);
+    }
+
+    public String getBaseName() {
+        return pojoName.concat(BASE_SUFFIX);
+    }
+
+    /**
+     * The value fields, primitive fields first.
+     *
+     * @return list of properties
+     */
+    public List<ValuePropertyModel> getProperties() {
+        return properties;
+    }
+
+    /**
+     * Check if all value fields are final and none is an array, only then the hash code can be cached.
+     * Objects referenced by the fields are expected to be immutable as well.
+     *
+     * @return true for immutable types
+     */
+    public boolean isImmutable() {
+        return immutable;
+    }
+
+    /**
+     * Check if the annotated class extends the generated base class.
+     *
+     * @return true if the base class is generated
+     */
+    public boolean isBase() {
+        return base;
+    }
+
+    /**
+     * Returns the fully qualified name of the given generated class.
+     *
+     * @param simpleName the simple class name
+     * @return the canonical name
+     */
+    public String getCanonicalName(final String simpleName) {
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+}
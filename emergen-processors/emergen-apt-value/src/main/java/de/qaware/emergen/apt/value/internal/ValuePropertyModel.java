@@ -0,0 +1,104 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.value.internal;
+
+import org.apache.commons.lang3.StringUtils;
+
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * The data model bean to represent a single field of a value type. Used during generation.
+ *
+ * @author lreimer
+ */
+public class ValuePropertyModel {
+
+    private final String name;
+    private final TypeMirror type;
+    private final String accessor;
+
+    /**
+     * Initialize the model bean.
+     *
+     * @param name     the property name
+     * @param type     the property type
+     * @param accessor the getter call or field name to read the property
+     */
+    ValuePropertyModel(final String name, final TypeMirror type, final String accessor) {
+        this.name = name;
+        this.type = type;
+        this.accessor = accessor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAccessor() {
+        return accessor;
+    }
+
+    public boolean isPrimitive() {
+        return type.getKind().isPrimitive();
+    }
+
+    public boolean isFloat() {
+        return type.getKind() == TypeKind.FLOAT;
+    }
+
+    public boolean isDouble() {
+        return type.getKind() == TypeKind.DOUBLE;
+    }
+
+    public boolean isArray() {
+        return type.getKind() == TypeKind.ARRAY;
+    }
+
+    /**
+     * Arrays of references are compared, hashed and printed deeply.
+     *
+     * @return true for arrays of references
+     */
+    public boolean isDeepArray() {
+        return isArray() && !((ArrayType) type).getComponentType().getKind().isPrimitive();
+    }
+
+    /**
+     * The wrapper type of a primitive property, used for the static hashCode methods, e.g. Integer.
+     *
+     * @return the wrapper type name
+     */
+    public String getWrapperType() {
+        switch (type.getKind()) {
+            case INT:
+                return "Integer";
+            case CHAR:
+                return "Character";
+            default:
+                return StringUtils.capitalize(type.toString());
+        }
+    }
+}
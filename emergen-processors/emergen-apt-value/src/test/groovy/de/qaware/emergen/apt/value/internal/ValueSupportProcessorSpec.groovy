@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2018 QAware GmbH
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package de.qaware.emergen.apt.value.internal
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import de.qaware.emergen.apt.value.Money
+import de.qaware.emergen.apt.value.MoneyValueBase
+import de.qaware.emergen.apt.value.Point
+import de.qaware.emergen.apt.value.PointValues
+import de.qaware.emergen.apt.value.Rate
+import de.qaware.emergen.apt.value.RateValueBase
+import spock.lang.Specification
+import spock.lang.Title
+
+import javax.lang.model.SourceVersion
+
+import static com.google.testing.compile.Compiler.javac
+
+@Title('Test specification for the value support annotation processor')
+class ValueSupportProcessorSpec extends Specification {
+
+    def "Get supported SourceVersion"() {
+        expect:
+        new ValueSupportProcessor().supportedSourceVersion == SourceVersion.latestSupported()
+    }
+
+    def "Annotation processing Money and Point"() {
+        given:
+        def compilation = javac()
+                .withProcessors(new ValueSupportProcessor())
+                .compile(JavaFileObjects.forResource("Money.java"), JavaFileObjects.forResource("Point.java"))
+
+        expect:
+        compilation.status() == Compilation.Status.SUCCESS
+        def values = compilation.generatedSourceFile("de.qaware.emergen.apt.value.MoneyValues").get().getCharContent(true).toString()
+        values.indexOf('value.getAmount() != other.getAmount()') < values.indexOf('java.util.Objects.equals(value.getCurrency()')
+        values.contains('Long.hashCode(value.getAmount())')
+        !compilation.generatedSourceFile("de.qaware.emergen.apt.value.MoneyValueBase").get().getCharContent(true).toString().contains('private transient int hash;')
+        !compilation.generatedSourceFile("de.qaware.emergen.apt.value.PointValueBase").isPresent()
+    }
+
+    def "Generated MoneyValueBase implements equals and does not cache the hash code of array fields"() {
+        given:
+        def money = new Money('EUR', 4711L, 1.5d, [1, 2] as int[])
+        def other = new Money('EUR', 4711L, 1.5d, [9, 2] as int[])
+
+        expect:
+        MoneyValueBase.declaredFields.every { it.name != 'hash' }
+        money == new Money('EUR', 4711L, 1.5d, [1, 2] as int[])
+        money != new Money('EUR', 4711L, 1.5d, [1, 3] as int[])
+        money != new Money('USD', 4711L, 1.5d, [1, 2] as int[])
+        money != null
+        money.hashCode() == new Money('EUR', 4711L, 1.5d, [1, 2] as int[]).hashCode()
+        money.toString() == 'Money[amount=4711, rate=1.5, currency=EUR, cents=[1, 2]]'
+
+        when:
+        money.cents[0] = 9
+
+        then:
+        money == other
+        money.hashCode() == other.hashCode()
+    }
+
+    def "Generated RateValueBase caches the hash code"() {
+        given:
+        def rate = new Rate('EUR', 1.5d)
+        def hashField = RateValueBase.getDeclaredField('hash')
+        hashField.accessible = true
+
+        expect:
+        hashField.getInt(rate) == 0
+        rate == new Rate('EUR', 1.5d)
+        rate != new Rate('USD', 1.5d)
+        rate.hashCode() == new Rate('EUR', 1.5d).hashCode()
+        hashField.getInt(rate) == rate.hashCode()
+    }
+
+    def "Generated PointValues companion compares primitives and arrays"() {
+        given:
+        def first = new Point(x: 1, y: 0.5f, visible: true, labels: ['a'] as String[], cache: 'x')
+        def second = new Point(x: 1, y: 0.5f, visible: true, labels: ['a'] as String[], cache: 'y')
+        def builder = new StringBuilder('Point: ')
+
+        expect:
+        first == second
+        first.hashCode() == second.hashCode()
+        first != new Point(x: 1, y: 0.25f, visible: true, labels: ['a'] as String[])
+        PointValues.toString(first, builder).is(builder)
+        builder.toString() == 'Point: Point[x=1, y=0.5, visible=true, labels=[a]]'
+        PointValues.hashCode(null) == 0
+        PointValues.toString(null) == 'null'
+    }
+}
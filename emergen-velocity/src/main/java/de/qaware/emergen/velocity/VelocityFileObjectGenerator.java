@@ -29,6 +29,7 @@ import org.apache.velocity.VelocityContext;
 import org.apache.velocity.app.VelocityEngine;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Writer;
 import java.net.URL;
 import java.util.Collections;
@@ -44,23 +45,34 @@ import java.util.Set;
  */
 public class VelocityFileObjectGenerator extends AbstractFileObjectGenerator {
 
-    private VelocityEngine velocityEngine;
+    private Template velocityTemplate;
 
-    @Override
-    public void initialize(String template) {
-        super.initialize(template);
+    /**
+     * Lazy holder for the shared engine, initialized once on first use by whichever thread gets there first.
+     * The engine does not cache templates, each generator holds its own parsed template.
+     */
+    private static final class EngineHolder {
+        private static final VelocityEngine ENGINE = createEngine();
 
-        Properties props = new Properties();
-        URL url = this.getClass().getClassLoader().getResource("velocity.properties");
-        try {
-            props.load(url.openStream());
-        } catch (IOException e) {
-            throw new IllegalStateException("Error loading velocity.properties");
+        private static VelocityEngine createEngine() {
+            Properties props = new Properties();
+            URL url = VelocityFileObjectGenerator.class.getClassLoader().getResource("velocity.properties");
+            try (InputStream stream = url.openStream()) {
+                props.load(stream);
+            } catch (IOException e) {
+                throw new IllegalStateException("Error loading velocity.properties");
+            }
+
+            // and initialize the engine
+            VelocityEngine velocityEngine = new VelocityEngine(props);
+            velocityEngine.init();
+            return velocityEngine;
         }
+    }
 
-        // and initialize the engine
-        velocityEngine = new VelocityEngine(props);
-        velocityEngine.init();
+    @Override
+    public void prepare() {
+        getVelocityTemplate();
     }
 
     @Override
@@ -79,7 +91,7 @@ public class VelocityFileObjectGenerator extends AbstractFileObjectGenerator {
      */
     protected void generate(final Map<String, Object> context, final Writer writer, boolean autoClose) throws IOException {
         try {
-            Template vt = velocityEngine.getTemplate(getTemplate());
+            Template vt = getVelocityTemplate();
             vt.merge(new VelocityContext(context), writer);
         } finally {
             if (autoClose) {
@@ -87,4 +99,16 @@ public class VelocityFileObjectGenerator extends AbstractFileObjectGenerator {
             }
         }
     }
+
+    /**
+     * Returns the parsed template, the template is only parsed on first access.
+     *
+     * @return the parsed Velocity template
+     */
+    private Template getVelocityTemplate() {
+        if (velocityTemplate == null) {
+            velocityTemplate = EngineHolder.ENGINE.getTemplate(getTemplate());
+        }
+        return velocityTemplate;
+    }
 }
@@ -25,10 +25,13 @@ package de.qaware.emergen.velocity
 
 import de.qaware.emergen.core.FileObjectGenerator
 import de.qaware.emergen.core.FileObjectGeneratorFactory
+import org.apache.velocity.exception.ResourceNotFoundException
 import spock.lang.Specification
 import spock.lang.Subject
 import spock.lang.Title
 
+import java.util.concurrent.TimeUnit
+
 @Title("Test specification for the VelocityFileObjectGenerator implementation")
 class VelocityFileObjectGeneratorSpec extends Specification {
     @Subject
@@ -56,4 +59,29 @@ class VelocityFileObjectGeneratorSpec extends Specification {
         then:
         writer.toString() == "Content: Hello Apache Velocity."
     }
+
+    def "Generate content from preloaded Velocity template"() {
+        setup:
+        def generators = FileObjectGeneratorFactory.preload("test.vm")
+        generators.whenPrepared().get(10, TimeUnit.SECONDS)
+        def preloaded = generators.getInstance("test.vm")
+        def template = preloaded.@velocityTemplate
+        def writer = new StringWriter()
+
+        when:
+        preloaded.generate(["greeting": "Hello again."], writer)
+
+        then:
+        writer.toString() == "Content: Hello again."
+        template != null
+        preloaded.@velocityTemplate.is(template)
+    }
+
+    def "Prepare unknown Velocity template"() {
+        when:
+        FileObjectGeneratorFactory.getInstance("unknown.vm").prepare()
+
+        then:
+        thrown(ResourceNotFoundException)
+    }
 }